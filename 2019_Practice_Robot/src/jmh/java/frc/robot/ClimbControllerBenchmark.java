@@ -0,0 +1,90 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import frc.robot.config.RobotConfig;
+import frc.robot.hardware.RecordingMotorOutput;
+import frc.robot.systems.DriveBase;
+import frc.robot.trajectory.ProfileCache;
+import frc.robot.util.VirtualClock;
+
+/**
+ * This benchmark measures one tick of the auto and teleop periodic methods with
+ * the drivers in control, which is where the robot spends most of a match
+ * 
+ * @author Caleb Heydon
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClimbControllerBenchmark {
+  private ClimbController auto;
+  private ClimbController teleop;
+  private final VirtualClock clock = new VirtualClock();
+
+  // Joystick input that changes every call so nothing is constant folded
+  private double controlX = 0.3;
+
+  /**
+   * Creates controllers on recording outputs
+   */
+  @Setup
+  public void setup() {
+    auto = new ClimbController(createDriveBase(), new RecordingMotorOutput(), new RecordingMotorOutput(),
+        () -> RobotConfig.DEFAULT, new ProfileCache(null), clock);
+    auto.autonomousInit(false);
+
+    teleop = new ClimbController(createDriveBase(), new RecordingMotorOutput(), new RecordingMotorOutput(),
+        () -> RobotConfig.DEFAULT, new ProfileCache(null), clock);
+    teleop.teleopInit();
+  }
+
+  /**
+   * Creates a drivetrain on recording outputs
+   * 
+   * @return The drivetrain
+   */
+  private DriveBase createDriveBase() {
+    RecordingMotorOutput blm = new RecordingMotorOutput();
+    RecordingMotorOutput brm = new RecordingMotorOutput();
+
+    return new DriveBase(new RecordingMotorOutput(), new RecordingMotorOutput(), blm, brm, blm, brm, clock);
+  }
+
+  /**
+   * One tick of autonomousPeriodic
+   * 
+   * @return The state after the tick
+   */
+  @Benchmark
+  public AutoState autonomousPeriodic() {
+    controlX = -controlX;
+    auto.autonomousPeriodic(controlX, -0.6, -0.2, 0.7);
+    return auto.getState();
+  }
+
+  /**
+   * One tick of teleopPeriodic
+   * 
+   * @return The state after the tick
+   */
+  @Benchmark
+  public AutoState teleopPeriodic() {
+    controlX = -controlX;
+    teleop.teleopPeriodic(controlX, -0.6, -0.2, 0.7);
+    return teleop.getState();
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import frc.robot.bus.Subscription;
+import frc.robot.bus.Topic;
+
+/**
+ * This benchmark measures publishing and reading the drive status snapshot.
+ * Run it with the gc profiler to check that nothing is allocated.
+ * 
+ * @author Caleb Heydon
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TopicBenchmark {
+    private Topic<DriveStatus> topic;
+    private Subscription<DriveStatus> subscription;
+    private final DriveStatus status = new DriveStatus();
+    private long time = 0;
+
+    /**
+     * Creates the topic and a subscriber
+     */
+    @Setup
+    public void setup() {
+        topic = new Topic<>(DriveStatus::new);
+        subscription = topic.subscribe();
+    }
+
+    /**
+     * One publish from the drive task
+     * 
+     * @return The version
+     */
+    @Benchmark
+    public long publish() {
+        time += 20000;
+        status.set(time, (int) time, (int) time, 0.5, -0.5, 12, 40, AutoState.ClimbDwnWaitCmd, true, time, time);
+        topic.publish(status);
+        return topic.getVersion();
+    }
+
+    /**
+     * One publish followed by a read of the new snapshot
+     * 
+     * @return The time read
+     */
+    @Benchmark
+    public long publishAndRead() {
+        publish();
+        subscription.update();
+        return subscription.get().getTime();
+    }
+
+    /**
+     * A read when nothing new was published
+     * 
+     * @return True if a snapshot was copied
+     */
+    @Benchmark
+    public boolean readUnchanged() {
+        return subscription.update();
+    }
+}
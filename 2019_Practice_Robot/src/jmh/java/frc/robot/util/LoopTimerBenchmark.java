@@ -0,0 +1,45 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This benchmark measures the cost of timing a callback, which has to stay well
+ * under a microsecond
+ * 
+ * @author Caleb Heydon
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoopTimerBenchmark {
+    private final LoopTimer timer = new LoopTimer("benchmark", LoopTimers.LOOP_PERIOD);
+
+    /**
+     * Timing an empty section
+     */
+    @Benchmark
+    public void startStop() {
+        timer.stop(timer.start());
+    }
+
+    /**
+     * Recording a latency without reading the clock
+     */
+    @Benchmark
+    public void record() {
+        timer.record(12345);
+    }
+}
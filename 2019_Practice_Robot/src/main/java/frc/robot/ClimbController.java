@@ -0,0 +1,561 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import frc.robot.config.RobotConfig;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.hardware.MotorOutput;
+import frc.robot.systems.DriveBase;
+import frc.robot.trajectory.MotionProfile;
+import frc.robot.trajectory.ProfileCache;
+import frc.robot.util.Log;
+import frc.robot.util.RobotClock;
+import frc.robot.util.StateMachine;
+
+/**
+ * This class runs the climb state machines. It only depends on the drivetrain
+ * and motor outputs so it can be run without the robot hardware.
+ * 
+ * @author Liam Poppleton
+ * @author Caleb Heydon
+ */
+
+public class ClimbController {
+  // Define transition that is taken on the next update
+  private static final BooleanSupplier ALWAYS = () -> true;
+
+  // Declare objects for climb
+  private final DriveBase drivetrain;
+  private final MotorOutput intake1;
+  private final MotorOutput intake2;
+
+  // Climb settings
+  private final Supplier<RobotConfig> config;
+
+  // Motion profiles for distance drives
+  private final ProfileCache profiles;
+
+  // Time used for drive legs
+  private final RobotClock clock;
+
+  // Distance drives that did not reach their target in time
+  private volatile long legTimeouts = 0;
+
+  // Settings and driver commands for the current tick
+  private RobotConfig settings = RobotConfig.DEFAULT;
+  private boolean cancel = false;
+  private boolean climb = false;
+
+  // Driver commands waiting for the next tick
+  private boolean cancelRequested = false;
+  private boolean climbRequested = false;
+
+  // State machines
+  private final StateMachine<AutoState> climbDown;
+  private final StateMachine<AutoState> climbUp;
+
+  // Machine that is running
+  private StateMachine<AutoState> active;
+
+  /**
+   * Creates a climb controller
+   * 
+   * @param drivetrain The drivetrain
+   * @param intake1    The climber piston motor
+   * @param intake2    The climber lever motor
+   * @param config     The climb settings
+   * @param profiles   The motion profiles for distance drives
+   * @param clock      The time used for timed states
+   */
+  public ClimbController(DriveBase drivetrain, MotorOutput intake1, MotorOutput intake2,
+      Supplier<RobotConfig> config, ProfileCache profiles, RobotClock clock) {
+    this.drivetrain = drivetrain;
+    this.intake1 = intake1;
+    this.intake2 = intake2;
+    this.config = config;
+    this.profiles = profiles;
+    this.clock = clock;
+
+    climbDown = createClimbDown(clock);
+    climbUp = createClimbUp(clock);
+
+    // Wait for auto
+    active = climbDown;
+    active.start(AutoState.ClimbDwnWaitCmd);
+
+    // Generate the profiles now so a leg never waits on one
+    precomputeProfiles(config.get());
+  }
+
+  /**
+   * Loads or generates the motion profiles of every distance drive
+   * 
+   * @param settings The climb settings
+   */
+  private void precomputeProfiles(RobotConfig settings) {
+    if (!settings.getDriveDistanceProfile() || !drivetrain.canFollowProfile()) {
+      return;
+    }
+
+    for (int distance : new int[] { settings.getDriveDownYDistance(), settings.getDriveDownZDistance(),
+        settings.getDriveUpDistance() }) {
+      if (distance != 0) {
+        profiles.get(DriveBase.getProfileSpec(distance));
+      }
+    }
+  }
+
+  /**
+   * Defines the climb down sequence run in auto
+   * 
+   * @param clock The time used for timed states
+   * @return The state machine
+   */
+  private StateMachine<AutoState> createClimbDown(RobotClock clock) {
+    DriveLeg driveDownY = new DriveLeg(() -> settings.getDriveDownPower(), () -> settings.getDriveDownYTime(),
+        () -> settings.getDriveDownYDistance());
+    DriveLeg driveDownZ = new DriveLeg(() -> settings.getDriveDownPower(), () -> settings.getDriveDownZTime(),
+        () -> settings.getDriveDownZDistance());
+
+    return StateMachine.builder("Climb Down", AutoState.class)
+        // The drivers can cancel the auto at any time
+        .fromAny(() -> cancel, AutoState.ClimbDwnDone, () -> Log.info("Auto cancelled"))
+
+        .state(AutoState.ClimbDwnWaitCmd)
+
+        .state(AutoState.DwnPistonExtend)
+        .onEntry(() -> {
+          drivetrain.setBrake();
+
+          // ACTIVATE SOLENOID 4
+          Log.info("Extending climber pistons...");
+        })
+        .onTick(() -> intake1.set(ControlMode.PercentOutput, 0.25))
+        .onExit(() -> intake1.set(ControlMode.PercentOutput, 0))
+        .after(() -> RobotClock.fromMillis(settings.getClimberPistonActuationTime()), AutoState.DwnDriveFwdY)
+
+        .state(AutoState.DwnDriveFwdY)
+        .onEntry(driveDownY::start)
+        .onTick(driveDownY::drive)
+        .onExit(driveDownY::stop)
+        .when(driveDownY::isDone, AutoState.DwnPistonRetract)
+        .when(driveDownY::isTimedOut, AutoState.ClimbDwnDone, this::legTimedOut)
+
+        .state(AutoState.DwnPistonRetract)
+        .onEntry(() -> {
+          // ACTIVATE SOLENOID 5
+          Log.info("Retracting climber pistons...");
+        })
+        .onTick(() -> intake1.set(ControlMode.PercentOutput, -0.25))
+        .onExit(() -> intake1.set(ControlMode.PercentOutput, 0))
+        .after(() -> RobotClock.fromMillis(settings.getClimberPistonActuationTime()), AutoState.DwnDriveFwdZ)
+
+        .state(AutoState.DwnDriveFwdZ)
+        .onEntry(driveDownZ::start)
+        .onTick(driveDownZ::drive)
+        .onExit(driveDownZ::stop)
+        .when(driveDownZ::isDone, AutoState.ClimbDwnDone)
+        .when(driveDownZ::isTimedOut, AutoState.ClimbDwnDone, this::legTimedOut)
+
+        // Give control to the drivers
+        .state(AutoState.ClimbDwnDone)
+        .onEntry(drivetrain::enableJoystick)
+        .onTick(drivetrain::setCoast)
+
+        .build(clock);
+  }
+
+  /**
+   * Defines the climb up sequence run in teleop
+   * 
+   * @param clock The time used for timed states
+   * @return The state machine
+   */
+  private StateMachine<AutoState> createClimbUp(RobotClock clock) {
+    // Every drive up uses the same settings
+    DriveLeg driveUp = new DriveLeg(() -> settings.getDriveUpPower(), () -> settings.getDriveUpTime(),
+        () -> settings.getDriveUpDistance());
+
+    return StateMachine.builder("Climb Up", AutoState.class)
+        // The drivers can cancel the climb at any time
+        .fromAny(() -> cancel, AutoState.ClimbUpWaitCmd, () -> Log.info("Auto cancelled"))
+
+        // Always enable joystick when waiting in case we are testing or something is
+        // wrong
+        .state(AutoState.ClimbUpWaitCmd)
+        .onEntry(drivetrain::enableJoystick)
+        .onTick(drivetrain::setCoast)
+        .when(() -> climb, AutoState.UpLeverExtend)
+
+        .state(AutoState.UpLeverExtend)
+        .onEntry(() -> {
+          drivetrain.disableJoystick();
+          drivetrain.setBrake();
+
+          // Run climber
+          Log.info("Extending climber...");
+          intake2.set(ControlMode.PercentOutput, 0.25);
+
+          // RUN CLIMBER MOTOR
+          // CHECK POTENTIOMETER
+        })
+        .when(ALWAYS, AutoState.UpDriveFwdZ)
+
+        .state(AutoState.UpDriveFwdZ)
+        .onEntry(driveUp::start)
+        .onTick(driveUp::drive)
+        .onExit(driveUp::stop)
+        .when(driveUp::isDone, AutoState.UpPistonExtend)
+        .when(driveUp::isTimedOut, AutoState.ClimbUpWaitCmd, this::legTimedOut)
+
+        .state(AutoState.UpPistonExtend)
+        .onEntry(() -> {
+          // ACTIVATE SOLENOID 4
+          Log.info("Extending climber pistons...");
+        })
+        .onTick(() -> intake1.set(ControlMode.PercentOutput, 0.25))
+        .onExit(() -> intake1.set(ControlMode.PercentOutput, 0))
+        .after(() -> RobotClock.fromMillis(settings.getClimberPistonActuationTime()), AutoState.UpDriveFwdA)
+
+        .state(AutoState.UpDriveFwdA)
+        .onEntry(driveUp::start)
+        .onTick(driveUp::drive)
+        .onExit(driveUp::stop)
+        .when(driveUp::isDone, AutoState.UpLeverRetract)
+        .when(driveUp::isTimedOut, AutoState.ClimbUpWaitCmd, this::legTimedOut)
+
+        .state(AutoState.UpLeverRetract)
+        .onEntry(() -> {
+          // Storing climber
+          Log.info("Retracting climber...");
+          intake2.set(ControlMode.PercentOutput, -0.25);
+
+          // RUN CLIMBER MOTOR
+          // CHECK POTENTIOMETER
+        })
+        .when(ALWAYS, AutoState.UpDriveFwdB)
+
+        .state(AutoState.UpDriveFwdB)
+        .onEntry(driveUp::start)
+        .onTick(driveUp::drive)
+        .onExit(driveUp::stop)
+        .when(driveUp::isDone, AutoState.UpPistonRetract)
+        .when(driveUp::isTimedOut, AutoState.ClimbUpWaitCmd, this::legTimedOut)
+
+        .state(AutoState.UpPistonRetract)
+        .onEntry(() -> {
+          // ACTIVATE SOLENOID 5
+          Log.info("Retracting climber pistons...");
+        })
+        .onTick(() -> intake1.set(ControlMode.PercentOutput, -0.25))
+        .onExit(() -> intake1.set(ControlMode.PercentOutput, 0))
+        .after(() -> RobotClock.fromMillis(settings.getClimberPistonActuationTime()), AutoState.UpDriveFwdC)
+
+        .state(AutoState.UpDriveFwdC)
+        .onEntry(driveUp::start)
+        .onTick(driveUp::drive)
+        .onExit(driveUp::stop)
+        .when(driveUp::isDone, AutoState.ClimbUpDone)
+        .when(driveUp::isTimedOut, AutoState.ClimbUpWaitCmd, this::legTimedOut)
+
+        .state(AutoState.ClimbUpDone)
+        .when(ALWAYS, AutoState.ClimbUpWaitCmd)
+
+        .build(clock);
+  }
+
+  /**
+   * Stops the climb after a distance drive ran out of time. The climb does not
+   * go on from a leg that may have stopped short, the drivers get control
+   * instead.
+   */
+  private void legTimedOut() {
+    legTimeouts++;
+    intake2.set(ControlMode.PercentOutput, 0);
+
+    Log.warning("Drive leg did not reach its target in time, climb stopped");
+  }
+
+  /**
+   * This class is one drive of a climb. It drives a distance with motion magic
+   * or a motion profile if one is set and drives at a power for a time if not.
+   */
+  private class DriveLeg {
+    // Leg settings
+    private final DoubleSupplier power;
+    private final DoubleSupplier time;
+    private final IntSupplier distance;
+
+    // Distance of the running leg, 0 if it is timed
+    private int legDistance = 0;
+
+    // True if the running leg follows a motion profile
+    private boolean legProfile = false;
+    private boolean profileDone = false;
+
+    // Start of the running leg and how long it may take, read when it starts
+    private long legStart = 0;
+    private long legTime = 0;
+
+    /**
+     * Creates a drive leg
+     * 
+     * @param power    The power of a timed drive
+     * @param time     The time of a timed drive in seconds
+     * @param distance The distance in encoder ticks, 0 for a timed drive
+     */
+    private DriveLeg(DoubleSupplier power, DoubleSupplier time, IntSupplier distance) {
+      this.power = power;
+      this.time = time;
+      this.distance = distance;
+    }
+
+    /**
+     * Starts the leg from where the robot is now
+     */
+    private void start() {
+      legDistance = distance.getAsInt();
+      legProfile = legDistance != 0 && settings.getDriveDistanceProfile() && drivetrain.canFollowProfile();
+      profileDone = false;
+
+      legStart = clock.getTime();
+      legTime = RobotClock.fromSeconds((legDistance != 0) ? settings.getDriveDistanceTimeout() : time.getAsDouble());
+
+      if (legProfile) {
+        // Profiles are made when the mode starts, the drive never waits on one
+        MotionProfile profile = profiles.getLoaded(DriveBase.getProfileSpec(legDistance));
+
+        if (profile != null) {
+          drivetrain.startProfile(profile);
+          return;
+        }
+
+        Log.warning("Motion profile is not ready, using motion magic");
+        legProfile = false;
+      }
+
+      if (legDistance != 0) {
+        drivetrain.startDistanceDrive(legDistance);
+      }
+    }
+
+    /**
+     * Updates the drive output
+     */
+    private void drive() {
+      if (legProfile) {
+        profileDone = drivetrain.followProfile();
+      } else if (legDistance != 0) {
+        drivetrain.driveDistance();
+      } else {
+        drivetrain.drive(power.getAsDouble(), power.getAsDouble());
+      }
+    }
+
+    /**
+     * Stops the drive
+     */
+    private void stop() {
+      drivetrain.drive(0, 0);
+
+      if (legProfile && drivetrain.hasProfileUnderrun()) {
+        Log.warning("Motion profile underran, the talon buffers were not filled in time");
+      }
+    }
+
+    /**
+     * Returns true if a distance drive reached its target or a timed drive ran
+     * for its time
+     * 
+     * @return True if done
+     */
+    private boolean isDone() {
+      if (legProfile) {
+        return profileDone;
+      }
+
+      if (legDistance == 0) {
+        return clock.getTime() - legStart >= legTime;
+      }
+
+      return drivetrain.atDistanceTarget();
+    }
+
+    /**
+     * Returns true if a distance drive ran out of time before reaching its
+     * target
+     * 
+     * @return True if timed out
+     */
+    private boolean isTimedOut() {
+      return legDistance != 0 && clock.getTime() - legStart >= legTime;
+    }
+  }
+
+  /**
+   * Returns the current state
+   * 
+   * @return The state
+   */
+  public AutoState getState() {
+    return active.getState();
+  }
+
+  /**
+   * Returns the number of distance drives that stopped the climb because they
+   * ran out of time
+   * 
+   * @return The timeout count
+   */
+  public long getLegTimeouts() {
+    return legTimeouts;
+  }
+
+  /**
+   * Returns the climb down state machine
+   * 
+   * @return The state machine
+   */
+  public StateMachine<AutoState> getClimbDown() {
+    return climbDown;
+  }
+
+  /**
+   * Returns the climb up state machine
+   * 
+   * @return The state machine
+   */
+  public StateMachine<AutoState> getClimbUp() {
+    return climbUp;
+  }
+
+  /**
+   * Adds the state dwell times to a dashboard
+   * 
+   * @param dashboard The dashboard
+   */
+  public void addDwellTimes(Dashboard dashboard) {
+    climbDown.addDwellTimes(dashboard);
+    climbUp.addDwellTimes(dashboard);
+  }
+
+  /**
+   * Sets the state dwell times on the dashboard, called by the dashboard thread
+   */
+  public void publish() {
+    climbDown.publish();
+    climbUp.publish();
+  }
+
+  /**
+   * This method is called to initialize auto
+   * 
+   * @param autoEnabled True if the climb down should run
+   */
+  public void autonomousInit(boolean autoEnabled) {
+    settings = config.get();
+    precomputeProfiles(settings);
+    clearRequests();
+    active = climbDown;
+
+    if (autoEnabled) {
+      // Auto is enabled
+      active.start(AutoState.DwnPistonExtend);
+    } else {
+      // Auto is disabled
+      active.start(AutoState.ClimbDwnDone);
+    }
+  }
+
+  /**
+   * This method is called periodically during auto
+   * 
+   * @param x         Joystick x
+   * @param y         Joystick y
+   * @param z         Joystick z
+   * @param magnitude Joystick magnitude
+   */
+  public void autonomousPeriodic(double x, double y, double z, double magnitude) {
+    update(x, y, z, magnitude);
+  }
+
+  /**
+   * This method is called to initialize teleop
+   */
+  public void teleopInit() {
+    settings = config.get();
+    precomputeProfiles(settings);
+    clearRequests();
+    active = climbUp;
+    active.start(AutoState.ClimbUpWaitCmd);
+  }
+
+  /**
+   * This method is called periodically during teleop
+   * 
+   * @param x         Joystick x
+   * @param y         Joystick y
+   * @param z         Joystick z
+   * @param magnitude Joystick magnitude
+   */
+  public void teleopPeriodic(double x, double y, double z, double magnitude) {
+    update(x, y, z, magnitude);
+  }
+
+  /**
+   * Cancels the running climb on the next tick
+   */
+  public void cancel() {
+    cancelRequested = true;
+  }
+
+  /**
+   * Starts the climb up on the next tick if it is waiting for the drivers
+   */
+  public void startClimb() {
+    climbRequested = true;
+  }
+
+  /**
+   * Drops driver commands that were given before a mode started
+   */
+  private void clearRequests() {
+    cancelRequested = false;
+    climbRequested = false;
+  }
+
+  /**
+   * Runs one tick of the active state machine
+   * 
+   * @param x         Joystick x
+   * @param y         Joystick y
+   * @param z         Joystick z
+   * @param magnitude Joystick magnitude
+   */
+  private void update(double x, double y, double z, double magnitude) {
+    // Use the same settings for the whole tick, commands only last one tick
+    settings = config.get();
+    cancel = cancelRequested;
+    climb = climbRequested;
+    clearRequests();
+
+    // Process state
+    active.update();
+
+    // Update drivetrain output with joystick if it is enabled
+    drivetrain.arcadeDrive(x, y, z, magnitude);
+
+    if (drivetrain.getJoystickEnabled()) {
+      // Process other joystick buttons here
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+import frc.robot.bus.Snapshot;
+
+/**
+ * This class is a snapshot of the drivetrain and climb, published by the drive
+ * task each tick. Only the drive task changes it.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class DriveStatus implements Snapshot<DriveStatus> {
+    // Time of the tick in microseconds
+    private long time = 0;
+
+    // Encoder positions in ticks
+    private int leftPosition = 0;
+    private int rightPosition = 0;
+
+    // Commanded powers
+    private double leftPower = 0;
+    private double rightPower = 0;
+
+    // Battery voltage and drive current in amps
+    private double batteryVoltage = 0;
+    private double current = 0;
+
+    // Climb and joystick status
+    private AutoState state = AutoState.ClimbDwnWaitCmd;
+    private boolean joystickEnabled = false;
+
+    // Talon frame counters
+    private long framesSent = 0;
+    private long framesSuppressed = 0;
+
+    /**
+     * Sets every field
+     * 
+     * @param time             The robot clock time in microseconds
+     * @param leftPosition     The left encoder position
+     * @param rightPosition    The right encoder position
+     * @param leftPower        The left power
+     * @param rightPower       The right power
+     * @param batteryVoltage   The battery voltage
+     * @param current          The current of the drive motors in amps
+     * @param state            The climb state
+     * @param joystickEnabled  True if the joystick drives the robot
+     * @param framesSent       The number of talon frames sent
+     * @param framesSuppressed The number of talon frames not sent
+     */
+    void set(long time, int leftPosition, int rightPosition, double leftPower, double rightPower,
+            double batteryVoltage, double current, AutoState state, boolean joystickEnabled, long framesSent,
+            long framesSuppressed) {
+        this.time = time;
+        this.leftPosition = leftPosition;
+        this.rightPosition = rightPosition;
+        this.leftPower = leftPower;
+        this.rightPower = rightPower;
+        this.batteryVoltage = batteryVoltage;
+        this.current = current;
+        this.state = state;
+        this.joystickEnabled = joystickEnabled;
+        this.framesSent = framesSent;
+        this.framesSuppressed = framesSuppressed;
+    }
+
+    @Override
+    public void copyFrom(DriveStatus other) {
+        set(other.time, other.leftPosition, other.rightPosition, other.leftPower, other.rightPower,
+                other.batteryVoltage, other.current, other.state, other.joystickEnabled, other.framesSent,
+                other.framesSuppressed);
+    }
+
+    /**
+     * Returns the time of the tick
+     * 
+     * @return The time in microseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the left encoder position
+     * 
+     * @return The position in ticks
+     */
+    public int getLeftPosition() {
+        return leftPosition;
+    }
+
+    /**
+     * Returns the right encoder position
+     * 
+     * @return The position in ticks
+     */
+    public int getRightPosition() {
+        return rightPosition;
+    }
+
+    /**
+     * Returns the left power
+     * 
+     * @return The power
+     */
+    public double getLeftPower() {
+        return leftPower;
+    }
+
+    /**
+     * Returns the right power
+     * 
+     * @return The power
+     */
+    public double getRightPower() {
+        return rightPower;
+    }
+
+    /**
+     * Returns the battery voltage
+     * 
+     * @return The voltage
+     */
+    public double getBatteryVoltage() {
+        return batteryVoltage;
+    }
+
+    /**
+     * Returns the current of the drive motors
+     * 
+     * @return The current in amps
+     */
+    public double getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the climb state
+     * 
+     * @return The state
+     */
+    public AutoState getState() {
+        return state;
+    }
+
+    /**
+     * Returns true if the joystick drives the robot
+     * 
+     * @return True if enabled
+     */
+    public boolean getJoystickEnabled() {
+        return joystickEnabled;
+    }
+
+    /**
+     * Returns the number of talon frames sent by the drivetrain
+     * 
+     * @return The frame count
+     */
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * Returns the number of talon frames the drivetrain did not send
+     * 
+     * @return The frame count
+     */
+    public long getFramesSuppressed() {
+        return framesSuppressed;
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+import frc.robot.bus.Snapshot;
+
+/**
+ * This class is a snapshot of the driver station, taken once per robot loop
+ * before the drive runs. Only the robot loop changes it.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class DriverInput implements Snapshot<DriverInput> {
+    // Robot mode and the number of mode changes so far
+    private RobotMode mode = RobotMode.Disabled;
+    private long modeCount = 0;
+
+    // Joystick axes
+    private double x = 0;
+    private double y = 0;
+    private double z = 0;
+    private double magnitude = 0;
+
+    // Joystick buttons, bit 0 is button 1
+    private int buttons = 0;
+
+    /**
+     * Sets every field
+     * 
+     * @param mode      The robot mode
+     * @param modeCount The number of times a mode was started, this changes even
+     *                  if the same mode is started again
+     * @param x         Joystick x
+     * @param y         Joystick y
+     * @param z         Joystick z
+     * @param magnitude Joystick magnitude
+     * @param buttons   The packed joystick buttons
+     */
+    void set(RobotMode mode, long modeCount, double x, double y, double z, double magnitude, int buttons) {
+        this.mode = mode;
+        this.modeCount = modeCount;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.magnitude = magnitude;
+        this.buttons = buttons;
+    }
+
+    @Override
+    public void copyFrom(DriverInput other) {
+        set(other.mode, other.modeCount, other.x, other.y, other.z, other.magnitude, other.buttons);
+    }
+
+    /**
+     * Returns the robot mode
+     * 
+     * @return The mode
+     */
+    public RobotMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of times a mode was started
+     * 
+     * @return The count
+     */
+    public long getModeCount() {
+        return modeCount;
+    }
+
+    /**
+     * Returns joystick x
+     * 
+     * @return The axis value
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Returns joystick y
+     * 
+     * @return The axis value
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Returns joystick z
+     * 
+     * @return The axis value
+     */
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * Returns the joystick magnitude
+     * 
+     * @return The magnitude
+     */
+    public double getMagnitude() {
+        return magnitude;
+    }
+
+    /**
+     * Returns the joystick buttons, bit 0 is button 1
+     * 
+     * @return The packed buttons
+     */
+    public int getButtons() {
+        return buttons;
+    }
+}
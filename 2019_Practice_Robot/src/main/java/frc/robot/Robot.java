@@ -6,15 +6,41 @@
 
 package frc.robot;
 
-import java.util.Scanner;
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.Talon;
+import frc.robot.bus.Subscription;
+import frc.robot.bus.Topic;
+import frc.robot.config.ConfigService;
+import frc.robot.config.RobotConfig;
+import frc.robot.dashboard.BooleanEntry;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.dashboard.NumberEntry;
+import frc.robot.dashboard.StringEntry;
+import frc.robot.hardware.CachedMotorOutput;
+import frc.robot.hardware.PWMTalonOutput;
+import frc.robot.init.InitGraph;
+import frc.robot.input.InputBindings;
+import frc.robot.input.InputShaper;
+import frc.robot.scheduler.Scheduler;
 import frc.robot.systems.Camera;
 import frc.robot.systems.DriveBase;
+import frc.robot.systems.VisionPipeline;
+import frc.robot.systems.vision.TargetDetector;
+import frc.robot.systems.vision.VisionTarget;
+import frc.robot.telemetry.RecordingRetention;
+import frc.robot.telemetry.TelemetryRecorder;
+import frc.robot.telemetry.VideoRecorder;
+import frc.robot.trajectory.ProfileCache;
+import frc.robot.util.FPGAClock;
+import frc.robot.util.Log;
+import frc.robot.util.LoopTimer;
+import frc.robot.util.LoopTimers;
+import frc.robot.util.RobotClock;
 
 /**
  * This is the main robot class for the practice robot
@@ -25,345 +51,480 @@ import frc.robot.systems.DriveBase;
 
 public class Robot extends TimedRobot {
   // Constants
-  public static final double DRIVE_DOWN_POWER = -0.5;
-  public static final long CLIMBER_PISTON_ACTUATION_TIME = 2000;
-  public static final double DRIVE_UP_POWER = 0.25;
-
   public static final int STOP_AUTO_BUTTON_1 = 8;
   public static final int STOP_AUTO_BUTTON_2 = 9;
 
   public static final int CLIMB_UP_BUTTON_1 = 4;
   public static final int CLIMB_UP_BUTTON_2 = 5;
 
-  // Start time
-  public static long stateStartTime = 0l;
+  // Define how long the climb buttons must be held in milliseconds
+  public static final long CLIMB_HOLD_TIME = 250;
+
+  // Define task periods
+  public static final long DASHBOARD_PERIOD = TimeUnit.MILLISECONDS.toNanos(20);
+
+  // Define smallest dashboard power and target changes that are sent
+  public static final double POWER_THRESHOLD = 0.01;
+  public static final double TARGET_THRESHOLD = 0.1;
+
+  // Define smallest dashboard voltage and current changes that are sent
+  public static final double STATUS_THRESHOLD = 0.1;
+
+  // Define how many frames per second are searched for the target
+  public static final double TARGET_FRAME_RATE = 15;
 
-  // Climb down stop time
-  public static long stateStopTime = 0l;
+  // Define fraction of a core the video writer may use
+  public static final double VIDEO_CPU_BUDGET = 0.1;
 
-  // Robot state
-  public static AutoState robotState = AutoState.ClimbDwnWaitCmd;
+  // Define number of boots whose telemetry and video recordings are kept
+  public static final int TELEMETRY_FILES_KEPT = 20;
+  public static final int VIDEO_FILES_KEPT = 5;
+
+  // Robot time, sampled once per robot loop
+  private final RobotClock clock = new FPGAClock();
 
   // Declare objects for robot
-  private Camera camera;
+  private ConfigService config;
+  private VisionPipeline vision;
   private DriveBase drivetrain;
   private Joystick joystick;
+  private DriverStation driverStation;
+
+  private ClimbController climb;
+  private CachedMotorOutput intake1;
+  private CachedMotorOutput intake2;
+  private TelemetryRecorder telemetry;
+
+  // Telemetry folder and boot number shared by the recordings of this boot
+  private Path telemetryDirectory;
+  private long boot;
+
+  // Video recorder, null if recording is off
+  private volatile VideoRecorder video;
+
+  // Commands bound to the joystick buttons, only used by the robot loop
+  private InputBindings bindings;
+
+  // Runs the dashboard and vision tasks, the drive runs on the robot loop
+  private final Scheduler scheduler = new Scheduler();
+
+  // Drive status passed from the robot loop to the dashboard task
+  private final Topic<DriveStatus> driveStatusTopic = new Topic<>(DriveStatus::new);
+
+  // Snapshots being filled in by the robot loop, the joystick is read once per
+  // loop
+  private final DriverInput driverInput = new DriverInput();
+  private final DriveStatus driveStatus = new DriveStatus();
+
+  // Reader for the dashboard task
+  private final Subscription<DriveStatus> dashboardStatus = driveStatusTopic.subscribe();
+
+  // Reader for the camera target, only used by the dashboard task once the
+  // cameras are started
+  private volatile Subscription<VisionTarget> dashboardTarget;
+
+  // Mode set by the driver station callbacks, only used by the robot loop
+  private RobotMode mode = RobotMode.Disabled;
+  private long modeCount = 0;
+
+  // Dashboard, only used by the dashboard task
+  private Dashboard dashboard;
+  private StringEntry stateEntry;
+  private NumberEntry legTimeoutsEntry;
+  private BooleanEntry joystickEnabledEntry;
+  private NumberEntry leftPositionEntry;
+  private NumberEntry rightPositionEntry;
+  private NumberEntry leftPowerEntry;
+  private NumberEntry rightPowerEntry;
+  private NumberEntry batteryVoltageEntry;
+  private NumberEntry currentEntry;
+  private NumberEntry framesSentEntry;
+  private NumberEntry framesSuppressedEntry;
+  private BooleanEntry targetFoundEntry;
+  private NumberEntry targetYawEntry;
+  private NumberEntry targetDistanceEntry;
+  private NumberEntry targetLatencyEntry;
+  private NumberEntry videoWrittenEntry;
+  private NumberEntry videoDroppedEntry;
+  private NumberEntry videoWriteTimeEntry;
+  private NumberEntry videoCpuEntry;
+
+  // Callback timers
+  private final LoopTimer robotPeriodicTimer = LoopTimers.create("robotPeriodic");
 
-  private Talon intake1;
-  private Talon intake2;
+  /**
+   * This method is called to initialize the robot
+   */
+  @Override
+  public void robotInit() {
+    // Print message to console
+    Log.info("Initializing robot...");
+
+    // Steps that do not need each other run at the same time, the cameras are
+    // started once the robot is ready
+    new InitGraph()
+        .add("Config", this::initConfig)
+        .add("Joystick", this::initJoystick)
+        .add("Drivetrain", this::initDrivetrain)
+        .add("Telemetry", this::initTelemetry)
+        .add("Climb", this::initClimb, "Config", "Drivetrain")
+        .add("Dashboard", this::initDashboard, "Climb")
+        .add("Scheduler", this::initScheduler, "Climb", "Telemetry", "Dashboard")
+        .addDeferred("Cameras", this::initCameras, "Config", "Telemetry", "Scheduler")
+        .run();
+
+    Log.info("Robot initialized");
+  }
 
   /**
-   * This method returns true if the auto is enabled
-   * 
-   * @return Auto enabled
+   * Loads the config and reloads it when a new one is deployed
    */
-  public boolean getAutoEnabled() {
-    String directory = Filesystem.getDeployDirectory() + "/";
-    int auto;
+  private void initConfig() {
+    config = new ConfigService(Filesystem.getDeployDirectory().toPath().resolve("auto.conf"));
+    config.load();
+    config.startWatching();
+    Log.info("Config loaded");
 
-    // Read file
-    try {
-      Scanner scanner = new Scanner(new File(directory + "auto.conf"));
-      auto = scanner.nextInt();
-      scanner.close();
-    } catch (IOException e) {
-      // File does not exist
-      return false;
+    // Check auto
+    if (config.get().getAutoEnabled()) {
+      Log.info("Auto enabled");
+    } else {
+      Log.info("Auto disabled");
     }
+  }
 
-    // Auto enabled?
-    if (auto == 1) {
-      // Auto enabled
-      return true;
-    }
+  /**
+   * Sets up the joystick
+   */
+  private void initJoystick() {
+    joystick = new Joystick(1);
+    driverStation = DriverStation.getInstance();
+    Log.info("Joystick initialized");
+  }
 
-    // Auto is disabled
-    return false;
+  /**
+   * Sets up the drivetrain, this configures every talon
+   */
+  private void initDrivetrain() {
+    drivetrain = DriveBase.getInstance(clock);
+    Log.info("Drivetrain initialized");
   }
 
   /**
-   * This method is called to initialize the robot
+   * Sets up the climber and binds its commands
    */
-  @Override
-  public void robotInit() {
-    // Print message to console
-    System.out.println("[code] Initializing robot...");
+  private void initClimb() {
+    // Motion profiles are kept with the deployed files
+    ProfileCache profiles = new ProfileCache(Filesystem.getDeployDirectory().toPath().resolve("profiles"));
+    intake1 = new CachedMotorOutput(new PWMTalonOutput(0));
+    intake2 = new CachedMotorOutput(new PWMTalonOutput(1));
+    climb = new ClimbController(drivetrain, intake1, intake2, config, profiles, clock);
+
+    // Bind the climb commands
+    bindings = InputBindings.builder()
+        .onPress(climb::cancel, STOP_AUTO_BUTTON_1, STOP_AUTO_BUTTON_2)
+        .onHold(CLIMB_HOLD_TIME, climb::startClimb, CLIMB_UP_BUTTON_1, CLIMB_UP_BUTTON_2)
+        .build();
+
+    Log.info("Climber initialized");
+  }
 
-    // Setup joystick
-    joystick = new Joystick(1);
-    System.out.println("[code] Joystick initialized");
+  /**
+   * Starts telemetry recording, each boot gets a new file
+   */
+  private void initTelemetry() {
+    telemetryDirectory = Filesystem.getOperatingDirectory().toPath().resolve("telemetry");
+    boot = RecordingRetention.nextBoot(telemetryDirectory);
 
-    // Setup drivetrain
-    drivetrain = DriveBase.getInstance();
-    System.out.println("[code] Drivetrain initialized");
+    // Make room for the recordings of this boot
+    RecordingRetention.prune(telemetryDirectory, "telemetry", ".bin", TELEMETRY_FILES_KEPT - 1);
+    RecordingRetention.prune(telemetryDirectory, "video", ".vid", VIDEO_FILES_KEPT - 1);
 
-    // Initialize cameras
-    camera = new Camera();
+    telemetry = new TelemetryRecorder(telemetryDirectory.resolve("telemetry-" + boot + ".bin"));
 
-    camera.startCamera1();
-    System.out.println("[code] Camera 1 initialized");
+    try {
+      telemetry.start();
+      Log.info("Telemetry recording started");
+    } catch (IOException e) {
+      Log.error("Telemetry recording could not be started");
+    }
+  }
 
-    camera.startCamera2();
-    System.out.println("[code] Camera 2 initialized");
+  /**
+   * Sets up the dashboard values
+   */
+  private void initDashboard() {
+    dashboard = new Dashboard();
+    stateEntry = dashboard.addString("Climb/State");
+    legTimeoutsEntry = dashboard.addNumber("Climb/Leg timeouts");
+    joystickEnabledEntry = dashboard.addBoolean("Drive/Joystick enabled");
+    leftPositionEntry = dashboard.addNumber("Drive/Left position");
+    rightPositionEntry = dashboard.addNumber("Drive/Right position");
+    leftPowerEntry = dashboard.addNumber("Drive/Left power", POWER_THRESHOLD);
+    rightPowerEntry = dashboard.addNumber("Drive/Right power", POWER_THRESHOLD);
+    batteryVoltageEntry = dashboard.addNumber("Drive/Battery voltage", STATUS_THRESHOLD);
+    currentEntry = dashboard.addNumber("Drive/Current", STATUS_THRESHOLD);
+    framesSentEntry = dashboard.addNumber("CAN/Frames sent");
+    framesSuppressedEntry = dashboard.addNumber("CAN/Frames suppressed");
+    targetFoundEntry = dashboard.addBoolean("Vision/Target found");
+    targetYawEntry = dashboard.addNumber("Vision/Target yaw", TARGET_THRESHOLD);
+    targetDistanceEntry = dashboard.addNumber("Vision/Target distance", TARGET_THRESHOLD);
+    targetLatencyEntry = dashboard.addNumber("Vision/Target latency ms", TARGET_THRESHOLD);
+    videoWrittenEntry = dashboard.addNumber("Video/Frames written");
+    videoDroppedEntry = dashboard.addNumber("Video/Frames dropped");
+    videoWriteTimeEntry = dashboard.addNumber("Video/Write ms", TARGET_THRESHOLD);
+    videoCpuEntry = dashboard.addNumber("Video/Cpu %", TARGET_THRESHOLD);
+
+    // Climb state dwell times
+    climb.addDwellTimes(dashboard);
+  }
 
-    // Check auto
-    if (getAutoEnabled()) {
-      System.out.println("[code] Auto enabled");
-    } else {
-      System.out.println("[code] Auto disabled");
+  /**
+   * Starts the background tasks, the drive stays on the robot loop
+   */
+  private void initScheduler() {
+    scheduler.add("Dashboard", DASHBOARD_PERIOD, false, this::runDashboard);
+    scheduler.start();
+    Log.info("Scheduler started");
+  }
+
+  /**
+   * Starts the cameras, the first camera looks for the climb target
+   */
+  private void initCameras() {
+    TargetDetector detector = new TargetDetector();
+    Camera targetCamera = new Camera(0, "Camera 1");
+
+    vision = new VisionPipeline();
+    vision.addCamera(targetCamera);
+    vision.addCamera(new Camera(1, "Camera 2"));
+    vision.addConsumer("Target", targetCamera, TARGET_FRAME_RATE, detector);
+
+    // Record the first camera next to the telemetry of this boot
+    RobotConfig settings = config.get();
+    if (settings.getVideoRecord()) {
+      VideoRecorder recorder = new VideoRecorder(telemetryDirectory.resolve("video-" + boot + ".vid"),
+          Camera.STREAM_WIDTH, Camera.STREAM_HEIGHT, settings.getVideoFormat(), VIDEO_CPU_BUDGET);
+
+      try {
+        recorder.start();
+        vision.addConsumer("Video", targetCamera, settings.getVideoRate(), recorder);
+        video = recorder;
+        Log.info("Video recording started");
+      } catch (IOException | RuntimeException e) {
+        // The cameras still run without the recording
+        recorder.stop();
+        Log.error("Video recording could not be started: " + e);
+      }
     }
 
-    intake1 = new Talon(0);
-    intake2 = new Talon(1);
+    dashboardTarget = detector.subscribe();
 
-    System.out.println("[code] Robot initialized");
+    vision.start(scheduler);
+    Log.info("Cameras initialized");
   }
 
   /**
-   * This method is called periodically on the robot
+   * This method is called periodically on the robot after the periodic method of
+   * the mode. It publishes and records what the drive did in this loop.
    */
   @Override
   public void robotPeriodic() {
+    long startTime = robotPeriodicTimer.start();
+    DriverInput input = driverInput;
 
+    // Read the talon status if it is due
+    drivetrain.updateStatus();
+
+    // Publish this loop once
+    DriveStatus status = driveStatus;
+    status.set(clock.getTime(), drivetrain.getBLMValues(), drivetrain.getBRMValues(), drivetrain.getLeftPower(),
+        drivetrain.getRightPower(), drivetrain.getBatteryVoltage(), drivetrain.getTotalCurrent(), climb.getState(),
+        drivetrain.getJoystickEnabled(), drivetrain.getFramesSent(), drivetrain.getFramesSuppressed());
+    driveStatusTopic.publish(status);
+
+    // Record this loop
+    telemetry.record(status.getTime(), status.getLeftPosition(), status.getRightPosition(), status.getLeftPower(),
+        status.getRightPower(), input.getX(), input.getY(), input.getZ(), input.getMagnitude(), status.getState(),
+        status.getJoystickEnabled());
+
+    robotPeriodicTimer.stop(startTime);
   }
 
   /**
-   * This method is called to initialize auto
+   * Takes a snapshot of the driver station for this loop. Each axis and the
+   * buttons are read once.
    */
-  @Override
-  public void autonomousInit() {
-    System.out.println("[code] Initializing auto...");
-
-    // Set first command
-    stateStartTime = System.currentTimeMillis();
-    stateStopTime = stateStartTime + CLIMBER_PISTON_ACTUATION_TIME;
+  private void readInput() {
+    clock.update();
 
-    if (getAutoEnabled()) {
-      // Auto is enabled
-      robotState = AutoState.DwnPistonExtend;
+    double x = joystick.getX();
+    double y = joystick.getY();
+    double z = joystick.getZ();
 
-      drivetrain.setBrake();
-    } else {
-      // Auto is disabled
-      drivetrain.enableJoystick();
-      robotState = AutoState.ClimbDwnDone;
-    }
+    // Same as the joystick magnitude without reading the axes again
+    driverInput.set(mode, modeCount, x, y, z, Math.sqrt(x * x + y * y),
+        driverStation.getStickButtons(joystick.getPort()));
   }
 
   /**
-   * This method is called periodically during auto
+   * Starts a mode on the robot loop
+   * 
+   * @param mode The mode
    */
-  @Override
-  public void autonomousPeriodic() {
-    // Check for an auto cancellation
-    if (joystick.getRawButton(STOP_AUTO_BUTTON_1) && joystick.getRawButton(STOP_AUTO_BUTTON_2)) {
-      // The drivers have cancelled the auto
-      drivetrain.enableJoystick();
-      robotState = AutoState.ClimbDwnDone;
-      System.out.println("[code] Auto cancelled");
-    }
+  private void setMode(RobotMode mode) {
+    this.mode = mode;
+    modeCount++;
 
-    // Update drivetrain output with joystick if it is enabled
-    drivetrain.arcadeDrive(joystick.getX(), joystick.getY(), joystick.getZ(), joystick.getMagnitude());
+    readInput();
 
-    if (drivetrain.getJoystickEnabled()) {
-      // Process other joystick buttons here
-    }
+    // Chords held when a mode starts count as pressed
+    bindings.reset();
 
-    // Process state
-    switch (robotState) {
-    case DwnPistonExtend:
-      // ACTIVATE SOLENOID 4
-      System.out.println("[code] Extending climber pistons...");
-      intake1.set(0.25);
-
-      if (System.currentTimeMillis() >= stateStopTime) {
-        intake1.set(0);
-        stateStartTime = System.currentTimeMillis();
-        robotState = AutoState.DwnDriveFwdY;
-      }
-      break;
-    case DwnDriveFwdY:
-      if (drivetrain.drive(DRIVE_DOWN_POWER, DRIVE_DOWN_POWER, 0.375, stateStartTime)) {
-        stateStartTime = System.currentTimeMillis();
-        stateStopTime = stateStartTime + CLIMBER_PISTON_ACTUATION_TIME;
+    // The motors were neutral while disabled, so the cached setpoints are stale
+    if (mode != RobotMode.Disabled) {
+      drivetrain.invalidateOutputs();
+      intake1.invalidate();
+      intake2.invalidate();
+    }
 
-        robotState = AutoState.DwnPistonRetract;
-      }
-      break;
-    case DwnPistonRetract:
-      // ACTIVATE SOLENOID 5
-      System.out.println("[code] Retracting climber pistons...");
-      intake1.set(-0.25);
-
-      if (System.currentTimeMillis() >= stateStopTime) {
-        intake1.set(0);
-        stateStartTime = System.currentTimeMillis();
-        robotState = AutoState.DwnDriveFwdZ;
-      }
+    switch (mode) {
+    case Autonomous:
+      updateInputShaper();
+      updateOutputMode();
+      climb.autonomousInit(config.get().getAutoEnabled());
       break;
-    case DwnDriveFwdZ:
-      if (drivetrain.drive(DRIVE_DOWN_POWER, DRIVE_DOWN_POWER, 0.5, stateStartTime)) {
-        drivetrain.enableJoystick();
-        robotState = AutoState.ClimbDwnDone;
-      }
-      break;
-    case ClimbDwnDone:
-      drivetrain.setCoast();
+    case Teleop:
+      updateInputShaper();
+      updateOutputMode();
+      climb.teleopInit();
       break;
     default:
-      // Something is wrong. Give control to the drivers
-      System.out.println("[code] Invalid state detected");
-      drivetrain.enableJoystick();
-      robotState = AutoState.ClimbDwnDone;
       break;
     }
   }
 
   /**
-   * This method is called to initialize teleop
+   * Publishes loop timing and drive status on a scheduler worker
    */
-  @Override
-  public void teleopInit() {
-    System.out.println("[code] Initializing teleop...");
+  private void runDashboard() {
+    if (dashboardStatus.update()) {
+      DriveStatus status = dashboardStatus.get();
+
+      stateEntry.set(status.getState().name());
+      legTimeoutsEntry.set(climb.getLegTimeouts());
+      joystickEnabledEntry.set(status.getJoystickEnabled());
+      leftPositionEntry.set(status.getLeftPosition());
+      rightPositionEntry.set(status.getRightPosition());
+      leftPowerEntry.set(status.getLeftPower());
+      rightPowerEntry.set(status.getRightPower());
+      batteryVoltageEntry.set(status.getBatteryVoltage());
+      currentEntry.set(status.getCurrent());
+
+      // Show how many drivetrain frames the caches are saving
+      framesSentEntry.set(status.getFramesSent());
+      framesSuppressedEntry.set(status.getFramesSuppressed());
+    }
+
+    // Show the newest target so the drivers can line up the climb
+    Subscription<VisionTarget> targets = dashboardTarget;
+    if (targets != null && targets.update()) {
+      VisionTarget target = targets.get();
+
+      targetFoundEntry.set(target.isFound());
+      targetYawEntry.set(target.getYaw());
+      targetDistanceEntry.set(target.getDistance());
+      targetLatencyEntry.set(target.getLatency() / 1e6);
+    }
 
-    // Set the auto state
-    robotState = AutoState.ClimbUpWaitCmd;
+    // Show what recording costs so it can be kept in its budget
+    VideoRecorder recorder = video;
+    if (recorder != null) {
+      videoWrittenEntry.set(recorder.getFramesWritten());
+      videoDroppedEntry.set(recorder.getDropped());
+      videoWriteTimeEntry.set(recorder.getWriteTime() / 1e6);
+      videoCpuEntry.set(recorder.getCpuUsage() * 100);
+    }
+
+    LoopTimers.publishPeriodically(dashboard);
+    scheduler.publish(dashboard);
+
+    // Show how long the climb spent in each state
+    climb.publish();
 
-    // Always enable joystick when teleop starts in case we are testing or something
-    // is wrong
-    drivetrain.enableJoystick();
+    // Send what changed at the configured rate
+    dashboard.setFlushRate(config.get().getDashboardRate());
+    dashboard.update(System.nanoTime());
   }
 
   /**
-   * This method is called periodically during teleop
+   * This method is called to initialize auto
    */
   @Override
-  public void teleopPeriodic() {
-    // Check for an auto cancellation
-    if (joystick.getRawButton(STOP_AUTO_BUTTON_1) && joystick.getRawButton(STOP_AUTO_BUTTON_2)) {
-      // The drivers have cancelled the auto
-      drivetrain.enableJoystick();
-      robotState = AutoState.ClimbUpWaitCmd;
-      System.out.println("[code] Auto cancelled");
-    }
-
-    // Update drivetrain output with joystick
-    drivetrain.arcadeDrive(joystick.getX(), joystick.getY(), joystick.getZ(), joystick.getMagnitude());
-
-    if (drivetrain.getJoystickEnabled()) {
-      // Process other joystick buttons here
-    }
+  public void autonomousInit() {
+    Log.info("Initializing auto...");
 
-    // Auto switch statement
-    switch (robotState) {
-    case ClimbUpWaitCmd:
-      drivetrain.setCoast();
+    setMode(RobotMode.Autonomous);
+  }
 
-      // Check for climb command
-      if (joystick.getRawButton(CLIMB_UP_BUTTON_1) && joystick.getRawButton(CLIMB_UP_BUTTON_2)) {
-        // Disable joystick
-        drivetrain.disableJoystick();
+  /**
+   * This method is called periodically during auto
+   */
+  @Override
+  public void autonomousPeriodic() {
+    readInput();
 
-        // Set state
-        robotState = AutoState.UpLeverExtend;
+    bindings.update(driverInput.getButtons(), clock.getTime());
+    climb.autonomousPeriodic(driverInput.getX(), driverInput.getY(), driverInput.getZ(),
+        driverInput.getMagnitude());
+  }
 
-        drivetrain.setBrake();
-      }
-      break;
-    case UpLeverExtend:
-      // Run climber
-      System.out.println("[code] Extending climber...");
-      intake2.set(0.25);
+  /**
+   * This method is called to initialize teleop
+   */
+  @Override
+  public void teleopInit() {
+    Log.info("Initializing teleop...");
 
-      // RUN CLIMBER MOTOR
-      // CHECK POTENTIOMETER
+    setMode(RobotMode.Teleop);
+  }
 
-      // Set as done temporarily
+  /**
+   * This method is called periodically during teleop
+   */
+  @Override
+  public void teleopPeriodic() {
+    readInput();
 
-      // Restart timer
-      stateStartTime = System.currentTimeMillis();
+    bindings.update(driverInput.getButtons(), clock.getTime());
+    climb.teleopPeriodic(driverInput.getX(), driverInput.getY(), driverInput.getZ(), driverInput.getMagnitude());
+  }
 
-      // Change state
-      robotState = AutoState.UpDriveFwdZ;
-      break;
-    case UpDriveFwdZ:
-      if (drivetrain.drive(DRIVE_UP_POWER, DRIVE_UP_POWER, 1, stateStartTime)) {
-        stateStartTime = System.currentTimeMillis();
-        stateStopTime = stateStartTime + CLIMBER_PISTON_ACTUATION_TIME;
+  /**
+   * Compiles the joystick curve from the config so a new curve is picked up
+   * each time the robot is enabled
+   */
+  private void updateInputShaper() {
+    RobotConfig settings = config.get();
 
-        robotState = AutoState.UpPistonExtend;
-      }
-      break;
-    case UpPistonExtend:
-      // ACTIVATE SOLENOID 4
-      System.out.println("[code] Extending climber pistons...");
-
-      intake1.set(0.25);
-      if (System.currentTimeMillis() >= stateStopTime) {
-        intake1.set(0);
-        stateStartTime = System.currentTimeMillis();
-        robotState = AutoState.UpDriveFwdA;
-      }
-      break;
-    case UpDriveFwdA:
-      if (drivetrain.drive(DRIVE_UP_POWER, DRIVE_UP_POWER, 1, stateStartTime)) {
-        robotState = AutoState.UpLeverRetract;
-      }
-      break;
-    case UpLeverRetract:
-      // Storing climber
-      System.out.println("[code] Retracting climber...");
-      intake2.set(-0.25);
-      // RUN CLIMBER MOTOR
-      // CHECK POTENTIOMETER
-
-      // Restart timer
-      stateStartTime = System.currentTimeMillis();
-
-      // Change state
-      robotState = AutoState.UpDriveFwdB;
-      break;
-    case UpDriveFwdB:
-      if (drivetrain.drive(DRIVE_UP_POWER, DRIVE_UP_POWER, 1, stateStartTime)) {
-        stateStartTime = System.currentTimeMillis();
-        stateStopTime = stateStartTime + CLIMBER_PISTON_ACTUATION_TIME;
+    drivetrain.setInputShaper(new InputShaper(settings.getDriveCurve(), DriveBase.JOYSTICK_DEADZONE,
+        DriveBase.REVERSE_POINT, settings.getDriveSlewRate()));
+  }
 
-        // Change state
-        robotState = AutoState.UpPistonRetract;
-      }
-      break;
-    case UpPistonRetract:
-      System.out.println("[code] Retracting climber pistons...");
-      // ACTIVATE SOLENOID 5
-      intake1.set(-0.25);
-
-      if (System.currentTimeMillis() >= stateStopTime) {
-        intake1.set(0);
-        stateStartTime = System.currentTimeMillis();
-        robotState = AutoState.UpDriveFwdC;
-      }
-      break;
-    case UpDriveFwdC:
-      if (drivetrain.drive(DRIVE_UP_POWER, DRIVE_UP_POWER, 1, stateStartTime)) {
-        // Change state
-        robotState = AutoState.ClimbUpDone;
-      }
-      break;
-    case ClimbUpDone:
-      // Enable joystick
-      drivetrain.enableJoystick();
+  /**
+   * Turns the compensated drive output on or off from the config each time the
+   * robot is enabled
+   */
+  private void updateOutputMode() {
+    drivetrain.setCompensated(config.get().getDriveCompensate());
+  }
 
-      // Set state
-      robotState = AutoState.ClimbUpWaitCmd;
-      break;
-    default:
-      // Something is wrong. Give control to the drivers
-      System.out.println("[code] Invalid state detected");
-      drivetrain.enableJoystick();
-      robotState = AutoState.ClimbUpWaitCmd;
-      break;
-    }
+  /**
+   * This method is called to initialize a robot test
+   */
+  @Override
+  public void testInit() {
+    setMode(RobotMode.Test);
   }
 
   /**
@@ -371,7 +532,7 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void testPeriodic() {
-
+    readInput();
   }
 
   /**
@@ -379,7 +540,9 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void disabledInit() {
-    System.out.println("[code] Robot disabled");
+    Log.info("Robot disabled");
+
+    setMode(RobotMode.Disabled);
   }
 
   /**
@@ -387,6 +550,6 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void disabledPeriodic() {
-
+    readInput();
   }
 }
@@ -0,0 +1,17 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot;
+
+/**
+ * This enum lists the modes the driver station can put the robot in
+ * 
+ * @author Caleb Heydon
+ */
+
+public enum RobotMode {
+    Disabled, Autonomous, Teleop, Test
+}
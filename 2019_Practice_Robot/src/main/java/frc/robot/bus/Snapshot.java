@@ -0,0 +1,24 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.bus;
+
+/**
+ * This interface is implemented by data that is passed between threads on a
+ * {@link Topic}. Snapshots are copied field by field so nothing is allocated
+ * when one is published or read.
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface Snapshot<T> {
+    /**
+     * Copies every field of another snapshot into this one
+     * 
+     * @param other The snapshot to copy
+     */
+    void copyFrom(T other);
+}
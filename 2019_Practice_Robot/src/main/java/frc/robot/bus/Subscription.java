@@ -0,0 +1,68 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.bus;
+
+/**
+ * This class is one reader of a {@link Topic}. It keeps its own copy of the
+ * snapshot, so the copy never changes between calls to {@link #update()}. A
+ * subscription belongs to one thread.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class Subscription<T extends Snapshot<T>> {
+    // Topic read from
+    private final Topic<T> topic;
+
+    // Copy owned by this reader
+    private final T snapshot;
+    private long version = 0;
+
+    /**
+     * Creates a subscription
+     * 
+     * @param topic    The topic
+     * @param snapshot The copy owned by this reader
+     */
+    Subscription(Topic<T> topic, T snapshot) {
+        this.topic = topic;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Copies the newest snapshot if there is one
+     * 
+     * @return True if a new snapshot was copied
+     */
+    public boolean update() {
+        // Skip the copy if nothing changed
+        if (topic.getVersion() == version) {
+            return false;
+        }
+
+        version = topic.read(snapshot);
+        return true;
+    }
+
+    /**
+     * Returns the copy from the last update
+     * 
+     * @return The snapshot
+     */
+    public T get() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the version of the copy
+     * 
+     * @return The version, 0 if nothing was published yet
+     */
+    public long getVersion() {
+        return version;
+    }
+}
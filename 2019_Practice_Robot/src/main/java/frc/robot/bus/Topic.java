@@ -0,0 +1,103 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.bus;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * This class passes the newest snapshot of some data from one publishing
+ * thread to any number of readers. It works like a seqlock: the publisher
+ * copies into a shared snapshot while holding the write stamp, and readers copy
+ * out of it optimistically and retry if a publish happened during the copy.
+ * Readers never lock, never block the publisher and never allocate.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class Topic<T extends Snapshot<T>> {
+    // Makes empty snapshots for subscribers
+    private final Supplier<T> factory;
+
+    // Shared snapshot, only read through the stamp
+    private final T shared;
+    private final StampedLock stamp = new StampedLock();
+
+    // Number of publishes, written by the publisher only
+    private volatile long version = 0;
+
+    /**
+     * Creates a topic
+     * 
+     * @param factory Makes empty snapshots, the first one is the value before
+     *                anything is published
+     */
+    public Topic(Supplier<T> factory) {
+        this.factory = factory;
+        shared = factory.get();
+    }
+
+    /**
+     * Publishes a snapshot. This must always be called from the same thread.
+     * 
+     * @param snapshot The snapshot, it is copied so the caller can reuse it
+     */
+    public void publish(T snapshot) {
+        long writeStamp = stamp.writeLock();
+
+        try {
+            shared.copyFrom(snapshot);
+            version++;
+        } finally {
+            stamp.unlockWrite(writeStamp);
+        }
+    }
+
+    /**
+     * Copies the newest snapshot. The copy is always one whole publish.
+     * 
+     * @param into The snapshot to copy into
+     * @return The version of the snapshot, 0 if nothing was published yet
+     */
+    public long read(T into) {
+        while (true) {
+            long readStamp = stamp.tryOptimisticRead();
+
+            // A publish is running, it only takes a few field copies
+            if (readStamp == 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long readVersion = version;
+            into.copyFrom(shared);
+
+            if (stamp.validate(readStamp)) {
+                return readVersion;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of publishes so far
+     * 
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates a subscription with its own copy of the snapshot. Subscriptions
+     * should be created during init, not in the loop.
+     * 
+     * @return The subscription
+     */
+    public Subscription<T> subscribe() {
+        return new Subscription<>(this, factory.get());
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import frc.robot.util.Log;
+
+/**
+ * This class loads auto.conf once and reloads it on a background thread when
+ * the file changes. A reload waits until the file stops changing and is only
+ * used if the file has every key, so a file that is still being written never
+ * puts defaults in the middle of a match. Reading the config is a single
+ * volatile field access so it is safe to do every tick.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ConfigService implements Supplier<RobotConfig> {
+    // Define how long the file must go without changes before it is reloaded in
+    // milliseconds
+    public static final long SETTLE_TIME = 250;
+
+    // Config file
+    private final Path file;
+
+    // Current snapshot
+    private volatile RobotConfig config = RobotConfig.DEFAULT;
+
+    // Watcher thread
+    private WatchService watchService;
+    private Thread watchThread;
+
+    /**
+     * Creates a config service
+     * 
+     * @param file The config file
+     */
+    public ConfigService(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Returns the current config snapshot
+     * 
+     * @return The snapshot
+     */
+    @Override
+    public RobotConfig get() {
+        return config;
+    }
+
+    /**
+     * Reads the config file. The defaults are used if it can not be read, and for
+     * the keys it does not have.
+     */
+    public void load() {
+        List<String> missing = new ArrayList<>();
+
+        try {
+            config = RobotConfig.parse(Files.readAllLines(file, StandardCharsets.UTF_8), missing);
+        } catch (IOException e) {
+            // File does not exist
+            Log.warning("Could not read " + file + ", using defaults");
+            config = RobotConfig.DEFAULT;
+            return;
+        }
+
+        if (!missing.isEmpty()) {
+            Log.warning("Config is missing " + String.join(", ", missing) + ", using defaults for them");
+        }
+    }
+
+    /**
+     * Reads the config file after it changed. The current config is kept if the
+     * file can not be read or does not have every key.
+     */
+    private void reload() {
+        List<String> missing = new ArrayList<>();
+        RobotConfig loaded;
+
+        try {
+            loaded = RobotConfig.parse(Files.readAllLines(file, StandardCharsets.UTF_8), missing);
+        } catch (IOException e) {
+            Log.warning("Could not read " + file + ", keeping the current config");
+            return;
+        }
+
+        if (!missing.isEmpty()) {
+            Log.warning("Config is missing " + String.join(", ", missing) + ", keeping the current config");
+            return;
+        }
+
+        config = loaded;
+        Log.info("Config reloaded");
+    }
+
+    /**
+     * Starts reloading the config whenever the file changes
+     */
+    public synchronized void startWatching() {
+        if (watchThread != null) {
+            return;
+        }
+
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Log.warning("Could not watch " + file + ", config will not reload");
+            return;
+        }
+
+        // Declare thread
+        watchThread = new Thread(this::watch);
+
+        // Set thread properties
+        watchThread.setName("Config Watcher");
+        watchThread.setDaemon(true);
+        watchThread.setPriority(Thread.MIN_PRIORITY);
+
+        // Start watcher thread
+        watchThread.start();
+    }
+
+    /**
+     * Stops reloading the config
+     */
+    public synchronized void stopWatching() {
+        if (watchThread == null) {
+            return;
+        }
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Thread exits either way
+        }
+
+        watchThread = null;
+    }
+
+    /**
+     * The watcher loop
+     */
+    private void watch() {
+        Path name = file.getFileName();
+
+        try {
+            while (true) {
+                if (!takeEvents(watchService.take(), name)) {
+                    continue;
+                }
+
+                // Editors and deploys write the file in steps, wait until it is quiet
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS)) != null) {
+                    takeEvents(key, name);
+                }
+
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    /**
+     * Takes the events of a watch key and resets it
+     * 
+     * @param key  The key
+     * @param name The file name of the config
+     * @return True if the config file may have changed
+     */
+    private static boolean takeEvents(WatchKey key, Path name) {
+        boolean changed = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // Events were lost, so any file may have changed
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                changed = true;
+            }
+        }
+
+        key.reset();
+        return changed;
+    }
+}
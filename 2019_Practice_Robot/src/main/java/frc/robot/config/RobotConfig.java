@@ -0,0 +1,829 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import frc.robot.input.ShapingCurve;
+import frc.robot.telemetry.VideoFormat;
+import frc.robot.util.Log;
+
+/**
+ * This class is an immutable snapshot of the settings in auto.conf. A new
+ * snapshot is made every time the file is loaded.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class RobotConfig {
+    // Define setting keys
+    public static final String AUTO_ENABLED = "auto";
+    public static final String DRIVE_DOWN_POWER = "drive.down.power";
+    public static final String DRIVE_UP_POWER = "drive.up.power";
+    public static final String CLIMBER_PISTON_ACTUATION_TIME = "climber.piston.actuation.time";
+    public static final String DRIVE_DOWN_Y_TIME = "drive.down.y.time";
+    public static final String DRIVE_DOWN_Z_TIME = "drive.down.z.time";
+    public static final String DRIVE_UP_TIME = "drive.up.time";
+    public static final String DRIVE_DOWN_Y_DISTANCE = "drive.down.y.distance";
+    public static final String DRIVE_DOWN_Z_DISTANCE = "drive.down.z.distance";
+    public static final String DRIVE_UP_DISTANCE = "drive.up.distance";
+    public static final String DRIVE_DISTANCE_TIMEOUT = "drive.distance.timeout";
+    public static final String DRIVE_DISTANCE_PROFILE = "drive.distance.profile";
+    public static final String DRIVE_CURVE = "drive.curve";
+    public static final String DRIVE_CURVE_EXPO = "drive.curve.expo";
+    public static final String DRIVE_SLEW_RATE = "drive.slew.rate";
+    public static final String DRIVE_COMPENSATE = "drive.compensate";
+    public static final String DASHBOARD_RATE = "dashboard.rate";
+    public static final String VIDEO_RECORD = "video.record";
+    public static final String VIDEO_FORMAT = "video.format";
+    public static final String VIDEO_RATE = "video.rate";
+
+    // Define every key a complete file has
+    public static final List<String> KEYS = Collections.unmodifiableList(Arrays.asList(AUTO_ENABLED,
+            DRIVE_DOWN_POWER, DRIVE_UP_POWER, CLIMBER_PISTON_ACTUATION_TIME, DRIVE_DOWN_Y_TIME, DRIVE_DOWN_Z_TIME,
+            DRIVE_UP_TIME, DRIVE_DOWN_Y_DISTANCE, DRIVE_DOWN_Z_DISTANCE, DRIVE_UP_DISTANCE, DRIVE_DISTANCE_TIMEOUT,
+            DRIVE_DISTANCE_PROFILE, DRIVE_CURVE, DRIVE_CURVE_EXPO, DRIVE_SLEW_RATE, DRIVE_COMPENSATE, DASHBOARD_RATE,
+            VIDEO_RECORD, VIDEO_FORMAT, VIDEO_RATE));
+
+    // Settings used when the file is missing or a value is bad
+    public static final RobotConfig DEFAULT = builder().build();
+
+    // Settings
+    private final boolean autoEnabled;
+    private final double driveDownPower;
+    private final double driveUpPower;
+    private final long climberPistonActuationTime;
+    private final double driveDownYTime;
+    private final double driveDownZTime;
+    private final double driveUpTime;
+    private final int driveDownYDistance;
+    private final int driveDownZDistance;
+    private final int driveUpDistance;
+    private final double driveDistanceTimeout;
+    private final boolean driveDistanceProfile;
+    private final String driveCurve;
+    private final double driveCurveExpo;
+    private final double driveSlewRate;
+    private final boolean driveCompensate;
+    private final double dashboardRate;
+    private final boolean videoRecord;
+    private final String videoFormat;
+    private final double videoRate;
+
+    /**
+     * Creates a config snapshot
+     * 
+     * @param builder The settings
+     */
+    private RobotConfig(Builder builder) {
+        autoEnabled = builder.autoEnabled;
+        driveDownPower = builder.driveDownPower;
+        driveUpPower = builder.driveUpPower;
+        climberPistonActuationTime = builder.climberPistonActuationTime;
+        driveDownYTime = builder.driveDownYTime;
+        driveDownZTime = builder.driveDownZTime;
+        driveUpTime = builder.driveUpTime;
+        driveDownYDistance = builder.driveDownYDistance;
+        driveDownZDistance = builder.driveDownZDistance;
+        driveUpDistance = builder.driveUpDistance;
+        driveDistanceTimeout = builder.driveDistanceTimeout;
+        driveDistanceProfile = builder.driveDistanceProfile;
+        driveCurve = builder.driveCurve;
+        driveCurveExpo = builder.driveCurveExpo;
+        driveSlewRate = builder.driveSlewRate;
+        driveCompensate = builder.driveCompensate;
+        dashboardRate = builder.dashboardRate;
+        videoRecord = builder.videoRecord;
+        videoFormat = builder.videoFormat;
+        videoRate = builder.videoRate;
+    }
+
+    /**
+     * Creates a builder that starts from the default settings
+     * 
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a snapshot from the lines of a config file. Each line is a
+     * key=value pair and lines starting with # are comments. A file that is only
+     * a number is read as the old auto setting. Bad values are reported and the
+     * default is kept, this never throws.
+     * 
+     * @param lines The lines of the file
+     * @return The snapshot
+     */
+    public static RobotConfig parse(List<String> lines) {
+        return parse(lines, new ArrayList<>());
+    }
+
+    /**
+     * Creates a snapshot from the lines of a config file and lists the keys the
+     * file does not have, those keep their defaults
+     * 
+     * @param lines   The lines of the file
+     * @param missing Gets every key in {@link #KEYS} that is not in the file
+     * @return The snapshot
+     */
+    public static RobotConfig parse(List<String> lines, Collection<String> missing) {
+        Builder builder = builder();
+        Set<String> found = new LinkedHashSet<>();
+
+        for (String line : lines) {
+            line = line.trim();
+
+            // Skip blank lines and comments
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String key;
+            String value;
+
+            int split = line.indexOf('=');
+            if (split < 0) {
+                // Old format with only the auto setting
+                key = AUTO_ENABLED;
+                value = line;
+            } else {
+                key = line.substring(0, split).trim();
+                value = line.substring(split + 1).trim();
+            }
+
+            found.add(key);
+
+            try {
+                switch (key) {
+                case AUTO_ENABLED:
+                    builder.autoEnabled(Integer.parseInt(value) == 1);
+                    break;
+                case DRIVE_DOWN_POWER:
+                    builder.driveDownPower(parsePower(value));
+                    break;
+                case DRIVE_UP_POWER:
+                    builder.driveUpPower(parsePower(value));
+                    break;
+                case CLIMBER_PISTON_ACTUATION_TIME:
+                    builder.climberPistonActuationTime(parseMillis(value));
+                    break;
+                case DRIVE_DOWN_Y_TIME:
+                    builder.driveDownYTime(parseTime(value));
+                    break;
+                case DRIVE_DOWN_Z_TIME:
+                    builder.driveDownZTime(parseTime(value));
+                    break;
+                case DRIVE_UP_TIME:
+                    builder.driveUpTime(parseTime(value));
+                    break;
+                case DRIVE_DOWN_Y_DISTANCE:
+                    builder.driveDownYDistance(Integer.parseInt(value));
+                    break;
+                case DRIVE_DOWN_Z_DISTANCE:
+                    builder.driveDownZDistance(Integer.parseInt(value));
+                    break;
+                case DRIVE_UP_DISTANCE:
+                    builder.driveUpDistance(Integer.parseInt(value));
+                    break;
+                case DRIVE_DISTANCE_TIMEOUT:
+                    builder.driveDistanceTimeout(parsePositiveTime(value));
+                    break;
+                case DRIVE_DISTANCE_PROFILE:
+                    builder.driveDistanceProfile(Integer.parseInt(value) == 1);
+                    break;
+                case DRIVE_CURVE:
+                    builder.driveCurve(parseCurve(value));
+                    break;
+                case DRIVE_CURVE_EXPO:
+                    builder.driveCurveExpo(parseFraction(value));
+                    break;
+                case DRIVE_SLEW_RATE:
+                    builder.driveSlewRate(parseRate(value));
+                    break;
+                case DRIVE_COMPENSATE:
+                    builder.driveCompensate(Integer.parseInt(value) == 1);
+                    break;
+                case DASHBOARD_RATE:
+                    builder.dashboardRate(parsePositiveRate(value));
+                    break;
+                case VIDEO_RECORD:
+                    builder.videoRecord(Integer.parseInt(value) == 1);
+                    break;
+                case VIDEO_FORMAT:
+                    builder.videoFormat(parseVideoFormat(value));
+                    break;
+                case VIDEO_RATE:
+                    builder.videoRate(parsePositiveRate(value));
+                    break;
+                default:
+                    Log.warning("Unknown config key " + key);
+                    break;
+                }
+            } catch (NumberFormatException e) {
+                Log.warning("Bad config value for " + key + ": " + value);
+            }
+        }
+
+        for (String key : KEYS) {
+            if (!found.contains(key)) {
+                missing.add(key);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Parses a motor power and makes sure it is within bounds
+     * 
+     * @param value The text
+     * @return The power
+     */
+    private static double parsePower(String value) {
+        double power = Double.parseDouble(value);
+
+        if (power < -1 || power > 1 || Double.isNaN(power)) {
+            throw new NumberFormatException("Power out of range");
+        }
+
+        return power;
+    }
+
+    /**
+     * Checks that a curve name is one of the built in curves
+     * 
+     * @param value The text
+     * @return The curve name
+     */
+    private static String parseCurve(String value) {
+        try {
+            ShapingCurve.forName(value, 0);
+        } catch (IllegalArgumentException e) {
+            throw new NumberFormatException("Unknown curve");
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks that a video encoding name is known
+     * 
+     * @param value The text
+     * @return The encoding name
+     */
+    private static String parseVideoFormat(String value) {
+        try {
+            VideoFormat.forName(value);
+        } catch (IllegalArgumentException e) {
+            throw new NumberFormatException("Unknown video format");
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses a value from 0 to 1
+     * 
+     * @param value The text
+     * @return The value
+     */
+    private static double parseFraction(String value) {
+        double fraction = Double.parseDouble(value);
+
+        if (fraction < 0 || fraction > 1 || Double.isNaN(fraction)) {
+            throw new NumberFormatException("Value out of range");
+        }
+
+        return fraction;
+    }
+
+    /**
+     * Parses a time in seconds and makes sure it is finite and not negative
+     * 
+     * @param value The text
+     * @return The time
+     */
+    private static double parseTime(String value) {
+        double time = Double.parseDouble(value);
+
+        if (time < 0 || Double.isNaN(time) || Double.isInfinite(time)) {
+            throw new NumberFormatException("Time out of range");
+        }
+
+        return time;
+    }
+
+    /**
+     * Parses a time in seconds and makes sure it is finite and positive
+     * 
+     * @param value The text
+     * @return The time
+     */
+    private static double parsePositiveTime(String value) {
+        double time = parseTime(value);
+
+        if (time == 0) {
+            throw new NumberFormatException("Time must be positive");
+        }
+
+        return time;
+    }
+
+    /**
+     * Parses a time in milliseconds and makes sure it is not negative
+     * 
+     * @param value The text
+     * @return The time
+     */
+    private static long parseMillis(String value) {
+        long time = Long.parseLong(value);
+
+        if (time < 0) {
+            throw new NumberFormatException("Time out of range");
+        }
+
+        return time;
+    }
+
+    /**
+     * Parses a rate and makes sure it is finite and not negative
+     * 
+     * @param value The text
+     * @return The rate
+     */
+    private static double parseRate(String value) {
+        double rate = Double.parseDouble(value);
+
+        if (rate < 0 || Double.isNaN(rate) || Double.isInfinite(rate)) {
+            throw new NumberFormatException("Rate out of range");
+        }
+
+        return rate;
+    }
+
+    /**
+     * Parses a rate and makes sure it is finite and positive
+     * 
+     * @param value The text
+     * @return The rate
+     */
+    private static double parsePositiveRate(String value) {
+        double rate = parseRate(value);
+
+        if (rate == 0) {
+            throw new NumberFormatException("Rate must be positive");
+        }
+
+        return rate;
+    }
+
+    /**
+     * Returns true if the climb down runs in auto
+     * 
+     * @return Auto enabled
+     */
+    public boolean getAutoEnabled() {
+        return autoEnabled;
+    }
+
+    /**
+     * Returns the power used to drive off of the platform
+     * 
+     * @return The power
+     */
+    public double getDriveDownPower() {
+        return driveDownPower;
+    }
+
+    /**
+     * Returns the power used to drive onto the platform
+     * 
+     * @return The power
+     */
+    public double getDriveUpPower() {
+        return driveUpPower;
+    }
+
+    /**
+     * Returns the time the climber pistons take to move
+     * 
+     * @return The time in milliseconds
+     */
+    public long getClimberPistonActuationTime() {
+        return climberPistonActuationTime;
+    }
+
+    /**
+     * Returns the time of the first drive down
+     * 
+     * @return The time in seconds
+     */
+    public double getDriveDownYTime() {
+        return driveDownYTime;
+    }
+
+    /**
+     * Returns the time of the second drive down
+     * 
+     * @return The time in seconds
+     */
+    public double getDriveDownZTime() {
+        return driveDownZTime;
+    }
+
+    /**
+     * Returns the time of each drive up
+     * 
+     * @return The time in seconds
+     */
+    public double getDriveUpTime() {
+        return driveUpTime;
+    }
+
+    /**
+     * Returns the distance of the first drive down, negative is backwards
+     * 
+     * @return The distance in encoder ticks, 0 to drive for a time
+     */
+    public int getDriveDownYDistance() {
+        return driveDownYDistance;
+    }
+
+    /**
+     * Returns the distance of the second drive down, negative is backwards
+     * 
+     * @return The distance in encoder ticks, 0 to drive for a time
+     */
+    public int getDriveDownZDistance() {
+        return driveDownZDistance;
+    }
+
+    /**
+     * Returns the distance of each drive up, negative is backwards
+     * 
+     * @return The distance in encoder ticks, 0 to drive for a time
+     */
+    public int getDriveUpDistance() {
+        return driveUpDistance;
+    }
+
+    /**
+     * Returns the most time a distance drive may take before the climb moves on
+     * 
+     * @return The time in seconds
+     */
+    public double getDriveDistanceTimeout() {
+        return driveDistanceTimeout;
+    }
+
+    /**
+     * Returns true if distance drives stream a precomputed motion profile instead
+     * of using motion magic
+     * 
+     * @return True if profiles are used
+     */
+    public boolean getDriveDistanceProfile() {
+        return driveDistanceProfile;
+    }
+
+    /**
+     * Returns the curve applied to the joystick
+     * 
+     * @return The curve
+     */
+    public ShapingCurve getDriveCurve() {
+        return ShapingCurve.forName(driveCurve, driveCurveExpo);
+    }
+
+    /**
+     * Returns the largest change in joystick drive power per second
+     * 
+     * @return The rate, 0 for no limit
+     */
+    public double getDriveSlewRate() {
+        return driveSlewRate;
+    }
+
+    /**
+     * Returns true if the drive uses voltage compensation and current limits
+     * 
+     * @return True if compensated
+     */
+    public boolean getDriveCompensate() {
+        return driveCompensate;
+    }
+
+    /**
+     * Returns how often changed values are sent to the dashboard
+     * 
+     * @return The number of updates per second
+     */
+    public double getDashboardRate() {
+        return dashboardRate;
+    }
+
+    /**
+     * Returns true if camera frames are recorded
+     * 
+     * @return True if recording
+     */
+    public boolean getVideoRecord() {
+        return videoRecord;
+    }
+
+    /**
+     * Returns the encoding of recorded frames
+     * 
+     * @return The encoding from {@link VideoFormat}
+     */
+    public int getVideoFormat() {
+        return VideoFormat.forName(videoFormat);
+    }
+
+    /**
+     * Returns the most frames recorded per second
+     * 
+     * @return The frame rate
+     */
+    public double getVideoRate() {
+        return videoRate;
+    }
+
+    /**
+     * This class collects the settings of a snapshot by name so that two
+     * settings of the same type can not be swapped by accident. It starts from
+     * the default settings.
+     */
+    public static final class Builder {
+        // Settings
+        private boolean autoEnabled = false;
+        private double driveDownPower = -0.5;
+        private double driveUpPower = 0.25;
+        private long climberPistonActuationTime = 2000;
+        private double driveDownYTime = 0.375;
+        private double driveDownZTime = 0.5;
+        private double driveUpTime = 1;
+        private int driveDownYDistance = 0;
+        private int driveDownZDistance = 0;
+        private int driveUpDistance = 0;
+        private double driveDistanceTimeout = 3;
+        private boolean driveDistanceProfile = false;
+        private String driveCurve = "squared";
+        private double driveCurveExpo = 0.5;
+        private double driveSlewRate = 0;
+        private boolean driveCompensate = false;
+        private double dashboardRate = 10;
+        private boolean videoRecord = false;
+        private String videoFormat = "mjpeg";
+        private double videoRate = 5;
+
+        /**
+         * Creates a builder with the default settings
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets if the climb down runs in auto
+         * 
+         * @param autoEnabled True if the climb down runs in auto
+         * @return This builder
+         */
+        public Builder autoEnabled(boolean autoEnabled) {
+            this.autoEnabled = autoEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the power used to drive off of the platform
+         * 
+         * @param driveDownPower The power
+         * @return This builder
+         */
+        public Builder driveDownPower(double driveDownPower) {
+            this.driveDownPower = driveDownPower;
+            return this;
+        }
+
+        /**
+         * Sets the power used to drive onto the platform
+         * 
+         * @param driveUpPower The power
+         * @return This builder
+         */
+        public Builder driveUpPower(double driveUpPower) {
+            this.driveUpPower = driveUpPower;
+            return this;
+        }
+
+        /**
+         * Sets the time the climber pistons take to move
+         * 
+         * @param climberPistonActuationTime The time in milliseconds
+         * @return This builder
+         */
+        public Builder climberPistonActuationTime(long climberPistonActuationTime) {
+            this.climberPistonActuationTime = climberPistonActuationTime;
+            return this;
+        }
+
+        /**
+         * Sets the time of the first drive down
+         * 
+         * @param driveDownYTime The time in seconds
+         * @return This builder
+         */
+        public Builder driveDownYTime(double driveDownYTime) {
+            this.driveDownYTime = driveDownYTime;
+            return this;
+        }
+
+        /**
+         * Sets the time of the second drive down
+         * 
+         * @param driveDownZTime The time in seconds
+         * @return This builder
+         */
+        public Builder driveDownZTime(double driveDownZTime) {
+            this.driveDownZTime = driveDownZTime;
+            return this;
+        }
+
+        /**
+         * Sets the time of each drive up
+         * 
+         * @param driveUpTime The time in seconds
+         * @return This builder
+         */
+        public Builder driveUpTime(double driveUpTime) {
+            this.driveUpTime = driveUpTime;
+            return this;
+        }
+
+        /**
+         * Sets the distance of the first drive down, negative is backwards
+         * 
+         * @param driveDownYDistance The distance in encoder ticks, 0 to drive for a
+         *                           time
+         * @return This builder
+         */
+        public Builder driveDownYDistance(int driveDownYDistance) {
+            this.driveDownYDistance = driveDownYDistance;
+            return this;
+        }
+
+        /**
+         * Sets the distance of the second drive down, negative is backwards
+         * 
+         * @param driveDownZDistance The distance in encoder ticks, 0 to drive for a
+         *                           time
+         * @return This builder
+         */
+        public Builder driveDownZDistance(int driveDownZDistance) {
+            this.driveDownZDistance = driveDownZDistance;
+            return this;
+        }
+
+        /**
+         * Sets the distance of each drive up, negative is backwards
+         * 
+         * @param driveUpDistance The distance in encoder ticks, 0 to drive for a time
+         * @return This builder
+         */
+        public Builder driveUpDistance(int driveUpDistance) {
+            this.driveUpDistance = driveUpDistance;
+            return this;
+        }
+
+        /**
+         * Sets the most time a distance drive may take
+         * 
+         * @param driveDistanceTimeout The time in seconds
+         * @return This builder
+         */
+        public Builder driveDistanceTimeout(double driveDistanceTimeout) {
+            this.driveDistanceTimeout = driveDistanceTimeout;
+            return this;
+        }
+
+        /**
+         * Sets if distance drives stream a motion profile instead of using motion
+         * magic
+         * 
+         * @param driveDistanceProfile True if profiles are used
+         * @return This builder
+         */
+        public Builder driveDistanceProfile(boolean driveDistanceProfile) {
+            this.driveDistanceProfile = driveDistanceProfile;
+            return this;
+        }
+
+        /**
+         * Sets the name of the joystick curve
+         * 
+         * @param driveCurve The curve name
+         * @return This builder
+         */
+        public Builder driveCurve(String driveCurve) {
+            this.driveCurve = driveCurve;
+            return this;
+        }
+
+        /**
+         * Sets the weight of the cubic part of the expo curve
+         * 
+         * @param driveCurveExpo The weight from 0 to 1
+         * @return This builder
+         */
+        public Builder driveCurveExpo(double driveCurveExpo) {
+            this.driveCurveExpo = driveCurveExpo;
+            return this;
+        }
+
+        /**
+         * Sets the largest change in joystick drive power per second
+         * 
+         * @param driveSlewRate The rate, 0 for no limit
+         * @return This builder
+         */
+        public Builder driveSlewRate(double driveSlewRate) {
+            this.driveSlewRate = driveSlewRate;
+            return this;
+        }
+
+        /**
+         * Sets if the drive uses voltage compensation and current limits
+         * 
+         * @param driveCompensate True if compensated
+         * @return This builder
+         */
+        public Builder driveCompensate(boolean driveCompensate) {
+            this.driveCompensate = driveCompensate;
+            return this;
+        }
+
+        /**
+         * Sets how often changed values are sent to the dashboard
+         * 
+         * @param dashboardRate The number of updates per second
+         * @return This builder
+         */
+        public Builder dashboardRate(double dashboardRate) {
+            this.dashboardRate = dashboardRate;
+            return this;
+        }
+
+        /**
+         * Sets if camera frames are recorded
+         * 
+         * @param videoRecord True to record
+         * @return This builder
+         */
+        public Builder videoRecord(boolean videoRecord) {
+            this.videoRecord = videoRecord;
+            return this;
+        }
+
+        /**
+         * Sets the video encoding
+         * 
+         * @param videoFormat The encoding name
+         * @return This builder
+         */
+        public Builder videoFormat(String videoFormat) {
+            this.videoFormat = videoFormat;
+            return this;
+        }
+
+        /**
+         * Sets the most frames recorded per second
+         * 
+         * @param videoRate The frame rate
+         * @return This builder
+         */
+        public Builder videoRate(double videoRate) {
+            this.videoRate = videoRate;
+            return this;
+        }
+
+        /**
+         * Creates the snapshot
+         * 
+         * @return The snapshot
+         */
+        public RobotConfig build() {
+            return new RobotConfig(this);
+        }
+    }
+}
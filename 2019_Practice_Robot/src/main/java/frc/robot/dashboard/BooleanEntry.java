@@ -0,0 +1,52 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * This class is a boolean on the dashboard. The value is only sent when it
+ * changes.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class BooleanEntry extends DashboardEntry {
+    // Newest value and the last value sent
+    private boolean value = false;
+    private Boolean sent = null;
+
+    /**
+     * Creates an entry
+     * 
+     * @param entry The network table entry
+     */
+    BooleanEntry(NetworkTableEntry entry) {
+        super(entry);
+    }
+
+    /**
+     * Sets the value
+     * 
+     * @param value The value
+     */
+    public void set(boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean send() {
+        if (sent != null && sent == value) {
+            return false;
+        }
+
+        entry.setBoolean(value);
+        sent = value;
+
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * This class publishes values to NetworkTables in batches. Entry handles are
+ * looked up when a value is added, setting a value only stores it, and
+ * {@link #update(long)} sends the values that changed and flushes once at the
+ * flush rate. A dashboard belongs to one thread.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class Dashboard {
+    // Define default number of flushes per second
+    public static final double DEFAULT_FLUSH_RATE = 10;
+
+    // Define the table the smart dashboard shows
+    public static final String SMART_DASHBOARD_TABLE = "SmartDashboard";
+
+    // Network tables
+    private final NetworkTableInstance instance;
+    private final NetworkTable table;
+
+    // Every value, sent in the order they were added
+    private final List<DashboardEntry> entries = new ArrayList<>();
+
+    // Flush timing in nanoseconds
+    private long flushPeriod;
+    private long lastFlush = 0;
+    private boolean flushed = false;
+
+    // Counters
+    private long valuesSent = 0;
+    private long valuesSuppressed = 0;
+
+    /**
+     * Creates a dashboard on the smart dashboard table of the default instance
+     */
+    public Dashboard() {
+        this(NetworkTableInstance.getDefault(), SMART_DASHBOARD_TABLE, DEFAULT_FLUSH_RATE);
+    }
+
+    /**
+     * Creates a dashboard
+     * 
+     * @param instance  The network tables instance, a local server can be used to
+     *                  check the dashboard off of the robot
+     * @param table     The table the values are put in
+     * @param flushRate The number of flushes per second
+     */
+    public Dashboard(NetworkTableInstance instance, String table, double flushRate) {
+        this.instance = instance;
+        this.table = instance.getTable(table);
+        setFlushRate(flushRate);
+    }
+
+    /**
+     * Sets how often changed values are sent
+     * 
+     * @param flushRate The number of flushes per second
+     */
+    public void setFlushRate(double flushRate) {
+        if (!(flushRate > 0)) {
+            throw new IllegalArgumentException("Flush rate must be positive");
+        }
+
+        flushPeriod = (long) (TimeUnit.SECONDS.toNanos(1) / flushRate);
+    }
+
+    /**
+     * Adds a number that is sent whenever it changes
+     * 
+     * @param key The key
+     * @return The entry
+     */
+    public NumberEntry addNumber(String key) {
+        return addNumber(key, 0);
+    }
+
+    /**
+     * Adds a number
+     * 
+     * @param key       The key
+     * @param threshold The smallest change that is sent
+     * @return The entry
+     */
+    public NumberEntry addNumber(String key, double threshold) {
+        return add(new NumberEntry(table.getEntry(key), threshold));
+    }
+
+    /**
+     * Adds a boolean
+     * 
+     * @param key The key
+     * @return The entry
+     */
+    public BooleanEntry addBoolean(String key) {
+        return add(new BooleanEntry(table.getEntry(key)));
+    }
+
+    /**
+     * Adds a string
+     * 
+     * @param key The key
+     * @return The entry
+     */
+    public StringEntry addString(String key) {
+        return add(new StringEntry(table.getEntry(key)));
+    }
+
+    /**
+     * Adds an entry to the list that is sent
+     * 
+     * @param entry The entry
+     * @return The entry
+     */
+    private <T extends DashboardEntry> T add(T entry) {
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Sends the values that changed and flushes them if the flush period has
+     * passed. This should be called once per loop.
+     * 
+     * @param now The current time in nanoseconds
+     * @return True if the dashboard flushed
+     */
+    public boolean update(long now) {
+        if (flushed && now - lastFlush < flushPeriod) {
+            return false;
+        }
+
+        lastFlush = now;
+        flushed = true;
+
+        int sent = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).send()) {
+                sent++;
+            }
+        }
+
+        valuesSent += sent;
+        valuesSuppressed += entries.size() - sent;
+
+        // Send the whole batch now instead of at the network tables update rate
+        if (sent > 0) {
+            instance.flush();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of values sent
+     * 
+     * @return The value count
+     */
+    public long getValuesSent() {
+        return valuesSent;
+    }
+
+    /**
+     * Returns the number of values not sent because they did not change
+     * 
+     * @return The value count
+     */
+    public long getValuesSuppressed() {
+        return valuesSuppressed;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * This class is one value on the {@link Dashboard}. Setting a value only
+ * stores it, the dashboard sends it on its next flush if it changed.
+ * 
+ * @author Caleb Heydon
+ */
+
+public abstract class DashboardEntry {
+    // Entry handle, looked up once
+    protected final NetworkTableEntry entry;
+
+    /**
+     * Creates an entry
+     * 
+     * @param entry The network table entry
+     */
+    DashboardEntry(NetworkTableEntry entry) {
+        this.entry = entry;
+    }
+
+    /**
+     * Sends the value if it changed since it was last sent
+     * 
+     * @return True if the value was sent
+     */
+    abstract boolean send();
+}
@@ -0,0 +1,58 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * This class is a number on the dashboard. The number is only sent when it
+ * moved more than the threshold from the last value sent.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class NumberEntry extends DashboardEntry {
+    // Smallest change that is sent
+    private final double threshold;
+
+    // Newest value and the last value sent
+    private double value = 0;
+    private double sent = Double.NaN;
+
+    /**
+     * Creates an entry
+     * 
+     * @param entry     The network table entry
+     * @param threshold The smallest change that is sent
+     */
+    NumberEntry(NetworkTableEntry entry, double threshold) {
+        super(entry);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Sets the value
+     * 
+     * @param value The value
+     */
+    public void set(double value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean send() {
+        // Always send the first value
+        if (!Double.isNaN(sent) && !(Math.abs(value - sent) > threshold)) {
+            return false;
+        }
+
+        entry.setDouble(value);
+        sent = value;
+
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * This class is a string on the dashboard. The value is only sent when it
+ * changes.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class StringEntry extends DashboardEntry {
+    // Newest value and the last value sent
+    private String value = "";
+    private String sent = null;
+
+    /**
+     * Creates an entry
+     * 
+     * @param entry The network table entry
+     */
+    StringEntry(NetworkTableEntry entry) {
+        super(entry);
+    }
+
+    /**
+     * Sets the value. Constant strings such as enum names cost nothing to set.
+     * 
+     * @param value The value
+     */
+    public void set(String value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean send() {
+        if (value.equals(sent)) {
+            return false;
+        }
+
+        entry.setString(value);
+        sent = value;
+
+        return true;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * This class sits in front of a motor and only passes on writes that change
+ * something, which keeps repeated frames off of the CAN bus
+ * 
+ * @author Caleb Heydon
+ */
+
+public class CachedMotorOutput implements MotorOutput {
+    // Define default setpoint tolerance
+    public static final double DEFAULT_TOLERANCE = 0.001;
+
+    // Wrapped motor
+    private final MotorOutput output;
+
+    // Setpoint changes smaller than this are not sent
+    private final double tolerance;
+
+    // Last values sent, null if unknown
+    private ControlMode lastMode = null;
+    private double lastValue = 0;
+    private NeutralMode lastNeutralMode = null;
+    private Boolean lastInverted = null;
+
+    // Frame counters
+    private long framesSent = 0;
+    private long framesSuppressed = 0;
+
+    /**
+     * Creates a cached output with the default tolerance
+     * 
+     * @param output The motor to write to
+     */
+    public CachedMotorOutput(MotorOutput output) {
+        this(output, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates a cached output
+     * 
+     * @param output    The motor to write to
+     * @param tolerance The smallest setpoint change that is sent
+     */
+    public CachedMotorOutput(MotorOutput output, double tolerance) {
+        this.output = output;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the wrapped motor
+     * 
+     * @return The motor
+     */
+    public MotorOutput getOutput() {
+        return output;
+    }
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        // Always send a change to exactly zero so the motor really stops
+        if (mode == lastMode && Math.abs(value - lastValue) <= tolerance && (value != 0 || lastValue == 0)) {
+            framesSuppressed++;
+            return;
+        }
+
+        output.set(mode, value);
+        lastMode = mode;
+        lastValue = value;
+        framesSent++;
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        if (mode == lastNeutralMode) {
+            framesSuppressed++;
+            return;
+        }
+
+        output.setNeutralMode(mode);
+        lastNeutralMode = mode;
+        framesSent++;
+    }
+
+    @Override
+    public void setInverted(boolean inverted) {
+        if (lastInverted != null && lastInverted == inverted) {
+            framesSuppressed++;
+            return;
+        }
+
+        output.setInverted(inverted);
+        lastInverted = inverted;
+        framesSent++;
+    }
+
+    /**
+     * Forgets the cached values so the next writes are always sent. This should be
+     * called if the motor controller may have reset.
+     */
+    public void invalidate() {
+        lastMode = null;
+        lastNeutralMode = null;
+        lastInverted = null;
+    }
+
+    /**
+     * Returns the number of frames passed on to the motor
+     * 
+     * @return The frame count
+     */
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * Returns the number of frames that were not sent because nothing changed
+     * 
+     * @return The frame count
+     */
+    public long getFramesSuppressed() {
+        return framesSuppressed;
+    }
+}
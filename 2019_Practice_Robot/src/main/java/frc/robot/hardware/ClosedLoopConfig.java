@@ -0,0 +1,121 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This class holds the gains and motion magic limits for a closed loop run on
+ * the motor controller. Units are the ones the Talon SRX uses: gains are in
+ * output (1023 is full) per encoder tick of error and velocities are in ticks
+ * per 100 ms. The encoder must count up when the motor output is positive.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class ClosedLoopConfig {
+    // Gains
+    private final double kP;
+    private final double kI;
+    private final double kD;
+    private final double kF;
+
+    // Motion magic limits
+    private final int cruiseVelocity;
+    private final int acceleration;
+
+    // Error that counts as on target
+    private final int allowableError;
+
+    /**
+     * Creates a closed loop config
+     * 
+     * @param kP             The proportional gain
+     * @param kI             The integral gain
+     * @param kD             The derivative gain
+     * @param kF             The feed forward gain
+     * @param cruiseVelocity The motion magic cruise velocity in ticks per 100 ms
+     * @param acceleration   The motion magic acceleration in ticks per 100 ms per
+     *                       second
+     * @param allowableError The error in ticks that counts as on target
+     */
+    public ClosedLoopConfig(double kP, double kI, double kD, double kF, int cruiseVelocity, int acceleration,
+            int allowableError) {
+        if (cruiseVelocity <= 0 || acceleration <= 0) {
+            throw new IllegalArgumentException("Cruise velocity and acceleration must be positive");
+        }
+
+        this.kP = kP;
+        this.kI = kI;
+        this.kD = kD;
+        this.kF = kF;
+        this.cruiseVelocity = cruiseVelocity;
+        this.acceleration = acceleration;
+        this.allowableError = allowableError;
+    }
+
+    /**
+     * Returns the proportional gain
+     * 
+     * @return The gain
+     */
+    public double getP() {
+        return kP;
+    }
+
+    /**
+     * Returns the integral gain
+     * 
+     * @return The gain
+     */
+    public double getI() {
+        return kI;
+    }
+
+    /**
+     * Returns the derivative gain
+     * 
+     * @return The gain
+     */
+    public double getD() {
+        return kD;
+    }
+
+    /**
+     * Returns the feed forward gain
+     * 
+     * @return The gain
+     */
+    public double getF() {
+        return kF;
+    }
+
+    /**
+     * Returns the motion magic cruise velocity
+     * 
+     * @return The velocity in ticks per 100 ms
+     */
+    public int getCruiseVelocity() {
+        return cruiseVelocity;
+    }
+
+    /**
+     * Returns the motion magic acceleration
+     * 
+     * @return The acceleration in ticks per 100 ms per second
+     */
+    public int getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * Returns the error that counts as on target
+     * 
+     * @return The error in ticks
+     */
+    public int getAllowableError() {
+        return allowableError;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This interface is implemented by motor controllers that run their own
+ * control: following another controller and closed loops on an attached
+ * sensor
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface ClosedLoopOutput extends MotorOutput {
+    /**
+     * Makes this motor copy the output of another motor
+     * 
+     * @param master The motor to follow
+     */
+    void follow(ClosedLoopOutput master);
+
+    /**
+     * Sets up the closed loop used by the position and motion magic control modes
+     * 
+     * @param config The gains and limits
+     */
+    void configClosedLoop(ClosedLoopConfig config);
+}
@@ -0,0 +1,36 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This interface is implemented by everything that can read an encoder
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface EncoderInput {
+    /**
+     * Returns the encoder position
+     * 
+     * @return The position in encoder ticks
+     */
+    int getPosition();
+
+    /**
+     * Returns the encoder velocity
+     * 
+     * @return The velocity in encoder ticks per 100 ms
+     */
+    int getVelocity();
+
+    /**
+     * Sets the encoder position
+     * 
+     * @param position The position in encoder ticks
+     */
+    void setPosition(int position);
+}
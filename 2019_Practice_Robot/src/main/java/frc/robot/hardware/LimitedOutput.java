@@ -0,0 +1,30 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This interface is implemented by motor controllers that can compensate for
+ * the battery voltage and limit their current
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface LimitedOutput extends MotorOutput {
+    /**
+     * Sets up the voltage compensation and current limits
+     * 
+     * @param config The saturation voltage and current limits
+     */
+    void configOutputLimits(OutputLimitConfig config);
+
+    /**
+     * Turns the voltage compensation and current limits on or off
+     * 
+     * @param enabled True to limit the output
+     */
+    void enableOutputLimits(boolean enabled);
+}
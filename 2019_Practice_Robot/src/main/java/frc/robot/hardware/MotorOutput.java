@@ -0,0 +1,40 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * This interface is implemented by everything that can drive a motor
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface MotorOutput {
+    /**
+     * Sets the output of the motor
+     * 
+     * @param mode  The control mode
+     * @param value The output in the units of the control mode
+     */
+    void set(ControlMode mode, double value);
+
+    /**
+     * Sets what the motor does when the output is neutral
+     * 
+     * @param mode The neutral mode
+     */
+    void setNeutralMode(NeutralMode mode);
+
+    /**
+     * Inverts the motor output
+     * 
+     * @param inverted True to invert the output
+     */
+    void setInverted(boolean inverted);
+}
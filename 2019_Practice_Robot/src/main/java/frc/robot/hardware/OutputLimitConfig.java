@@ -0,0 +1,95 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This class holds the voltage compensation and current limits run on the
+ * motor controller. With voltage compensation a percent output is a fraction
+ * of the saturation voltage instead of the battery voltage, so the same output
+ * moves the robot the same amount as the battery sags. Once the current goes
+ * over the peak current for longer than the peak duration, the output is cut
+ * back to the continuous current so the drive can not brown out the robot.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class OutputLimitConfig {
+    // Voltage full output is scaled to
+    private final double voltage;
+
+    // Current limits in amps
+    private final int continuousCurrent;
+    private final int peakCurrent;
+
+    // Time the peak current is allowed for in milliseconds
+    private final int peakDuration;
+
+    /**
+     * Creates an output limit config
+     * 
+     * @param voltage           The voltage full output is scaled to
+     * @param continuousCurrent The current allowed once the peak duration is over
+     *                          in amps
+     * @param peakCurrent       The current that starts the limit in amps
+     * @param peakDuration      The time the peak current is allowed for in
+     *                          milliseconds
+     */
+    public OutputLimitConfig(double voltage, int continuousCurrent, int peakCurrent, int peakDuration) {
+        if (voltage <= 0) {
+            throw new IllegalArgumentException("Voltage must be positive");
+        }
+
+        if (continuousCurrent <= 0 || peakCurrent < continuousCurrent) {
+            throw new IllegalArgumentException("Continuous current must be positive and at most the peak current");
+        }
+
+        if (peakDuration < 0) {
+            throw new IllegalArgumentException("Peak duration can not be negative");
+        }
+
+        this.voltage = voltage;
+        this.continuousCurrent = continuousCurrent;
+        this.peakCurrent = peakCurrent;
+        this.peakDuration = peakDuration;
+    }
+
+    /**
+     * Returns the voltage full output is scaled to
+     * 
+     * @return The voltage
+     */
+    public double getVoltage() {
+        return voltage;
+    }
+
+    /**
+     * Returns the current allowed once the peak duration is over
+     * 
+     * @return The current in amps
+     */
+    public int getContinuousCurrent() {
+        return continuousCurrent;
+    }
+
+    /**
+     * Returns the current that starts the limit
+     * 
+     * @return The current in amps
+     */
+    public int getPeakCurrent() {
+        return peakCurrent;
+    }
+
+    /**
+     * Returns the time the peak current is allowed for
+     * 
+     * @return The time in milliseconds
+     */
+    public int getPeakDuration() {
+        return peakDuration;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import edu.wpi.first.wpilibj.Talon;
+
+/**
+ * This class drives a PWM Talon. Only percent output is supported.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class PWMTalonOutput implements MotorOutput {
+    // Talon device
+    private final Talon talon;
+
+    /**
+     * Creates a PWM Talon output
+     * 
+     * @param channel The PWM channel
+     */
+    public PWMTalonOutput(int channel) {
+        talon = new Talon(channel);
+    }
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        if (mode != ControlMode.PercentOutput) {
+            throw new IllegalArgumentException("A PWM Talon only supports percent output");
+        }
+
+        talon.set(value);
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        // The neutral mode is set with the jumper on the talon
+    }
+
+    @Override
+    public void setInverted(boolean inverted) {
+        talon.setInverted(inverted);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This interface is implemented by motor controllers that can run a buffered
+ * motion profile. Points are pushed into a top buffer and moved into the
+ * controller by {@link #processProfileBuffer()}. The profile is started,
+ * held and stopped by setting the MotionProfile control mode to 1, 2 and 0.
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface ProfileOutput {
+    /**
+     * Sets up the controller to run profiles. This is called once before the first
+     * profile and may wait for the controller.
+     */
+    void configProfile();
+
+    /**
+     * Clears every buffered point and the underrun flag
+     */
+    void clearProfile();
+
+    /**
+     * Adds a point to the end of the top buffer
+     * 
+     * @param position The position in encoder ticks
+     * @param velocity The velocity in ticks per 100 ms
+     * @param duration The time the point lasts in milliseconds
+     * @param last     True if this is the last point of the profile
+     */
+    void pushProfilePoint(double position, double velocity, int duration, boolean last);
+
+    /**
+     * Moves points from the top buffer into the controller. This should be called
+     * at least twice per point period.
+     */
+    void processProfileBuffer();
+
+    /**
+     * Returns the number of points that still fit in the top buffer
+     * 
+     * @return The point count
+     */
+    int getProfileSpace();
+
+    /**
+     * Returns the number of points the controller has ready to run
+     * 
+     * @return The point count
+     */
+    int getProfileBuffered();
+
+    /**
+     * Returns true if the controller reached the last point of the profile
+     * 
+     * @return True if finished
+     */
+    boolean isProfileFinished();
+
+    /**
+     * Returns true if the controller ran out of points before the last one
+     * 
+     * @return True if the profile underran
+     */
+    boolean hasProfileUnderrun();
+}
@@ -0,0 +1,408 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * This class is an in-memory motor with an attached encoder. The encoder moves
+ * at a speed proportional to the output each time {@link #update(double)} is
+ * called, so the robot code can run without any hardware. The encoder counts up
+ * for a positive demand like a talon with its sensor phase set. Position mode
+ * runs a proportional loop and motion magic follows a trapezoidal profile
+ * exactly. The current is estimated from the voltage and the back emf, it is
+ * reported but never limited.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class SimulatedMotor implements ClosedLoopOutput, LimitedOutput, EncoderInput, ProfileOutput, StatusInput {
+    // Define default encoder ticks per second at full output
+    public static final double DEFAULT_FREE_SPEED = 4096;
+
+    // Define number of motion profile points that can be buffered
+    public static final int PROFILE_BUFFER_SIZE = 2048;
+
+    // Define battery voltage the free speed is reached at and current at stall
+    public static final double NOMINAL_VOLTAGE = 12;
+    public static final double STALL_CURRENT = 131;
+
+    // Encoder ticks per second at full output
+    private final double freeSpeed;
+
+    // Fraction of the free speed reached at full output, lower with a low battery
+    private double voltageScale = 1;
+
+    // Time the motor takes to reach 63% of a speed change in seconds, 0 for
+    // instant
+    private double timeConstant = 0;
+
+    // Motor state
+    private ControlMode mode = ControlMode.PercentOutput;
+    private double value = 0;
+    private NeutralMode neutralMode = NeutralMode.EEPROMSetting;
+    private boolean inverted = false;
+    private SimulatedMotor master;
+
+    // Closed loop state
+    private ClosedLoopConfig closedLoop;
+    private double closedLoopDemand = 0;
+
+    // Voltage compensation, only used while the output limits are enabled
+    private OutputLimitConfig outputLimits;
+    private boolean outputLimited = false;
+
+    // Motion profile buffer, the head is the point being run
+    private final double[] profilePositions = new double[PROFILE_BUFFER_SIZE];
+    private final double[] profileVelocities = new double[PROFILE_BUFFER_SIZE];
+    private final int[] profileDurations = new int[PROFILE_BUFFER_SIZE];
+    private final boolean[] profileLast = new boolean[PROFILE_BUFFER_SIZE];
+    private int profileHead = 0;
+    private int profileCount = 0;
+    private double profileTime = 0;
+    private boolean profileFinished = false;
+    private boolean profileUnderrun = false;
+
+    // Encoder state
+    private double position = 0;
+    private double velocity = 0;
+
+    /**
+     * Creates a simulated motor with the default free speed
+     */
+    public SimulatedMotor() {
+        this(DEFAULT_FREE_SPEED);
+    }
+
+    /**
+     * Creates a simulated motor
+     * 
+     * @param freeSpeed The encoder ticks per second at full output
+     */
+    public SimulatedMotor(double freeSpeed) {
+        this.freeSpeed = freeSpeed;
+    }
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        this.mode = mode;
+        this.value = value;
+
+        if (mode != ControlMode.Follower) {
+            master = null;
+        }
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        neutralMode = mode;
+    }
+
+    @Override
+    public void setInverted(boolean inverted) {
+        this.inverted = inverted;
+    }
+
+    @Override
+    public void follow(ClosedLoopOutput master) {
+        if (!(master instanceof SimulatedMotor)) {
+            throw new IllegalArgumentException("A simulated motor can only follow another simulated motor");
+        }
+
+        this.master = (SimulatedMotor) master;
+        mode = ControlMode.Follower;
+    }
+
+    @Override
+    public void configClosedLoop(ClosedLoopConfig config) {
+        closedLoop = config;
+    }
+
+    @Override
+    public void configOutputLimits(OutputLimitConfig config) {
+        outputLimits = config;
+    }
+
+    @Override
+    public void enableOutputLimits(boolean enabled) {
+        outputLimited = enabled;
+    }
+
+    @Override
+    public void configProfile() {
+        // Points always carry their own duration
+    }
+
+    @Override
+    public void clearProfile() {
+        profileHead = 0;
+        profileCount = 0;
+        profileTime = 0;
+        profileFinished = false;
+        profileUnderrun = false;
+    }
+
+    @Override
+    public void pushProfilePoint(double position, double velocity, int duration, boolean last) {
+        if (profileCount == PROFILE_BUFFER_SIZE) {
+            throw new IllegalStateException("Motion profile buffer is full");
+        }
+
+        int index = (profileHead + profileCount) % PROFILE_BUFFER_SIZE;
+
+        profilePositions[index] = position;
+        profileVelocities[index] = velocity;
+        profileDurations[index] = duration;
+        profileLast[index] = last;
+        profileCount++;
+    }
+
+    @Override
+    public void processProfileBuffer() {
+        // Points are run straight from the buffer
+    }
+
+    @Override
+    public int getProfileSpace() {
+        return PROFILE_BUFFER_SIZE - profileCount;
+    }
+
+    @Override
+    public int getProfileBuffered() {
+        return profileCount;
+    }
+
+    @Override
+    public boolean isProfileFinished() {
+        return profileFinished;
+    }
+
+    @Override
+    public boolean hasProfileUnderrun() {
+        return profileUnderrun;
+    }
+
+    /**
+     * Returns the output of the motor after inversion and following
+     * 
+     * @return The output from -1 to 1
+     */
+    public double getOutput() {
+        // Followers copy the demand of the master and apply their own inversion
+        double output = (master != null) ? master.getDemand() : getDemand();
+
+        return inverted ? -output : output;
+    }
+
+    /**
+     * Returns the demand before inversion
+     * 
+     * @return The demand from -1 to 1
+     */
+    protected double getDemand() {
+        switch (mode) {
+        case PercentOutput:
+            return Math.max(-1, Math.min(1, value));
+        case Position:
+        case MotionMagic:
+        case MotionProfile:
+            return closedLoopDemand;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Sets the fraction of the free speed reached at full output
+     * 
+     * @param voltageScale The fraction, 1 for a full battery
+     */
+    public void setVoltageScale(double voltageScale) {
+        this.voltageScale = voltageScale;
+    }
+
+    /**
+     * Returns the fraction of the free speed reached at full output. With voltage
+     * compensation full output is the saturation voltage, as long as the battery
+     * can still reach it.
+     * 
+     * @return The fraction
+     */
+    private double getOutputScale() {
+        if (!outputLimited || outputLimits == null) {
+            return voltageScale;
+        }
+
+        return Math.min(outputLimits.getVoltage() / NOMINAL_VOLTAGE, voltageScale);
+    }
+
+    /**
+     * Sets how quickly the motor speeds up and slows down
+     * 
+     * @param timeConstant The time to reach 63% of a speed change in seconds, 0
+     *                     for instant
+     */
+    public void setTimeConstant(double timeConstant) {
+        this.timeConstant = timeConstant;
+    }
+
+    /**
+     * Returns the last control mode
+     * 
+     * @return The control mode
+     */
+    public ControlMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the neutral mode
+     * 
+     * @return The neutral mode
+     */
+    public NeutralMode getNeutralMode() {
+        return neutralMode;
+    }
+
+    /**
+     * Moves the encoder for a period of time at the current output
+     * 
+     * @param seconds The time step
+     */
+    public void update(double seconds) {
+        if (closedLoop == null || master != null) {
+            closedLoopDemand = 0;
+        } else if (mode == ControlMode.Position) {
+            closedLoopDemand = Math.max(-1, Math.min(1, closedLoop.getP() * (value - position) / 1023));
+        } else if (mode == ControlMode.MotionMagic) {
+            updateMotionMagic(seconds);
+            return;
+        } else if (mode == ControlMode.MotionProfile) {
+            updateMotionProfile(seconds);
+            return;
+        }
+
+        // The sensor is in phase with the demand, before inversion
+        double targetVelocity = ((master != null) ? master.getDemand() : getDemand()) * freeSpeed * getOutputScale();
+
+        if (timeConstant > 0) {
+            velocity += (targetVelocity - velocity) * (1 - Math.exp(-seconds / timeConstant));
+        } else {
+            velocity = targetVelocity;
+        }
+
+        position += velocity * seconds;
+    }
+
+    /**
+     * Moves the encoder along the buffered motion profile points. The profile runs
+     * when the output is 1 and holds its position when it is 2.
+     * 
+     * @param seconds The time step
+     */
+    private void updateMotionProfile(double seconds) {
+        velocity = 0;
+
+        if (value == 1 && profileCount > 0 && !profileFinished) {
+            profileTime += seconds * 1000;
+
+            // Move to the point that is running now
+            while (profileTime >= profileDurations[profileHead] && !profileLast[profileHead]) {
+                if (profileCount == 1) {
+                    // Out of points before the last one
+                    profileUnderrun = true;
+                    break;
+                }
+
+                profileTime -= profileDurations[profileHead];
+                profileHead = (profileHead + 1) % PROFILE_BUFFER_SIZE;
+                profileCount--;
+            }
+
+            if (profileLast[profileHead] && profileTime >= profileDurations[profileHead]) {
+                profileFinished = true;
+            } else {
+                // Talon velocities are per 100 ms
+                velocity = profileVelocities[profileHead] * 10;
+            }
+
+            position = profilePositions[profileHead];
+        }
+
+        closedLoopDemand = Math.max(-1, Math.min(1, velocity / freeSpeed));
+    }
+
+    /**
+     * Moves the encoder along a trapezoidal profile to the motion magic target
+     * 
+     * @param seconds The time step
+     */
+    private void updateMotionMagic(double seconds) {
+        double error = value - position;
+
+        // Talon velocities are per 100 ms
+        double cruiseVelocity = Math.min(closedLoop.getCruiseVelocity() * 10, freeSpeed * getOutputScale());
+        double acceleration = closedLoop.getAcceleration() * 10;
+
+        // Fastest speed that can still stop at the target
+        double targetVelocity = Math.signum(error)
+                * Math.min(cruiseVelocity, Math.sqrt(2 * acceleration * Math.abs(error)));
+
+        double step = acceleration * seconds;
+        velocity += Math.max(-step, Math.min(step, targetVelocity - velocity));
+
+        if (Math.abs(velocity * seconds) >= Math.abs(error) && Math.signum(velocity) == Math.signum(error)) {
+            // Stop on the target instead of overshooting it
+            position = value;
+            velocity = 0;
+        } else {
+            position += velocity * seconds;
+        }
+
+        closedLoopDemand = velocity / freeSpeed;
+    }
+
+    @Override
+    public int getPosition() {
+        return (int) position;
+    }
+
+    @Override
+    public int getVelocity() {
+        // Talons report velocity per 100 ms
+        return (int) (velocity / 10);
+    }
+
+    @Override
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @Override
+    public double getBusVoltage() {
+        return NOMINAL_VOLTAGE * voltageScale;
+    }
+
+    @Override
+    public double getOutputCurrent() {
+        double demand = (master != null) ? master.getDemand() : getDemand();
+
+        // Current follows the voltage left over after the back emf
+        return Math.abs(demand * getOutputScale() - velocity / freeSpeed) * STALL_CURRENT;
+    }
+
+    @Override
+    public void configStatusPeriod(int period) {
+        // Values are always current
+    }
+
+    @Override
+    public boolean hasResetOccurred() {
+        return false;
+    }
+}
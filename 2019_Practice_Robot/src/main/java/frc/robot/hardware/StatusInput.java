@@ -0,0 +1,45 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+/**
+ * This interface is implemented by motor controllers that report the battery
+ * voltage and their output current
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface StatusInput {
+    /**
+     * Returns the battery voltage seen by the motor controller
+     * 
+     * @return The voltage
+     */
+    double getBusVoltage();
+
+    /**
+     * Returns the current drawn by the motor controller
+     * 
+     * @return The current in amps
+     */
+    double getOutputCurrent();
+
+    /**
+     * Sets how often the motor controller sends the battery voltage
+     * 
+     * @param period The period in milliseconds
+     */
+    void configStatusPeriod(int period);
+
+    /**
+     * Returns true once after the motor controller restarted and lost its
+     * settings. It is also true once after power on.
+     * 
+     * @return True if the controller restarted since the last call
+     */
+    boolean hasResetOccurred();
+}
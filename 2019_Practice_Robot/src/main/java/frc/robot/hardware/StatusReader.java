@@ -0,0 +1,159 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import frc.robot.util.RobotClock;
+
+/**
+ * This class reads the battery voltage and the motor currents of a group of
+ * motor controllers in one pass and caches them until the next pass. The
+ * controllers only send new values every few milliseconds, so reading them
+ * more often than that only costs calls into the CAN driver. The voltage is
+ * read from the first controller since every controller is on the same
+ * battery. Only the thread that calls {@link #update(long)} may read the
+ * values.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class StatusReader {
+    // Controllers read each pass
+    private final StatusInput[] inputs;
+
+    // Time between passes in milliseconds and microseconds
+    private final int periodMillis;
+    private final long period;
+
+    // Cached values
+    private final double[] currents;
+    private double busVoltage = 0;
+    private double totalCurrent = 0;
+
+    // Time of the last pass in microseconds
+    private long lastRead = 0;
+    private long reads = 0;
+
+    // True if a controller restarted since the last check
+    private boolean reset = false;
+
+    /**
+     * Creates a status reader and sets the controllers to send the voltage as
+     * often as it is read. The controllers must be set up before this, a restart
+     * before now is not reported.
+     * 
+     * @param period The time between passes in milliseconds
+     * @param inputs The controllers
+     */
+    public StatusReader(int period, StatusInput... inputs) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("At least one controller is needed");
+        }
+
+        this.inputs = inputs.clone();
+        periodMillis = period;
+        this.period = RobotClock.fromMillis(period);
+        currents = new double[inputs.length];
+
+        // Clear the power on flags
+        for (StatusInput input : inputs) {
+            input.hasResetOccurred();
+        }
+
+        configure();
+    }
+
+    /**
+     * Sets the first controller to send the voltage as often as it is read. This
+     * must be called again after the controller restarted.
+     */
+    public void configure() {
+        inputs[0].configStatusPeriod(periodMillis);
+    }
+
+    /**
+     * Reads every controller if a period has passed since the last pass
+     * 
+     * @param time The robot clock time in microseconds
+     * @return True if the values were read
+     */
+    public boolean update(long time) {
+        if (reads > 0 && time - lastRead < period) {
+            return false;
+        }
+
+        busVoltage = inputs[0].getBusVoltage();
+
+        double total = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            currents[i] = inputs[i].getOutputCurrent();
+            total += currents[i];
+
+            if (inputs[i].hasResetOccurred()) {
+                reset = true;
+            }
+        }
+
+        totalCurrent = total;
+        lastRead = time;
+        reads++;
+
+        return true;
+    }
+
+    /**
+     * Returns the battery voltage from the last pass
+     * 
+     * @return The voltage
+     */
+    public double getBusVoltage() {
+        return busVoltage;
+    }
+
+    /**
+     * Returns the current of one controller from the last pass
+     * 
+     * @param index The index of the controller in the order it was given
+     * @return The current in amps
+     */
+    public double getCurrent(int index) {
+        return currents[index];
+    }
+
+    /**
+     * Returns the current of every controller added up from the last pass
+     * 
+     * @return The current in amps
+     */
+    public double getTotalCurrent() {
+        return totalCurrent;
+    }
+
+    /**
+     * Returns true once if a controller restarted since the last call, it lost
+     * its settings
+     * 
+     * @return True if a controller restarted
+     */
+    public boolean checkReset() {
+        boolean restarted = reset;
+        reset = false;
+        return restarted;
+    }
+
+    /**
+     * Returns the number of passes made
+     * 
+     * @return The pass count
+     */
+    public long getReads() {
+        return reads;
+    }
+}
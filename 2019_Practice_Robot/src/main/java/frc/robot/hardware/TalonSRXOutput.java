@@ -0,0 +1,199 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+/**
+ * This class drives a CAN Talon SRX, reads its selected sensor and status and
+ * streams motion profiles to it
+ * 
+ * @author Caleb Heydon
+ */
+
+public class TalonSRXOutput implements ClosedLoopOutput, LimitedOutput, EncoderInput, ProfileOutput, StatusInput {
+    // Define closed loop slot and config timeout
+    public static final int SLOT = 0;
+    public static final int CONFIG_TIMEOUT = 10;
+
+    // Talon device
+    private final TalonSRX talon;
+
+    // Reused so streaming a profile does not allocate
+    private final TrajectoryPoint point = new TrajectoryPoint();
+    private final MotionProfileStatus status = new MotionProfileStatus();
+
+    /**
+     * Creates a Talon SRX output
+     * 
+     * @param deviceNumber The CAN id of the talon
+     */
+    public TalonSRXOutput(int deviceNumber) {
+        talon = new TalonSRX(deviceNumber);
+    }
+
+    /**
+     * Returns the talon device
+     * 
+     * @return The talon
+     */
+    public TalonSRX getTalon() {
+        return talon;
+    }
+
+    /**
+     * Selects a quadrature encoder as the feedback sensor
+     */
+    public void configQuadEncoder() {
+        talon.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder);
+    }
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        talon.set(mode, value);
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        talon.setNeutralMode(mode);
+    }
+
+    @Override
+    public void setInverted(boolean inverted) {
+        talon.setInverted(inverted);
+    }
+
+    @Override
+    public void follow(ClosedLoopOutput master) {
+        if (!(master instanceof TalonSRXOutput)) {
+            throw new IllegalArgumentException("A Talon SRX can only follow another Talon SRX");
+        }
+
+        talon.follow(((TalonSRXOutput) master).getTalon());
+    }
+
+    @Override
+    public void configClosedLoop(ClosedLoopConfig config) {
+        talon.config_kP(SLOT, config.getP(), CONFIG_TIMEOUT);
+        talon.config_kI(SLOT, config.getI(), CONFIG_TIMEOUT);
+        talon.config_kD(SLOT, config.getD(), CONFIG_TIMEOUT);
+        talon.config_kF(SLOT, config.getF(), CONFIG_TIMEOUT);
+        talon.configAllowableClosedloopError(SLOT, config.getAllowableError(), CONFIG_TIMEOUT);
+        talon.configMotionCruiseVelocity(config.getCruiseVelocity(), CONFIG_TIMEOUT);
+        talon.configMotionAcceleration(config.getAcceleration(), CONFIG_TIMEOUT);
+    }
+
+    @Override
+    public void configOutputLimits(OutputLimitConfig config) {
+        talon.configVoltageCompSaturation(config.getVoltage(), CONFIG_TIMEOUT);
+        talon.configContinuousCurrentLimit(config.getContinuousCurrent(), CONFIG_TIMEOUT);
+        talon.configPeakCurrentLimit(config.getPeakCurrent(), CONFIG_TIMEOUT);
+        talon.configPeakCurrentDuration(config.getPeakDuration(), CONFIG_TIMEOUT);
+    }
+
+    @Override
+    public void enableOutputLimits(boolean enabled) {
+        talon.enableVoltageCompensation(enabled);
+        talon.enableCurrentLimit(enabled);
+    }
+
+    @Override
+    public void configProfile() {
+        // Each point carries its own duration
+        talon.configMotionProfileTrajectoryPeriod(0, CONFIG_TIMEOUT);
+    }
+
+    @Override
+    public void clearProfile() {
+        // Profiles are started on the robot loop, so nothing here waits for the talon
+        talon.clearMotionProfileTrajectories();
+        talon.clearMotionProfileHasUnderrun(0);
+    }
+
+    @Override
+    public void pushProfilePoint(double position, double velocity, int duration, boolean last) {
+        point.position = position;
+        point.velocity = velocity;
+        point.timeDur = duration;
+        point.profileSlotSelect0 = SLOT;
+        point.zeroPos = false;
+        point.isLastPoint = last;
+
+        talon.pushMotionProfileTrajectory(point);
+    }
+
+    @Override
+    public void processProfileBuffer() {
+        talon.processMotionProfileBuffer();
+    }
+
+    @Override
+    public int getProfileSpace() {
+        talon.getMotionProfileStatus(status);
+        return status.topBufferRem;
+    }
+
+    @Override
+    public int getProfileBuffered() {
+        talon.getMotionProfileStatus(status);
+        return status.btmBufferCnt;
+    }
+
+    @Override
+    public boolean isProfileFinished() {
+        talon.getMotionProfileStatus(status);
+        return status.activePointValid && status.isLast;
+    }
+
+    @Override
+    public boolean hasProfileUnderrun() {
+        talon.getMotionProfileStatus(status);
+        return status.hasUnderrun;
+    }
+
+    @Override
+    public int getPosition() {
+        return talon.getSelectedSensorPosition();
+    }
+
+    @Override
+    public int getVelocity() {
+        return talon.getSelectedSensorVelocity();
+    }
+
+    @Override
+    public void setPosition(int position) {
+        talon.setSelectedSensorPosition(position);
+    }
+
+    @Override
+    public double getBusVoltage() {
+        return talon.getBusVoltage();
+    }
+
+    @Override
+    public double getOutputCurrent() {
+        return talon.getOutputCurrent();
+    }
+
+    @Override
+    public void configStatusPeriod(int period) {
+        // The current comes with the sensor frame, only the voltage frame is slow
+        talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, period, CONFIG_TIMEOUT);
+    }
+
+    @Override
+    public boolean hasResetOccurred() {
+        return talon.hasResetOccurred();
+    }
+}
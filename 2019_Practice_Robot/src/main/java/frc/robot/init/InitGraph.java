@@ -0,0 +1,296 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.init;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import frc.robot.util.Log;
+
+/**
+ * This class runs the startup steps of the robot. Each step names the steps it
+ * needs, steps that do not need each other run at the same time. Deferred
+ * steps run in the background after the rest are done so they do not hold up
+ * the robot being ready. A timeline of every step is logged.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class InitGraph {
+    // Define default number of init threads, most steps wait on CAN or files
+    public static final int DEFAULT_THREADS = 3;
+
+    // Steps in the order they were added
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    // Number of init threads
+    private final int threads;
+
+    // Time the graph started in nanoseconds
+    private long startTime;
+
+    /**
+     * Creates a graph with the default number of threads
+     */
+    public InitGraph() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates a graph
+     * 
+     * @param threads The number of steps that can run at the same time
+     */
+    public InitGraph(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Init graph needs at least one thread");
+        }
+
+        this.threads = threads;
+    }
+
+    /**
+     * Adds a step the robot needs before it is ready. Dependencies must be added
+     * first, so the graph can not have cycles.
+     * 
+     * @param name         The name of the step
+     * @param init         The step
+     * @param dependencies The names of the steps that must finish first
+     * @return The graph
+     */
+    public InitGraph add(String name, Runnable init, String... dependencies) {
+        return add(name, init, false, dependencies);
+    }
+
+    /**
+     * Adds a step that runs in the background once the robot is ready
+     * 
+     * @param name         The name of the step
+     * @param init         The step
+     * @param dependencies The names of the steps that must finish first
+     * @return The graph
+     */
+    public InitGraph addDeferred(String name, Runnable init, String... dependencies) {
+        return add(name, init, true, dependencies);
+    }
+
+    /**
+     * Adds a step
+     * 
+     * @param name         The name of the step
+     * @param init         The step
+     * @param deferred     True if the step runs after the robot is ready
+     * @param dependencies The names of the steps that must finish first
+     * @return The graph
+     */
+    private InitGraph add(String name, Runnable init, boolean deferred, String[] dependencies) {
+        if (steps.containsKey(name)) {
+            throw new IllegalArgumentException("Init step " + name + " was already added");
+        }
+
+        List<Step> needs = new ArrayList<>();
+
+        for (String dependency : dependencies) {
+            Step step = steps.get(dependency);
+
+            if (step == null) {
+                throw new IllegalArgumentException("Init step " + name + " needs " + dependency
+                        + ", which must be added first");
+            }
+
+            if (step.deferred && !deferred) {
+                throw new IllegalArgumentException("Init step " + name + " can not wait for deferred step "
+                        + dependency);
+            }
+
+            needs.add(step);
+        }
+
+        steps.put(name, new Step(name, init, deferred, needs));
+        return this;
+    }
+
+    /**
+     * Runs every step. This returns once the steps the robot needs are done,
+     * deferred steps keep running in the background.
+     * 
+     * @throws RuntimeException The exception of the first step that failed
+     */
+    public void run() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            // Declare thread
+            Thread thread = new Thread(runnable);
+
+            // Set thread properties
+            thread.setName("Init " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        startTime = System.nanoTime();
+
+        List<CompletableFuture<Void>> ready = new ArrayList<>();
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+
+        // Steps were added after their dependencies, so they can be started in order
+        for (Step step : steps.values()) {
+            CompletableFuture<?>[] needs = step.needs.stream().map(need -> need.future)
+                    .toArray(CompletableFuture<?>[]::new);
+
+            step.future = CompletableFuture.allOf(needs).thenRunAsync(step::run, executor);
+            all.add(step.future);
+
+            if (!step.deferred) {
+                ready.add(step.future);
+            }
+        }
+
+        CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).whenComplete((result, e) -> {
+            executor.shutdown();
+            logTimeline(true);
+        });
+
+        try {
+            CompletableFuture.allOf(ready.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            logTimeline(false);
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException("Init failed", e.getCause());
+        }
+
+        logTimeline(false);
+    }
+
+    /**
+     * Logs when each step ran and the chain of steps that took the longest
+     * 
+     * @param deferred True to log the deferred steps, false for the rest
+     */
+    private void logTimeline(boolean deferred) {
+        List<Step> finished = new ArrayList<>();
+
+        for (Step step : steps.values()) {
+            if (step.deferred == deferred && step.end != 0) {
+                finished.add(step);
+            }
+        }
+
+        if (finished.isEmpty()) {
+            return;
+        }
+
+        finished.sort(Comparator.comparingLong(step -> step.start));
+
+        Step last = finished.get(0);
+        boolean failed = false;
+
+        for (Step step : finished) {
+            failed |= step.failed;
+            Log.info(String.format("Init %s: %.1f to %.1f ms (%.1f ms) on %s%s", step.name, toMillis(step.start),
+                    toMillis(step.end), toMillis(step.end - step.start), step.thread,
+                    step.failed ? ", failed" : ""));
+
+            if (step.end > last.end) {
+                last = step;
+            }
+        }
+
+        // Walk back through the dependency that finished last
+        StringBuilder path = new StringBuilder(last.name);
+        for (Step step = last; !step.needs.isEmpty();) {
+            Step slowest = step.needs.get(0);
+
+            for (Step need : step.needs) {
+                if (need.end > slowest.end) {
+                    slowest = need;
+                }
+            }
+
+            path.insert(0, slowest.name + " -> ");
+            step = slowest;
+        }
+
+        Log.info(String.format("%s init %s after %.1f ms, slowest chain %s", deferred ? "Deferred" : "Robot",
+                failed ? "failed" : "done", toMillis(last.end), path));
+    }
+
+    /**
+     * Converts a time since the graph started to milliseconds
+     * 
+     * @param time The time in nanoseconds
+     * @return The time in milliseconds
+     */
+    private static double toMillis(long time) {
+        return time / 1e6;
+    }
+
+    /**
+     * This class is one startup step
+     */
+    private final class Step {
+        // Step settings
+        private final String name;
+        private final Runnable init;
+        private final boolean deferred;
+        private final List<Step> needs;
+
+        // Running step
+        private CompletableFuture<Void> future;
+
+        // Times since the graph started in nanoseconds, written by the init thread
+        private volatile long start = 0;
+        private volatile long end = 0;
+        private volatile String thread;
+        private volatile boolean failed = false;
+
+        /**
+         * Creates a step
+         * 
+         * @param name     The name of the step
+         * @param init     The step
+         * @param deferred True if the step runs after the robot is ready
+         * @param needs    The steps that must finish first
+         */
+        private Step(String name, Runnable init, boolean deferred, List<Step> needs) {
+            this.name = name;
+            this.init = init;
+            this.deferred = deferred;
+            this.needs = needs;
+        }
+
+        /**
+         * Runs the step and records when it ran
+         */
+        private void run() {
+            thread = Thread.currentThread().getName();
+            start = System.nanoTime() - startTime;
+
+            try {
+                init.run();
+            } catch (RuntimeException e) {
+                failed = true;
+                Log.error("Init step " + name + " failed: " + e);
+                throw e;
+            } finally {
+                end = System.nanoTime() - startTime;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+import java.util.ArrayList;
+import java.util.List;
+import frc.robot.util.RobotClock;
+
+/**
+ * This class runs commands bound to joystick buttons. Buttons are read as one
+ * packed mask per tick, bit 0 is button 1. A binding fires once on the edge of
+ * its chord instead of on every tick the buttons are held.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class InputBindings {
+    // Define binding triggers
+    private static final int PRESS = 0;
+    private static final int RELEASE = 1;
+    private static final int HOLD = 2;
+
+    // Binding table
+    private final int[] masks;
+    private final int[] triggers;
+    private final long[] holdTimes;
+    private final Runnable[] commands;
+
+    // Chord state for each binding
+    private final boolean[] active;
+    private final boolean[] fired;
+    private final long[] activeSince;
+
+    // Buttons seen on the last update
+    private int buttons = 0;
+    private int pressed = 0;
+    private int released = 0;
+
+    // Number of held chords that have not fired yet
+    private int waiting = 0;
+
+    /**
+     * Creates the binding table
+     * 
+     * @param builder The builder
+     */
+    private InputBindings(Builder builder) {
+        int size = builder.masks.size();
+
+        masks = new int[size];
+        triggers = new int[size];
+        holdTimes = new long[size];
+        commands = new Runnable[size];
+
+        for (int i = 0; i < size; i++) {
+            masks[i] = builder.masks.get(i);
+            triggers[i] = builder.triggers.get(i);
+            holdTimes[i] = builder.holdTimes.get(i);
+            commands[i] = builder.commands.get(i);
+        }
+
+        active = new boolean[size];
+        fired = new boolean[size];
+        activeSince = new long[size];
+    }
+
+    /**
+     * Creates a builder
+     * 
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the mask of a set of buttons
+     * 
+     * @param buttons The button numbers, starting at 1
+     * @return The mask
+     */
+    public static int mask(int... buttons) {
+        int mask = 0;
+
+        for (int button : buttons) {
+            if (button < 1 || button > 32) {
+                throw new IllegalArgumentException("Button must be between 1 and 32");
+            }
+
+            mask |= 1 << (button - 1);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Forgets the buttons seen so far. Chords that are already held when the next
+     * update runs count as pressed.
+     */
+    public void reset() {
+        buttons = 0;
+        pressed = 0;
+        released = 0;
+        waiting = 0;
+
+        for (int i = 0; i < masks.length; i++) {
+            active[i] = false;
+            fired[i] = false;
+        }
+    }
+
+    /**
+     * Finds the edges since the last update and runs the commands of the chords
+     * that fired
+     * 
+     * @param buttons The packed buttons
+     * @param time    The robot clock time in microseconds
+     */
+    public void update(int buttons, long time) {
+        pressed = buttons & ~this.buttons;
+        released = ~buttons & this.buttons;
+        this.buttons = buttons;
+
+        // Nothing can fire if no button changed and no chord is waiting on a hold
+        if (pressed == 0 && released == 0 && waiting == 0) {
+            return;
+        }
+
+        for (int i = 0; i < masks.length; i++) {
+            int mask = masks[i];
+            boolean wasActive = active[i];
+            boolean isActive = (buttons & mask) == mask;
+
+            if (isActive && !wasActive) {
+                active[i] = true;
+                activeSince[i] = time;
+
+                if (triggers[i] == PRESS) {
+                    commands[i].run();
+                } else if (triggers[i] == HOLD) {
+                    fired[i] = false;
+                    waiting++;
+                }
+            } else if (!isActive && wasActive) {
+                active[i] = false;
+
+                if (triggers[i] == RELEASE) {
+                    commands[i].run();
+                } else if (triggers[i] == HOLD && !fired[i]) {
+                    waiting--;
+                }
+            }
+
+            // Held chords fire once when they have been held long enough
+            if (isActive && triggers[i] == HOLD && !fired[i] && time - activeSince[i] >= holdTimes[i]) {
+                fired[i] = true;
+                waiting--;
+                commands[i].run();
+            }
+        }
+    }
+
+    /**
+     * Returns the buttons seen on the last update
+     * 
+     * @return The packed buttons
+     */
+    public int getButtons() {
+        return buttons;
+    }
+
+    /**
+     * Returns the buttons that went down on the last update
+     * 
+     * @return The packed buttons
+     */
+    public int getPressed() {
+        return pressed;
+    }
+
+    /**
+     * Returns the buttons that went up on the last update
+     * 
+     * @return The packed buttons
+     */
+    public int getReleased() {
+        return released;
+    }
+
+    /**
+     * This class collects bindings before they are put in a table
+     */
+    public static class Builder {
+        private final List<Integer> masks = new ArrayList<>();
+        private final List<Integer> triggers = new ArrayList<>();
+        private final List<Long> holdTimes = new ArrayList<>();
+        private final List<Runnable> commands = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Runs a command when every button of a chord is down
+         * 
+         * @param command The command
+         * @param buttons The button numbers
+         * @return The builder
+         */
+        public Builder onPress(Runnable command, int... buttons) {
+            return bind(PRESS, 0, command, buttons);
+        }
+
+        /**
+         * Runs a command when a held chord is let go
+         * 
+         * @param command The command
+         * @param buttons The button numbers
+         * @return The builder
+         */
+        public Builder onRelease(Runnable command, int... buttons) {
+            return bind(RELEASE, 0, command, buttons);
+        }
+
+        /**
+         * Runs a command once when a chord has been held for a time
+         * 
+         * @param holdTime The time in milliseconds
+         * @param command  The command
+         * @param buttons  The button numbers
+         * @return The builder
+         */
+        public Builder onHold(long holdTime, Runnable command, int... buttons) {
+            if (holdTime < 0) {
+                throw new IllegalArgumentException("Hold time can not be negative");
+            }
+
+            return bind(HOLD, RobotClock.fromMillis(holdTime), command, buttons);
+        }
+
+        /**
+         * Adds a binding
+         * 
+         * @param trigger  The trigger
+         * @param holdTime The hold time in microseconds
+         * @param command  The command
+         * @param buttons  The button numbers
+         * @return The builder
+         */
+        private Builder bind(int trigger, long holdTime, Runnable command, int[] buttons) {
+            if (buttons.length == 0) {
+                throw new IllegalArgumentException("A binding needs at least one button");
+            }
+
+            masks.add(mask(buttons));
+            triggers.add(trigger);
+            holdTimes.add(holdTime);
+            commands.add(command);
+            return this;
+        }
+
+        /**
+         * Creates the binding table
+         * 
+         * @return The bindings
+         */
+        public InputBindings build() {
+            return new InputBindings(this);
+        }
+    }
+}
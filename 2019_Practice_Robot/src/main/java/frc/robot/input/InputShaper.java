@@ -0,0 +1,148 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+/**
+ * This class turns joystick input into arcade drive powers. Curves that are not
+ * polynomials are compiled into a {@link ShapingTable} when the shaper is made,
+ * so a tick only evaluates polynomials and clamps.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class InputShaper {
+    // Polynomial or compiled curve
+    private final ShapingCurve curve;
+
+    // Joystick magnitude that is treated as zero
+    private final double deadzone;
+
+    // Forward input past which turning is inverted for driving backwards
+    private final double reversePoint;
+
+    // Output limiters
+    private final SlewRateLimiter leftLimiter;
+    private final SlewRateLimiter rightLimiter;
+
+    // Last outputs
+    private double leftPower = 0;
+    private double rightPower = 0;
+
+    /**
+     * Creates a shaper
+     * 
+     * @param curve        The curve applied to the x and y inputs
+     * @param deadzone     The joystick magnitude that is treated as zero
+     * @param reversePoint The forward input past which turning is inverted
+     * @param slewRate     The largest change in power per second, 0 for no limit
+     */
+    public InputShaper(ShapingCurve curve, double deadzone, double reversePoint, double slewRate) {
+        this.curve = ShapingTable.compile(curve);
+        this.deadzone = deadzone;
+        this.reversePoint = reversePoint;
+        leftLimiter = new SlewRateLimiter(slewRate);
+        rightLimiter = new SlewRateLimiter(slewRate);
+    }
+
+    /**
+     * Starts the slew rate limits from the powers the drive is running at
+     * 
+     * @param leftPower  The left power
+     * @param rightPower The right power
+     * @param time       The robot clock time in microseconds
+     */
+    public void reset(double leftPower, double rightPower, long time) {
+        leftLimiter.reset(leftPower, time);
+        rightLimiter.reset(rightPower, time);
+        this.leftPower = leftPower;
+        this.rightPower = rightPower;
+    }
+
+    /**
+     * Computes the drive powers for joystick input
+     * 
+     * @param controlX  Joystick x
+     * @param controlY  Joystick y
+     * @param throttle  Joystick z
+     * @param magnitude Joystick magnitude
+     * @param time      The robot clock time in microseconds
+     */
+    public void update(double controlX, double controlY, double throttle, double magnitude, long time) {
+        // Forward is negative on the joystick
+        controlY = -controlY;
+
+        // Map the throttle from -1 to 1 onto 1 to 0
+        throttle = clamp((1 - throttle) * 0.5, 0, 1);
+
+        // Check deadzone
+        if (magnitude <= deadzone) {
+            controlX = 0;
+            controlY = 0;
+        }
+
+        // Turn the other way when driving backwards
+        if (controlY < -reversePoint) {
+            controlX = -controlX;
+        }
+
+        controlX = shape(controlX) * throttle;
+        controlY = shape(controlY) * throttle;
+
+        leftPower = leftLimiter.calculate(clamp(controlY + controlX, -1, 1), time);
+        rightPower = rightLimiter.calculate(clamp(controlY - controlX, -1, 1), time);
+    }
+
+    /**
+     * Applies the curve to the size of an input and keeps its sign
+     * 
+     * @param input The input from -1 to 1, inputs past 1 are treated as 1
+     * @return The output
+     */
+    private double shape(double input) {
+        if (input < 0) {
+            return -curve.apply(Math.min(-input, 1));
+        }
+
+        return curve.apply(Math.min(input, 1));
+    }
+
+    /**
+     * Keeps a value within bounds
+     * 
+     * @param value The value
+     * @param min   The lower bound
+     * @param max   The upper bound
+     * @return The bounded value
+     */
+    private static double clamp(double value, double min, double max) {
+        if (value < min) {
+            return min;
+        } else if (value > max) {
+            return max;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the last left power
+     * 
+     * @return The power
+     */
+    public double getLeftPower() {
+        return leftPower;
+    }
+
+    /**
+     * Returns the last right power
+     * 
+     * @return The power
+     */
+    public double getRightPower() {
+        return rightPower;
+    }
+}
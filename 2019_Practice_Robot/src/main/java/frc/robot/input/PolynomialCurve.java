@@ -0,0 +1,42 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+/**
+ * This class is a shaping curve that is a polynomial of at most third degree.
+ * It is evaluated directly, it is never compiled into a {@link ShapingTable}.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class PolynomialCurve implements ShapingCurve {
+    // Coefficients, lowest power first
+    private final double c0;
+    private final double c1;
+    private final double c2;
+    private final double c3;
+
+    /**
+     * Creates a curve c0 + c1 x + c2 x^2 + c3 x^3
+     * 
+     * @param c0 The constant coefficient
+     * @param c1 The linear coefficient
+     * @param c2 The squared coefficient
+     * @param c3 The cubic coefficient
+     */
+    public PolynomialCurve(double c0, double c1, double c2, double c3) {
+        this.c0 = c0;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.c3 = c3;
+    }
+
+    @Override
+    public double apply(double input) {
+        return c0 + input * (c1 + input * (c2 + input * c3));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+/**
+ * This interface maps the size of a joystick input to the size of the output.
+ * Curves only see inputs from 0 to 1, the sign of the input is kept by the
+ * {@link InputShaper}.
+ * 
+ * @author Caleb Heydon
+ */
+
+@FunctionalInterface
+public interface ShapingCurve {
+    // Define built in curves
+    public static final ShapingCurve LINEAR = new PolynomialCurve(0, 1, 0, 0);
+    public static final ShapingCurve SQUARED = new PolynomialCurve(0, 0, 1, 0);
+    public static final ShapingCurve CUBIC = new PolynomialCurve(0, 0, 0, 1);
+
+    /**
+     * Maps an input
+     * 
+     * @param input The input from 0 to 1
+     * @return The output from 0 to 1
+     */
+    double apply(double input);
+
+    /**
+     * Returns an expo curve, a blend of a linear and a cubic curve
+     * 
+     * @param expo The weight of the cubic curve from 0 to 1
+     * @return The curve
+     */
+    public static ShapingCurve expo(double expo) {
+        if (expo < 0 || expo > 1 || Double.isNaN(expo)) {
+            throw new IllegalArgumentException("Expo must be from 0 to 1");
+        }
+
+        return new PolynomialCurve(0, 1 - expo, 0, expo);
+    }
+
+    /**
+     * Returns a built in curve by name
+     * 
+     * @param name The name, one of linear, squared, cubic or expo
+     * @param expo The weight of the cubic curve if the curve is expo
+     * @return The curve
+     */
+    public static ShapingCurve forName(String name, double expo) {
+        switch (name) {
+        case "linear":
+            return LINEAR;
+        case "squared":
+            return SQUARED;
+        case "cubic":
+            return CUBIC;
+        case "expo":
+            return expo(expo);
+        default:
+            throw new IllegalArgumentException("Unknown curve " + name);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+/**
+ * This class is a shaping curve compiled into a lookup table. Each segment of
+ * the table holds a cubic fitted through four samples of the curve. A lookup is
+ * one index calculation and one polynomial, it does not depend on how costly
+ * the curve is. A {@link PolynomialCurve} is already that cheap, so it is used
+ * as it is instead of a table.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class ShapingTable implements ShapingCurve {
+    // Define default number of segments
+    public static final int DEFAULT_SEGMENTS = 256;
+
+    // Number of segments from 0 to 1
+    private final int segments;
+
+    // Four polynomial coefficients of the input per segment, lowest power first
+    private final double[] coefficients;
+
+    /**
+     * Compiles a curve with the default number of segments
+     * 
+     * @param curve The curve
+     */
+    public ShapingTable(ShapingCurve curve) {
+        this(curve, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Compiles a curve
+     * 
+     * @param curve    The curve
+     * @param segments The number of segments from 0 to 1
+     */
+    public ShapingTable(ShapingCurve curve, int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Segments must be positive");
+        }
+
+        this.segments = segments;
+        coefficients = new double[segments * 4];
+
+        for (int i = 0; i < segments; i++) {
+            // Sample the curve at thirds of the segment
+            double y0 = curve.apply((double) i / segments);
+            double y1 = curve.apply((i + 1 / 3.0) / segments);
+            double y2 = curve.apply((i + 2 / 3.0) / segments);
+            double y3 = curve.apply((double) (i + 1) / segments);
+
+            // Cubic through the samples with the offset in the segment from 0 to 1
+            double b0 = y0;
+            double b1 = (-11 * y0 + 18 * y1 - 9 * y2 + 2 * y3) / 2;
+            double b2 = (18 * y0 - 45 * y1 + 36 * y2 - 9 * y3) / 2;
+            double b3 = (-9 * y0 + 27 * y1 - 27 * y2 + 9 * y3) / 2;
+
+            // Substitute offset = input * segments - i so lookups use the input
+            double s = segments;
+            coefficients[i * 4] = b0 - i * b1 + i * i * b2 - (double) i * i * i * b3;
+            coefficients[i * 4 + 1] = s * (b1 - 2 * i * b2 + 3 * i * i * b3);
+            coefficients[i * 4 + 2] = s * s * (b2 - 3 * i * b3);
+            coefficients[i * 4 + 3] = s * s * s * b3;
+        }
+    }
+
+    /**
+     * Returns a curve that is cheap to evaluate. Polynomials are returned as they
+     * are, other curves are compiled into a table.
+     * 
+     * @param curve The curve
+     * @return The curve to evaluate
+     */
+    public static ShapingCurve compile(ShapingCurve curve) {
+        if (curve instanceof PolynomialCurve || curve instanceof ShapingTable) {
+            return curve;
+        }
+
+        return new ShapingTable(curve);
+    }
+
+    @Override
+    public double apply(double input) {
+        int index = Math.min((int) (input * segments), segments - 1) * 4;
+
+        return coefficients[index] + input * (coefficients[index + 1]
+                + input * (coefficients[index + 2] + input * coefficients[index + 3]));
+    }
+}
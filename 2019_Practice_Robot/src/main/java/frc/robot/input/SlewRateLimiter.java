@@ -0,0 +1,65 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+/**
+ * This class limits how fast a value can change
+ * 
+ * @author Caleb Heydon
+ */
+
+public class SlewRateLimiter {
+    // Largest change per second, 0 for no limit
+    private final double rate;
+
+    // Last output and when it was made in microseconds
+    private double output = 0;
+    private long lastTime = 0;
+
+    /**
+     * Creates a limiter
+     * 
+     * @param rate The largest change per second, 0 for no limit
+     */
+    public SlewRateLimiter(double rate) {
+        if (rate < 0 || Double.isNaN(rate)) {
+            throw new IllegalArgumentException("Rate can not be negative");
+        }
+
+        this.rate = rate;
+    }
+
+    /**
+     * Starts limiting from a value
+     * 
+     * @param value The value
+     * @param time  The robot clock time in microseconds
+     */
+    public void reset(double value, long time) {
+        output = value;
+        lastTime = time;
+    }
+
+    /**
+     * Moves the output toward a value as far as the rate allows
+     * 
+     * @param value The value
+     * @param time  The robot clock time in microseconds
+     * @return The output
+     */
+    public double calculate(double value, long time) {
+        if (rate == 0) {
+            output = value;
+        } else {
+            double step = rate * (time - lastTime) / 1e6;
+            output += Math.max(-step, Math.min(step, value - output));
+        }
+
+        lastTime = time;
+        return output;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.scheduler;
+
+import frc.robot.dashboard.Dashboard;
+import frc.robot.dashboard.NumberEntry;
+import frc.robot.util.LoopTimer;
+import frc.robot.util.LoopTimers;
+
+/**
+ * This class is a piece of robot work run by the {@link Scheduler} once per
+ * period. A task never runs on two workers at once, so its action can keep
+ * state without locking even though it may run on a different worker each
+ * period.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class PeriodicTask {
+    // Task settings
+    private final String name;
+    private final long period;
+    private final long deadline;
+    private final boolean critical;
+    private final Runnable action;
+
+    // Time from release to finish, anything past the deadline is an overrun
+    private final LoopTimer responseTimer;
+
+    // Dashboard key, made once so publishing does not build strings
+    private final String skippedKey;
+    private NumberEntry skippedEntry;
+
+    // Scheduling state, only changed while holding the scheduler lock
+    private long release;
+    private volatile long skipped = 0;
+    private volatile boolean cancelled = false;
+
+    /**
+     * Creates a task
+     * 
+     * @param name     The name shown on the dashboard
+     * @param period   The time between releases in nanoseconds
+     * @param deadline The time after a release the task must finish by in
+     *                 nanoseconds
+     * @param critical True if the task controls the robot
+     * @param action   The work to run
+     */
+    PeriodicTask(String name, long period, long deadline, boolean critical, Runnable action) {
+        if (period <= 0 || deadline <= 0) {
+            throw new IllegalArgumentException("Period and deadline must be positive");
+        }
+
+        this.name = name;
+        this.period = period;
+        this.deadline = deadline;
+        this.critical = critical;
+        this.action = action;
+
+        responseTimer = LoopTimers.create("Task/" + name, deadline);
+        skippedKey = "Loop/Task/" + name + "/skipped";
+    }
+
+    /**
+     * Returns the name of the task
+     * 
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the time between releases
+     * 
+     * @return The period in nanoseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Returns true if the task controls the robot
+     * 
+     * @return True if critical
+     */
+    public boolean isCritical() {
+        return critical;
+    }
+
+    /**
+     * Returns the number of times the task finished after its deadline
+     * 
+     * @return The overrun count
+     */
+    public long getOverruns() {
+        return responseTimer.getOverruns();
+    }
+
+    /**
+     * Returns the number of releases that were skipped because the task was
+     * still running or waiting
+     * 
+     * @return The skipped count
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Stops the task from being released again. A run that already started
+     * finishes.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true if the task was cancelled
+     * 
+     * @return True if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Puts the skipped count on the dashboard, the overruns are published with
+     * the loop timers
+     * 
+     * @param dashboard The dashboard, always the same one
+     */
+    public void publish(Dashboard dashboard) {
+        if (skippedEntry == null) {
+            skippedEntry = dashboard.addNumber(skippedKey);
+        }
+
+        skippedEntry.set(skipped);
+    }
+
+    /**
+     * Returns the time of the next release
+     * 
+     * @return The time in nanoseconds
+     */
+    long getRelease() {
+        return release;
+    }
+
+    /**
+     * Returns the time the current release must finish by
+     * 
+     * @return The time in nanoseconds
+     */
+    long getAbsoluteDeadline() {
+        return release + deadline;
+    }
+
+    /**
+     * Sets the time of the first release
+     * 
+     * @param release The time in nanoseconds
+     */
+    void setRelease(long release) {
+        this.release = release;
+    }
+
+    /**
+     * Runs the action and records how long after the release it finished
+     */
+    void run() {
+        action.run();
+        responseTimer.record(System.nanoTime() - release);
+    }
+
+    /**
+     * Moves to the next release. Releases that already passed are skipped
+     * instead of run back to back.
+     * 
+     * @param now The current time in nanoseconds
+     */
+    void advance(long now) {
+        release += period;
+
+        if (release <= now) {
+            long missed = (now - release) / period + 1;
+
+            skipped += missed;
+            release += missed * period;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.util.Log;
+
+/**
+ * This class runs periodic tasks on a fixed pool of worker threads. Released
+ * tasks are run earliest deadline first, critical tasks before the others.
+ * While there is a critical task at most all but one worker may run
+ * non-critical tasks, so a slow task can never hold every worker while a
+ * critical task is waiting.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class Scheduler {
+    // Define default number of workers, one per roboRIO core
+    public static final int DEFAULT_WORKERS = 2;
+
+    // Number of workers
+    private final int workerCount;
+
+    // Most workers that may run non-critical tasks at once
+    private final int backgroundLimit;
+
+    // Every task, for publishing
+    private final List<PeriodicTask> tasks = new ArrayList<>();
+
+    // Tasks waiting for their release, earliest release first
+    private final PriorityQueue<PeriodicTask> pending = new PriorityQueue<>(
+            Comparator.comparingLong(PeriodicTask::getRelease));
+
+    // Released tasks, earliest deadline first
+    private final PriorityQueue<PeriodicTask> readyCritical = new PriorityQueue<>(
+            Comparator.comparingLong(PeriodicTask::getAbsoluteDeadline));
+    private final PriorityQueue<PeriodicTask> readyBackground = new PriorityQueue<>(
+            Comparator.comparingLong(PeriodicTask::getAbsoluteDeadline));
+
+    // Guards the queues
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Number of workers running a non-critical task
+    private int runningBackground = 0;
+
+    // Number of critical tasks, no worker is kept free if there are none
+    private int criticalCount = 0;
+
+    // Worker threads
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = false;
+
+    /**
+     * Creates a scheduler with the default number of workers
+     */
+    public Scheduler() {
+        this(DEFAULT_WORKERS);
+    }
+
+    /**
+     * Creates a scheduler
+     * 
+     * @param workerCount The number of worker threads
+     */
+    public Scheduler(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+
+        this.workerCount = workerCount;
+        backgroundLimit = Math.max(1, workerCount - 1);
+    }
+
+    /**
+     * Adds a task with a deadline of one period
+     * 
+     * @param name     The name shown on the dashboard
+     * @param period   The time between runs in nanoseconds
+     * @param critical True if the task controls the robot
+     * @param action   The work to run
+     * @return The task
+     */
+    public PeriodicTask add(String name, long period, boolean critical, Runnable action) {
+        return add(name, period, period, critical, action);
+    }
+
+    /**
+     * Adds a task. The first run is released right away, or when the scheduler
+     * starts if it is not running yet.
+     * 
+     * @param name     The name shown on the dashboard
+     * @param period   The time between runs in nanoseconds
+     * @param deadline The time after each release the task must finish by in
+     *                 nanoseconds
+     * @param critical True if the task controls the robot
+     * @param action   The work to run
+     * @return The task
+     */
+    public PeriodicTask add(String name, long period, long deadline, boolean critical, Runnable action) {
+        PeriodicTask task = new PeriodicTask(name, period, deadline, critical, action);
+
+        lock.lock();
+        try {
+            task.setRelease(System.nanoTime());
+            tasks.add(task);
+            pending.add(task);
+
+            if (critical) {
+                criticalCount++;
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        return task;
+    }
+
+    /**
+     * This method starts the worker threads
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        // Tasks added before the start are released now
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setRelease(now);
+            }
+
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+
+        for (int i = 0; i < workerCount; i++) {
+            // Declare thread
+            Thread worker = new Thread(this::work);
+
+            // Set thread properties
+            worker.setName("Scheduler Worker " + i);
+            worker.setDaemon(true);
+            worker.setPriority(Thread.MAX_PRIORITY);
+
+            // Start worker thread
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * This method stops the worker threads and waits for running tasks to finish
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        workers.clear();
+    }
+
+    /**
+     * Puts the skipped count of every task on the dashboard
+     * 
+     * @param dashboard The dashboard, always the same one
+     */
+    public void publish(Dashboard dashboard) {
+        lock.lock();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).publish(dashboard);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The worker loop
+     */
+    private void work() {
+        while (true) {
+            PeriodicTask task;
+
+            lock.lock();
+            try {
+                task = take();
+
+                if (task == null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // The worker keeps going so the other tasks still run
+                Log.error("Task " + task.getName() + " failed: " + e);
+            } finally {
+                lock.lock();
+                try {
+                    finish(task);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for a task that this worker may run. The lock must be held.
+     * 
+     * @return The task, or null if the scheduler stopped
+     */
+    private PeriodicTask take() {
+        while (running) {
+            long now = System.nanoTime();
+
+            // Release every task that is due
+            while (!pending.isEmpty() && pending.peek().getRelease() <= now) {
+                PeriodicTask task = pending.poll();
+
+                if (task.isCancelled()) {
+                    remove(task);
+                } else if (task.isCritical()) {
+                    readyCritical.add(task);
+                } else {
+                    readyBackground.add(task);
+                }
+            }
+
+            if (!readyCritical.isEmpty()) {
+                return readyCritical.poll();
+            }
+
+            int limit = criticalCount > 0 ? backgroundLimit : workerCount;
+            if (!readyBackground.isEmpty() && runningBackground < limit) {
+                runningBackground++;
+                return readyBackground.poll();
+            }
+
+            // Sleep until the next release or until a worker finishes a task
+            try {
+                if (pending.isEmpty()) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(pending.peek().getRelease() - now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Queues the next release of a task that finished. The lock must be held.
+     * 
+     * @param task The task
+     */
+    private void finish(PeriodicTask task) {
+        if (!task.isCritical()) {
+            runningBackground--;
+        }
+
+        if (task.isCancelled()) {
+            remove(task);
+        } else {
+            task.advance(System.nanoTime());
+            pending.add(task);
+        }
+
+        // Another worker may now run a task or needs a new wake up time
+        changed.signalAll();
+    }
+
+    /**
+     * Forgets a cancelled task. The lock must be held.
+     * 
+     * @param task The task
+     */
+    private void remove(PeriodicTask task) {
+        tasks.remove(task);
+
+        if (task.isCritical()) {
+            criticalCount--;
+        }
+    }
+}
@@ -6,104 +6,358 @@
 
 package frc.robot.systems;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import org.opencv.core.Mat;
-import org.opencv.core.Scalar;
-import org.opencv.imgproc.Imgproc;
 import edu.wpi.cscore.CvSink;
 import edu.wpi.cscore.CvSource;
 import edu.wpi.cscore.UsbCamera;
+import edu.wpi.cscore.VideoMode;
 import edu.wpi.first.cameraserver.CameraServer;
-import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.systems.filters.FilterChain;
+import frc.robot.systems.filters.GrayscaleFilter;
+import frc.robot.systems.filters.ResizeFilter;
 
 /**
- * This class is in charge of managing the camera threads
+ * This class manages a single camera source. Frames are grabbed once into a
+ * {@link FrameHub} and streamed by the {@link VisionPipeline} task that owns
+ * the camera, other consumers read them from the hub.
  * 
  * @author Liam Poppleton
  * @author Caleb Heydon
  */
 
 public class Camera {
+	// Define output stream resolution
+	public static final int STREAM_WIDTH = 160;
+	public static final int STREAM_HEIGHT = 120;
+
+	// Define the most frames that can be skipped when over the cpu budget
+	public static final int MAX_FRAME_SKIP = 7;
+
+	// Used to measure the cpu time of the pipeline thread
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported();
+
+	// Camera settings
+	private final int device;
+	private final String name;
+
+	// Camera capture objects
+	private UsbCamera camera;
+	private CvSink cvSink;
+	private CvSource outputStream;
+
+	// Captured frames shared with the consumers
+	private final FrameHub hub = new FrameHub();
+
+	// Frame filters
+	private final FilterChain filters;
+
+	// Stage timing in nanoseconds for the last processed frame
+	private volatile long grabTime = 0;
+	private volatile long convertTime = 0;
+	private volatile long putTime = 0;
+
+	// Frame counters
+	private volatile long framesProcessed = 0;
+	private volatile long framesDropped = 0;
+
+	// Cpu time used since the last call to updateCpuUsage
+	private long cpuTime = 0;
+
+	// Fraction of a core used over the last budget window
+	private volatile double cpuUsage = 0;
+
+	// Number of pipeline frames skipped between processed frames
+	private volatile int frameSkip = 0;
+
+	/**
+	 * Creates a camera that shrinks frames to the stream resolution before
+	 * converting them to grayscale
+	 * 
+	 * @param device The usb device number
+	 * @param name   The name of the output stream
+	 */
+	public Camera(int device, String name) {
+		this(device, name, new FilterChain(new ResizeFilter(STREAM_WIDTH, STREAM_HEIGHT), new GrayscaleFilter()));
+	}
+
+	/**
+	 * Creates a camera
+	 * 
+	 * @param device  The usb device number
+	 * @param name    The name of the output stream
+	 * @param filters The filters applied to each frame
+	 */
+	public Camera(int device, String name, FilterChain filters) {
+		this.device = device;
+		this.name = name;
+		this.filters = filters;
+	}
+
 	/**
-	 * This method starts camera 1
+	 * Returns the name of the output stream
+	 * 
+	 * @return The name
 	 */
-	public void startCamera1() {
-		// Decleare thread
-		Thread cameraThread = new Thread(() -> {
-			// Do not run camera if it is a simulation
-			if (!RobotBase.isReal()) {
-				return;
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the hub the captured frames are shared through
+	 * 
+	 * @return The hub
+	 */
+	public FrameHub getFrameHub() {
+		return hub;
+	}
+
+	/**
+	 * This method sets up the camera capture and output stream
+	 * 
+	 * @param frameRate The rate frames are processed at
+	 */
+	public void open(int frameRate) {
+		camera = CameraServer.getInstance().startAutomaticCapture(device);
+		selectVideoMode(frameRate);
+
+		cvSink = CameraServer.getInstance().getVideo(camera);
+		outputStream = CameraServer.getInstance().putVideo(name, STREAM_WIDTH, STREAM_HEIGHT);
+
+		hub.open();
+	}
+
+	/**
+	 * Picks the smallest capture mode that still covers the output stream so that
+	 * no time is spent on pixels that are never sent
+	 * 
+	 * @param frameRate The rate frames are processed at
+	 */
+	private void selectVideoMode(int frameRate) {
+		VideoMode best = null;
+
+		for (VideoMode mode : camera.enumerateVideoModes()) {
+			// Mode must cover the stream and keep up with the pipeline
+			if (mode.width < STREAM_WIDTH || mode.height < STREAM_HEIGHT || mode.fps < frameRate) {
+				continue;
 			}
 
-			// Setup camera capture
-			UsbCamera camera = CameraServer.getInstance().startAutomaticCapture(0);
-			CvSink cvSink = CameraServer.getInstance().getVideo(camera);
-			CvSource outputStream = CameraServer.getInstance().putVideo("Camera 1", 160, 120);
-
-			// Create buffers
-			Mat source = new Mat();
-			Mat output = new Mat();
-
-			// Filter loop
-			while (true) {
-				// Get current frame
-				long rv = cvSink.grabFrame(source);
-
-				if (rv != 0) {
-					// Filter frame
-					output.setTo(Scalar.all(0));
-					Imgproc.cvtColor(source, output, Imgproc.COLOR_BGR2GRAY);
-					outputStream.putFrame(output);
-				}
+			if (best == null || isBetterMode(mode, best)) {
+				best = mode;
 			}
-		});
+		}
+
+		if (best != null) {
+			camera.setVideoMode(best.pixelFormat, best.width, best.height, best.fps);
+		} else {
+			// Let the driver pick the closest mode
+			camera.setResolution(STREAM_WIDTH, STREAM_HEIGHT);
+			camera.setFPS(frameRate);
+		}
+	}
 
-		// Set thread properties
-		cameraThread.setName("Camera Thread 1");
-		cameraThread.setDaemon(true);
+	/**
+	 * Returns true if a capture mode is cheaper than another
+	 * 
+	 * @param mode The mode to check
+	 * @param best The current best mode
+	 * @return True if the mode is better
+	 */
+	private static boolean isBetterMode(VideoMode mode, VideoMode best) {
+		int pixels = mode.width * mode.height;
+		int bestPixels = best.width * best.height;
 
-		// Start camera thread
-		cameraThread.start();
+		if (pixels != bestPixels) {
+			return pixels < bestPixels;
+		}
+
+		if (mode.fps != best.fps) {
+			return mode.fps < best.fps;
+		}
+
+		// Mjpeg uses much less usb bandwidth
+		return mode.pixelFormat == VideoMode.PixelFormat.kMJPEG && best.pixelFormat != VideoMode.PixelFormat.kMJPEG;
 	}
 
 	/**
-	 * This method starts camera 2
+	 * This method disables the capture and frees the buffers
 	 */
-	public void startCamera2() {
-		// Decleare thread
-		Thread cameraThread = new Thread(() -> {
-			// Do not run camera if it is a simulation
-			if (!RobotBase.isReal()) {
-				return;
-			}
-			
-			// Setup camera capture
-			UsbCamera camera = CameraServer.getInstance().startAutomaticCapture(1);
-			CvSink cvSink = CameraServer.getInstance().getVideo(camera);
-			CvSource outputStream = CameraServer.getInstance().putVideo("Camera 2", 160, 120);
-
-			// Create buffers
-			Mat source = new Mat();
-			Mat output = new Mat();
-
-			// Filter loop
-			while (true) {
-				// Get current frame
-				long rv = cvSink.grabFrame(source);
-
-				if (rv != 0) {
-					// Filter frame
-					output.setTo(Scalar.all(0));
-					Imgproc.cvtColor(source, output, Imgproc.COLOR_BGR2GRAY);
-					outputStream.putFrame(output);
-				}
+	public void close() {
+		if (cvSink != null) {
+			cvSink.setEnabled(false);
+		}
+
+		hub.close();
+		filters.release();
+	}
+
+	/**
+	 * Grabs the newest frame, shares it through the hub, filters it and puts it on
+	 * the output stream. Frames that arrived while the pipeline was idle are not
+	 * queued, only the newest one is used.
+	 * 
+	 * @param timeout The time to wait for a frame in seconds
+	 * @return True if a frame was processed
+	 */
+	public boolean processFrame(double timeout) {
+		long cpuStart = getThreadCpuTime();
+
+		try {
+			return grabAndFilter(timeout);
+		} finally {
+			cpuTime += getThreadCpuTime() - cpuStart;
+		}
+	}
+
+	/**
+	 * Runs the grab, convert and put stages
+	 * 
+	 * @param timeout The time to wait for a frame in seconds
+	 * @return True if a frame was processed
+	 */
+	private boolean grabAndFilter(double timeout) {
+		// Every buffer is held by slow consumers
+		Frame frame = hub.claim();
+		if (frame == null) {
+			framesDropped++;
+			return false;
+		}
+
+		try {
+			// Get current frame
+			long startTime = System.nanoTime();
+			long rv = cvSink.grabFrame(frame.getMat(), timeout);
+			long grabDone = System.nanoTime();
+
+			grabTime = grabDone - startTime;
+
+			if (rv == 0) {
+				// No frame before the timeout
+				framesDropped++;
+				return false;
 			}
-		});
 
-		// Set thread properties
-		cameraThread.setName("Camera Thread 2");
-		cameraThread.setDaemon(true);
+			// Share the full frame before it is shrunk and made gray
+			hub.publish(frame, rv);
+
+			// Filter frame
+			Mat output = filters.process(frame.getMat());
+			long convertDone = System.nanoTime();
+
+			outputStream.putFrame(output);
+			long putDone = System.nanoTime();
+
+			convertTime = convertDone - grabDone;
+			putTime = putDone - convertDone;
+			framesProcessed++;
+
+			return true;
+		} finally {
+			frame.release();
+		}
+	}
+
+	/**
+	 * Returns the time spent grabbing the last frame
+	 * 
+	 * @return The time in nanoseconds
+	 */
+	public long getGrabTime() {
+		return grabTime;
+	}
+
+	/**
+	 * Returns the time spent converting the last frame
+	 * 
+	 * @return The time in nanoseconds
+	 */
+	public long getConvertTime() {
+		return convertTime;
+	}
 
-		// Start camera thread
-		cameraThread.start();
+	/**
+	 * Returns the time spent putting the last frame on the output stream
+	 * 
+	 * @return The time in nanoseconds
+	 */
+	public long getPutTime() {
+		return putTime;
+	}
+
+	/**
+	 * Returns the number of frames that were processed
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesProcessed() {
+		return framesProcessed;
+	}
+
+	/**
+	 * Returns the number of frames that were missed or skipped
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesDropped() {
+		return framesDropped;
+	}
+
+	/**
+	 * Computes the cpu usage from the time used since the last call and starts a
+	 * new budget window
+	 * 
+	 * @param windowTime The length of the window in nanoseconds
+	 */
+	void updateCpuUsage(long windowTime) {
+		cpuUsage = (double) cpuTime / windowTime;
+		cpuTime = 0;
+	}
+
+	/**
+	 * Returns the fraction of a core used over the last budget window
+	 * 
+	 * @return The cpu usage
+	 */
+	public double getCpuUsage() {
+		return cpuUsage;
+	}
+
+	/**
+	 * Returns the number of pipeline frames skipped between processed frames
+	 * 
+	 * @return The frame skip
+	 */
+	public int getFrameSkip() {
+		return frameSkip;
+	}
+
+	/**
+	 * Sets the number of pipeline frames skipped between processed frames
+	 * 
+	 * @param frameSkip The frame skip
+	 */
+	void setFrameSkip(int frameSkip) {
+		this.frameSkip = Math.max(0, Math.min(MAX_FRAME_SKIP, frameSkip));
+	}
+
+	/**
+	 * Returns the cpu time of the current thread, or the wall time if the jvm can
+	 * not measure it
+	 * 
+	 * @return The time in nanoseconds
+	 */
+	private static long getThreadCpuTime() {
+		return CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	/**
+	 * Counts frames that were skipped because the pipeline fell behind
+	 * 
+	 * @param count The number of frames skipped
+	 */
+	void dropFrames(long count) {
+		framesDropped += count;
 	}
 }
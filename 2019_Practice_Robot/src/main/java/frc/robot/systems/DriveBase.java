@@ -6,10 +6,27 @@
 
 package frc.robot.systems;
 
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.ctre.phoenix.motorcontrol.ControlMode;
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
+import frc.robot.hardware.CachedMotorOutput;
+import frc.robot.hardware.ClosedLoopConfig;
+import frc.robot.hardware.ClosedLoopOutput;
+import frc.robot.hardware.EncoderInput;
+import frc.robot.hardware.LimitedOutput;
+import frc.robot.hardware.OutputLimitConfig;
+import frc.robot.hardware.ProfileOutput;
+import frc.robot.hardware.StatusInput;
+import frc.robot.hardware.StatusReader;
+import frc.robot.hardware.TalonSRXOutput;
+import frc.robot.input.InputShaper;
+import frc.robot.input.ShapingCurve;
+import frc.robot.trajectory.MotionProfile;
+import frc.robot.trajectory.ProfileFollower;
+import frc.robot.trajectory.ProfileSpec;
+import frc.robot.util.Log;
+import frc.robot.util.LoopTimer;
+import frc.robot.util.LoopTimers;
+import frc.robot.util.RobotClock;
 
 /**
  * This class controls the drivetrain
@@ -25,51 +42,185 @@ public class DriveBase {
     // Define reverse value
     public static final double REVERSE_POINT = 0.15;
 
-    // Declare talons
-    private TalonSRX flm;
-    private TalonSRX frm;
-    private TalonSRX blm;
-    private TalonSRX brm;
+    // Define how long a drivetrain call may take before it counts as an overrun
+    public static final long CALL_OVERRUN_TIME = 1000000;
+
+    // Define motion magic settings for distance drives, tune these on the robot
+    public static final ClosedLoopConfig DISTANCE_CLOSED_LOOP = new ClosedLoopConfig(0.5, 0, 0, 2.5, 300, 600, 50);
+
+    // Define motion profile point period in milliseconds and S-curve jerk time in seconds
+    public static final int PROFILE_PERIOD = 10;
+    public static final double PROFILE_JERK_TIME = 0.2;
+
+    // Define saturation voltage and current limits of the compensated output mode,
+    // tune these on the robot
+    public static final OutputLimitConfig OUTPUT_LIMITS = new OutputLimitConfig(10, 35, 60, 100);
+
+    // Define how often the battery voltage and motor currents are read in
+    // milliseconds
+    public static final int STATUS_PERIOD = 50;
+
+    // Define motor indexes for the current readings
+    public static final int FRONT_LEFT = 0;
+    public static final int FRONT_RIGHT = 1;
+    public static final int BACK_LEFT = 2;
+    public static final int BACK_RIGHT = 3;
+
+    // Call timers
+    private static final LoopTimer arcadeDriveTimer = LoopTimers.create("DriveBase/arcadeDrive", CALL_OVERRUN_TIME);
+    private static final LoopTimer timedDriveTimer = LoopTimers.create("DriveBase/drive", CALL_OVERRUN_TIME);
+
+    // Declare talons, each behind a cache so unchanged frames are not sent
+    private CachedMotorOutput flm;
+    private CachedMotorOutput frm;
+    private CachedMotorOutput blm;
+    private CachedMotorOutput brm;
+
+    // Talons in the order of the motor indexes, only written when the output mode
+    // changes or a talon restarted
+    private final ClosedLoopOutput[] closedLoopMotors;
+    private final LimitedOutput[] limitedMotors;
+
+    // Declare encoders
+    private EncoderInput leftEncoder;
+    private EncoderInput rightEncoder;
+
+    // Time used for timed maneuvers
+    private final RobotClock clock;
 
     // Drive status
     private boolean joystickEnabled = false;
+    private boolean compensated = false;
+
+    // Distance drive targets in encoder ticks
+    private int leftTarget = 0;
+    private int rightTarget = 0;
+
+    // Streams motion profiles, null if the talons can not run them
+    private final ProfileFollower profileFollower;
+
+    // Reads the battery voltage and motor currents, null if the talons can not
+    // report them
+    private final StatusReader statusReader;
+
+    // Turns joystick input into drive powers
+    private InputShaper inputShaper = new InputShaper(ShapingCurve.SQUARED, JOYSTICK_DEADZONE, REVERSE_POINT, 0);
+
+    // Last commanded powers
+    private double leftPower = 0;
+    private double rightPower = 0;
 
     // Private instance for drivetrain
-    private static DriveBase instance = new DriveBase();
+    private static DriveBase instance;
 
     /**
      * This method returns the current instance of DriveBase
      * 
+     * @param clock The robot clock, only used when the instance is created
      * @return The instance
      */
-    public static DriveBase getInstance() {
+    public static synchronized DriveBase getInstance(RobotClock clock) {
+        if (instance == null) {
+            // Initialize talon devices
+            TalonSRXOutput blm = new TalonSRXOutput(43);
+            TalonSRXOutput brm = new TalonSRXOutput(44);
+
+            // Configure encoders
+            blm.configQuadEncoder();
+            brm.configQuadEncoder();
+
+            instance = new DriveBase(new TalonSRXOutput(41), new TalonSRXOutput(42), blm, brm, blm, brm, clock);
+
+            // Keep the talon profile buffers filled between loops while a profile runs
+            instance.profileFollower.useBufferThread(PROFILE_PERIOD);
+        }
+
         return instance;
     }
 
     /**
-     * Private constructor for DriveBase
+     * Creates a drivetrain. Robot code should use {@link #getInstance(RobotClock)}, this is
+     * for running the drive without the real talons.
+     * 
+     * @param <M>          The type of the motors, they must be able to follow, run a
+     *                     closed loop and limit their output
+     * @param flm          The front left motor
+     * @param frm          The front right motor
+     * @param blm          The back left motor
+     * @param brm          The back right motor
+     * @param leftEncoder  The left encoder
+     * @param rightEncoder The right encoder
+     * @param clock        The time used for timed maneuvers
      */
-    private DriveBase() {
-        // Initialize talon devices
-        flm = new TalonSRX(41);
-        frm = new TalonSRX(42);
-        blm = new TalonSRX(43);
-        brm = new TalonSRX(44);
+    public <M extends ClosedLoopOutput & LimitedOutput> DriveBase(M flm, M frm, M blm, M brm,
+            EncoderInput leftEncoder, EncoderInput rightEncoder, RobotClock clock) {
+        this.flm = new CachedMotorOutput(flm);
+        this.frm = new CachedMotorOutput(frm);
+        this.blm = new CachedMotorOutput(blm);
+        this.brm = new CachedMotorOutput(brm);
+        this.leftEncoder = leftEncoder;
+        this.rightEncoder = rightEncoder;
+        this.clock = clock;
+
+        closedLoopMotors = new ClosedLoopOutput[] { flm, frm, blm, brm };
+        limitedMotors = new LimitedOutput[] { flm, frm, blm, brm };
 
+        // Zero encoders
+        resetEncoders();
+
+        // The compensated output mode stays off until it is enabled
+        configureTalons();
+
+        // Motion profiles are streamed straight to the talons with encoders
+        if (blm instanceof ProfileOutput && brm instanceof ProfileOutput) {
+            profileFollower = new ProfileFollower((ProfileOutput) blm, (ProfileOutput) brm);
+        } else {
+            profileFollower = null;
+        }
+
+        // Status is read from every talon in the order of the motor indexes
+        if (flm instanceof StatusInput && frm instanceof StatusInput && blm instanceof StatusInput
+                && brm instanceof StatusInput) {
+            statusReader = new StatusReader(STATUS_PERIOD, (StatusInput) flm, (StatusInput) frm, (StatusInput) blm,
+                    (StatusInput) brm);
+        } else {
+            statusReader = null;
+        }
+    }
+
+    /**
+     * Sends the settings the talons forget when they restart
+     */
+    private void configureTalons() {
         // Invert right side of drivetrain
         frm.setInverted(true);
         brm.setInverted(true);
 
-        // Configure encoders
-        blm.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder);
-        brm.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder);
+        // Set up slave talons
+        closedLoopMotors[FRONT_LEFT].follow(closedLoopMotors[BACK_LEFT]);
+        closedLoopMotors[FRONT_RIGHT].follow(closedLoopMotors[BACK_RIGHT]);
 
-        // Zero encoders
-        resetEncoders();
+        // Set up the closed loop on the talons with encoders
+        closedLoopMotors[BACK_LEFT].configClosedLoop(DISTANCE_CLOSED_LOOP);
+        closedLoopMotors[BACK_RIGHT].configClosedLoop(DISTANCE_CLOSED_LOOP);
 
-        // Set up slave talons
-        flm.follow(blm);
-        frm.follow(brm);
+        // Set up the compensated output mode
+        for (LimitedOutput motor : limitedMotors) {
+            motor.configOutputLimits(OUTPUT_LIMITS);
+            motor.enableOutputLimits(compensated);
+        }
+    }
+
+    /**
+     * Forgets the values cached in front of the talons so the next writes are
+     * always sent. This is called when the robot is enabled, the talons were
+     * neutral while it was disabled.
+     */
+    public void invalidateOutputs() {
+        flm.invalidate();
+        frm.invalidate();
+        blm.invalidate();
+        brm.invalidate();
     }
 
     /**
@@ -79,7 +230,7 @@ public class DriveBase {
         blm.setNeutralMode(NeutralMode.Brake);
         brm.setNeutralMode(NeutralMode.Brake);
         flm.setNeutralMode(NeutralMode.Brake);
-        blm.setNeutralMode(NeutralMode.Brake);
+        frm.setNeutralMode(NeutralMode.Brake);
     }
 
     /**
@@ -89,7 +240,38 @@ public class DriveBase {
         blm.setNeutralMode(NeutralMode.Coast);
         brm.setNeutralMode(NeutralMode.Coast);
         flm.setNeutralMode(NeutralMode.Coast);
-        blm.setNeutralMode(NeutralMode.Coast);
+        frm.setNeutralMode(NeutralMode.Coast);
+    }
+
+    /**
+     * Turns the compensated output mode on or off. In this mode a power is a
+     * fraction of the saturation voltage instead of the battery voltage, so timed
+     * maneuvers cover the same distance as the battery sags, and the current of
+     * each talon is limited so the drive can not brown out the robot. Followers are
+     * compensated too so they keep matching their masters.
+     * 
+     * @param compensated True to compensate the output
+     */
+    public void setCompensated(boolean compensated) {
+        if (compensated == this.compensated) {
+            return;
+        }
+
+        for (LimitedOutput motor : limitedMotors) {
+            motor.enableOutputLimits(compensated);
+        }
+
+        this.compensated = compensated;
+        Log.info(compensated ? "Compensated drive output enabled" : "Compensated drive output disabled");
+    }
+
+    /**
+     * Returns true if the compensated output mode is on
+     * 
+     * @return True if compensated
+     */
+    public boolean isCompensated() {
+        return compensated;
     }
 
     /**
@@ -115,7 +297,7 @@ public class DriveBase {
         setJoystickEnabled(false);
         drive(0, 0);
 
-        System.out.println("[code] Joystick disabled");
+        Log.info("Joystick disabled");
     }
 
     /**
@@ -124,8 +306,9 @@ public class DriveBase {
     public void enableJoystick() {
         setJoystickEnabled(true);
         drive(0, 0);
+        inputShaper.reset(0, 0, clock.getTime());
 
-        System.out.println("[code] Joystick enabled");
+        Log.info("Joystick enabled");
     }
 
     /**
@@ -135,10 +318,32 @@ public class DriveBase {
      * @param rightPower The right power
      */
     public void drive(double leftPower, double rightPower) {
+        this.leftPower = leftPower;
+        this.rightPower = rightPower;
+
+        stopProfile();
         blm.set(ControlMode.PercentOutput, leftPower);
         brm.set(ControlMode.PercentOutput, rightPower);
     }
 
+    /**
+     * Returns the last commanded left power
+     * 
+     * @return The power
+     */
+    public double getLeftPower() {
+        return leftPower;
+    }
+
+    /**
+     * Returns the last commanded right power
+     * 
+     * @return The power
+     */
+    public double getRightPower() {
+        return rightPower;
+    }
+
     /**
      * Drives the motors with percentages for a period of time (don't need to invert
      * rightPower)
@@ -146,15 +351,34 @@ public class DriveBase {
      * @param leftPower  The left power
      * @param rightPower The right power
      * @param seconds    The time to drive
-     * @param startTiem  The time the maneuver was first started
+     * @param startTime  The clock time the maneuver was first started in
+     *                   microseconds
      * @return True if maneuver is complete
      */
     public boolean drive(double leftPower, double rightPower, double seconds, long startTime) {
-        // Compute time in milliseconds
-        long waitTime = (int) (1000 * seconds);
+        long timerStart = timedDriveTimer.start();
+        boolean done = updateTimedDrive(leftPower, rightPower, seconds, startTime);
+        timedDriveTimer.stop(timerStart);
+
+        return done;
+    }
+
+    /**
+     * Updates a timed maneuver
+     * 
+     * @param leftPower  The left power
+     * @param rightPower The right power
+     * @param seconds    The time to drive
+     * @param startTime  The clock time the maneuver was first started in
+     *                   microseconds
+     * @return True if maneuver is complete
+     */
+    private boolean updateTimedDrive(double leftPower, double rightPower, double seconds, long startTime) {
+        // Compute time in microseconds
+        long waitTime = RobotClock.fromSeconds(seconds);
 
         // Maneuver done?
-        if (System.currentTimeMillis() >= startTime + waitTime) {
+        if (clock.getTime() >= startTime + waitTime) {
             // Stop robot and return true
             drive(0, 0);
 
@@ -168,6 +392,115 @@ public class DriveBase {
         return false;
     }
 
+    /**
+     * Starts a closed loop drive for a distance from where the robot is now
+     * 
+     * @param distance The distance in encoder ticks, negative is backwards
+     */
+    public void startDistanceDrive(int distance) {
+        leftTarget = leftEncoder.getPosition() + distance;
+        rightTarget = rightEncoder.getPosition() + distance;
+    }
+
+    /**
+     * Drives to the distance targets with motion magic on the talons. The targets
+     * do not change during a drive, so only the first call sends a frame.
+     */
+    public void driveDistance() {
+        stopProfile();
+        blm.set(ControlMode.MotionMagic, leftTarget);
+        brm.set(ControlMode.MotionMagic, rightTarget);
+    }
+
+    /**
+     * Returns true if both sides are within the allowable error of the distance
+     * targets
+     * 
+     * @return True if on target
+     */
+    public boolean atDistanceTarget() {
+        int tolerance = DISTANCE_CLOSED_LOOP.getAllowableError();
+
+        return Math.abs(leftTarget - leftEncoder.getPosition()) <= tolerance
+                && Math.abs(rightTarget - rightEncoder.getPosition()) <= tolerance;
+    }
+
+    /**
+     * Returns the spec of a motion profile for a distance drive. The limits are the
+     * motion magic limits converted to ticks per second.
+     * 
+     * @param distance The distance in encoder ticks, negative is backwards
+     * @return The spec
+     */
+    public static ProfileSpec getProfileSpec(int distance) {
+        return new ProfileSpec(distance, DISTANCE_CLOSED_LOOP.getCruiseVelocity() * 10,
+                DISTANCE_CLOSED_LOOP.getAcceleration() * 10, PROFILE_JERK_TIME, PROFILE_PERIOD);
+    }
+
+    /**
+     * Returns true if the talons can run motion profiles
+     * 
+     * @return True if supported
+     */
+    public boolean canFollowProfile() {
+        return profileFollower != null;
+    }
+
+    /**
+     * Starts streaming a motion profile from where the robot is now
+     * 
+     * @param profile The profile
+     */
+    public void startProfile(MotionProfile profile) {
+        if (profileFollower == null) {
+            throw new UnsupportedOperationException("The drive motors can not run motion profiles");
+        }
+
+        profileFollower.start(profile, leftEncoder.getPosition(), rightEncoder.getPosition());
+    }
+
+    /**
+     * Streams the next points of the motion profile and runs it on the talons
+     * 
+     * @return True if the profile is finished
+     */
+    public boolean followProfile() {
+        int value = profileFollower.update();
+
+        blm.set(ControlMode.MotionProfile, value);
+        brm.set(ControlMode.MotionProfile, value);
+
+        return profileFollower.isFinished();
+    }
+
+    /**
+     * Stops streaming the motion profile when the talons leave profile mode
+     */
+    private void stopProfile() {
+        if (profileFollower != null) {
+            profileFollower.stop();
+        }
+    }
+
+    /**
+     * Returns true if the talons ran out of points during the motion profile
+     * 
+     * @return True if the profile underran
+     */
+    public boolean hasProfileUnderrun() {
+        return profileFollower != null && profileFollower.hasUnderrun();
+    }
+
+    /**
+     * Sets how joystick input is turned into drive powers
+     * 
+     * @param inputShaper The shaper
+     */
+    public void setInputShaper(InputShaper inputShaper) {
+        inputShaper.reset(leftPower, rightPower, clock.getTime());
+        this.inputShaper = inputShaper;
+    }
+
     /**
      * This method tells the drivetrain to drive based on the joystick input
      * 
@@ -177,89 +510,117 @@ public class DriveBase {
      * @param magnitude Joystick magnitude
      */
     public void arcadeDrive(double controlX, double controlY, double throttle, double magnitude) {
+        long timerStart = arcadeDriveTimer.start();
+        updateArcadeDrive(controlX, controlY, throttle, magnitude);
+        arcadeDriveTimer.stop(timerStart);
+    }
+
+    /**
+     * Computes and sets the joystick drive output
+     * 
+     * @param controlX  Joystick x
+     * @param controlY  Joystick y
+     * @param throttle  Joystick z
+     * @param magnitude Joystick magnitude
+     */
+    private void updateArcadeDrive(double controlX, double controlY, double throttle, double magnitude) {
         // Do nothing if the joystick is disabled
         if (!getJoystickEnabled()) {
             return;
         }
 
-        // Invert controlY
-        controlY = -controlY;
+        // Shape the input
+        inputShaper.update(controlX, controlY, throttle, magnitude, clock.getTime());
 
-        // Invert throttle
-        throttle = -throttle;
+        drive(inputShaper.getLeftPower(), inputShaper.getRightPower());
+    }
 
-        // Correct throttle value
-        throttle += 1;
-        throttle *= 0.5;
+    /**
+     * This method zeros the encoders
+     */
+    public void resetEncoders() {
+        leftEncoder.setPosition(0);
+        rightEncoder.setPosition(0);
+    }
 
-        // Make sure the throttle is within bounds
-        if (throttle < 0) {
-            throttle = 0;
-        } else if (throttle > 1) {
-            throttle = 1;
-        }
+    /**
+     * Returns the number of talon frames sent by the drivetrain
+     * 
+     * @return The frame count
+     */
+    public long getFramesSent() {
+        return flm.getFramesSent() + frm.getFramesSent() + blm.getFramesSent() + brm.getFramesSent();
+    }
 
-        // Check deadzone
-        if (magnitude <= JOYSTICK_DEADZONE) {
-            // Zero controls
-            controlX = 0;
-            controlY = 0;
-        }
+    /**
+     * Returns the number of talon frames the drivetrain did not send because
+     * nothing changed
+     * 
+     * @return The frame count
+     */
+    public long getFramesSuppressed() {
+        return flm.getFramesSuppressed() + frm.getFramesSuppressed() + blm.getFramesSuppressed()
+                + brm.getFramesSuppressed();
+    }
 
-        // Invert controlX if needed
-        if (controlY < -REVERSE_POINT) {
-            controlX = -controlX;
+    /**
+     * Reads the battery voltage and motor currents from the talons if a status
+     * period has passed since they were last read, and sends the talon settings
+     * again if a talon restarted. This should be called once per drive tick, the
+     * getters only return the cached values.
+     */
+    public void updateStatus() {
+        if (statusReader == null || !statusReader.update(clock.getTime())) {
+            return;
         }
 
-        // Square input
-        boolean signX = (controlX >= 0) ? false : true;
-        boolean signY = (controlY >= 0) ? false : true;
+        // A talon that lost power forgot its settings and the cached values are wrong
+        if (statusReader.checkReset()) {
+            Log.warning("A drive talon restarted, sending its settings again");
 
-        controlX = Math.abs(controlX);
-        controlY = Math.abs(controlY);
-
-        controlX *= controlX;
-        controlY *= controlY;
-
-        if (signX) {
-            controlX = -controlX;
-        }
+            invalidateOutputs();
+            configureTalons();
+            statusReader.configure();
 
-        if (signY) {
-            controlY = -controlY;
+            if (profileFollower != null) {
+                ((ProfileOutput) closedLoopMotors[BACK_LEFT]).configProfile();
+                ((ProfileOutput) closedLoopMotors[BACK_RIGHT]).configProfile();
+            }
         }
+    }
 
-        // Apply throttle
-        controlX *= throttle;
-        controlY *= throttle;
-
-        // Get drive values
-        double leftPower = controlY + controlX;
-        double rightPower = controlY - controlX;
-
-        // Make sure the powers are within bounds
-        if (leftPower < -1) {
-            leftPower = -1;
-        } else if (leftPower > 1) {
-            leftPower = 1;
-        }
+    /**
+     * Returns the battery voltage seen by the talons
+     * 
+     * @return The voltage, 0 if the talons can not report it
+     */
+    public double getBatteryVoltage() {
+        return (statusReader != null) ? statusReader.getBusVoltage() : 0;
+    }
 
-        if (rightPower < -1) {
-            rightPower = -1;
-        } else if (rightPower > 1) {
-            rightPower = 1;
+    /**
+     * Returns the current of one drive motor
+     * 
+     * @param motor The motor index, one of {@link #FRONT_LEFT},
+     *              {@link #FRONT_RIGHT}, {@link #BACK_LEFT} or
+     *              {@link #BACK_RIGHT}
+     * @return The current in amps, 0 if the talons can not report it
+     */
+    public double getCurrent(int motor) {
+        if (motor < FRONT_LEFT || motor > BACK_RIGHT) {
+            throw new IllegalArgumentException("Unknown drive motor " + motor);
         }
 
-        blm.set(ControlMode.PercentOutput, leftPower);
-        brm.set(ControlMode.PercentOutput, rightPower);
+        return (statusReader != null) ? statusReader.getCurrent(motor) : 0;
     }
 
     /**
-     * This method zeros the encoders
+     * Returns the current of all of the drive motors
+     * 
+     * @return The current in amps, 0 if the talons can not report it
      */
-    public void resetEncoders() {
-        blm.setSelectedSensorPosition(0);
-        brm.setSelectedSensorPosition(0);
+    public double getTotalCurrent() {
+        return (statusReader != null) ? statusReader.getTotalCurrent() : 0;
     }
 
     /**
@@ -268,7 +629,7 @@ public class DriveBase {
      * @return The encoder value
      */
     public int getBLMValues() {
-        return blm.getSelectedSensorPosition();
+        return leftEncoder.getPosition();
     }
 
     /**
@@ -277,6 +638,6 @@ public class DriveBase {
      * @return The encoder value
      */
     public int getBRMValues() {
-        return brm.getSelectedSensorPosition();
+        return rightEncoder.getPosition();
     }
 }
@@ -0,0 +1,152 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opencv.core.Mat;
+
+/**
+ * This class is one buffer in the ring of a {@link FrameHub}. Every holder of
+ * a frame owns a reference and must release it when done, the buffer is only
+ * written again once nobody holds it.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class Frame {
+	// Hub the buffer belongs to
+	private final FrameHub hub;
+
+	// Pixel buffer, created by the first capture into this frame
+	private Mat mat;
+
+	// Number of holders, -1 once the pixels are freed
+	private final AtomicInteger refs = new AtomicInteger(0);
+
+	// Capture time in microseconds and capture number, set before publishing and
+	// read by consumers that may race with the next capture
+	private volatile long time = 0;
+	private volatile long sequence = 0;
+
+	/**
+	 * Creates a buffer
+	 * 
+	 * @param hub The hub the buffer belongs to
+	 */
+	Frame(FrameHub hub) {
+		this.hub = hub;
+	}
+
+	/**
+	 * Returns the pixels. They must not be changed by consumers.
+	 * 
+	 * @return The pixels
+	 */
+	public Mat getMat() {
+		if (mat == null) {
+			mat = new Mat();
+		}
+
+		return mat;
+	}
+
+	/**
+	 * Returns the capture time
+	 * 
+	 * @return The time in microseconds, in the same time base as the robot clock
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the number of the capture, starting at 1
+	 * 
+	 * @return The sequence number
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Releases a reference
+	 */
+	public void release() {
+		int count = refs.decrementAndGet();
+
+		if (count < 0) {
+			throw new IllegalStateException("Frame released more times than it was acquired");
+		}
+
+		// The hub was closed while this frame was held
+		if (count == 0 && hub.isClosed()) {
+			free();
+		}
+	}
+
+	/**
+	 * Takes the buffer for writing if nobody holds it
+	 * 
+	 * @return True if the buffer was taken
+	 */
+	boolean tryClaim() {
+		return refs.compareAndSet(0, 1);
+	}
+
+	/**
+	 * Adds a reference if the frame is still held by someone
+	 * 
+	 * @return True if a reference was added
+	 */
+	boolean tryRetain() {
+		while (true) {
+			int count = refs.get();
+
+			if (count <= 0) {
+				return false;
+			}
+
+			if (refs.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Adds a reference to a frame the caller already holds
+	 */
+	void retain() {
+		refs.incrementAndGet();
+	}
+
+	/**
+	 * Sets the capture details
+	 * 
+	 * @param time     The capture time in microseconds
+	 * @param sequence The capture number
+	 */
+	void stamp(long time, long sequence) {
+		this.time = time;
+		this.sequence = sequence;
+	}
+
+	/**
+	 * Frees the pixels if nobody holds the frame
+	 */
+	void free() {
+		if (refs.compareAndSet(0, -1) && mat != null) {
+			mat.release();
+		}
+	}
+
+	/**
+	 * Makes a freed frame usable again, the pixels are allocated on the next grab
+	 */
+	void reset() {
+		refs.compareAndSet(-1, 0);
+	}
+}
@@ -0,0 +1,30 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+/**
+ * This interface is implemented by anything that uses camera frames from a
+ * {@link FrameHub}
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface FrameConsumer {
+	/**
+	 * Uses a frame. The frame is released by the caller after this returns.
+	 * 
+	 * @param frame The frame
+	 */
+	void accept(Frame frame);
+
+	/**
+	 * Frees anything the consumer allocated. This is called when the camera is
+	 * closed.
+	 */
+	default void release() {
+	}
+}
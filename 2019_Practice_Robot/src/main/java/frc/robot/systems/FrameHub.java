@@ -0,0 +1,186 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class shares the frames of one camera. The camera grabs each frame once
+ * into a ring of buffers and any number of consumers read the newest frame
+ * without copying it. A consumer that is slower than the camera skips frames,
+ * it never holds up the capture.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class FrameHub {
+	// Define default ring size, enough for the newest frame, the capture and two
+	// consumers
+	public static final int DEFAULT_SIZE = 4;
+
+	// Ring of buffers
+	private final Frame[] frames;
+
+	// Newest frame, the hub holds a reference to it
+	private final AtomicReference<Frame> latest = new AtomicReference<>();
+
+	// Number of frames published, only written by the capture
+	private long sequence = 0;
+
+	// Captures that found every buffer held
+	private volatile long framesDropped = 0;
+
+	// Set while the camera is closed
+	private volatile boolean closed = true;
+
+	/**
+	 * Creates a hub with the default ring size
+	 */
+	public FrameHub() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates a hub
+	 * 
+	 * @param size The number of buffers, at least one more than the number of
+	 *             frames that can be held at once
+	 */
+	public FrameHub(int size) {
+		if (size < 2) {
+			throw new IllegalArgumentException("Frame hub needs at least two buffers");
+		}
+
+		frames = new Frame[size];
+
+		for (int i = 0; i < size; i++) {
+			frames[i] = new Frame(this);
+		}
+	}
+
+	/**
+	 * Starts accepting frames
+	 */
+	public void open() {
+		for (Frame frame : frames) {
+			frame.reset();
+		}
+
+		closed = false;
+	}
+
+	/**
+	 * Stops accepting frames and frees the buffers. Frames that are still held
+	 * are freed when they are released.
+	 */
+	public void close() {
+		closed = true;
+
+		Frame last = latest.getAndSet(null);
+		if (last != null) {
+			last.release();
+		}
+
+		for (Frame frame : frames) {
+			frame.free();
+		}
+	}
+
+	/**
+	 * Returns true if the hub is closed
+	 * 
+	 * @return True if closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Takes a buffer nobody holds for the next capture. The caller owns a
+	 * reference to it.
+	 * 
+	 * @return The buffer, or null if every buffer is held and the frame has to be
+	 *         dropped
+	 */
+	public Frame claim() {
+		if (closed) {
+			return null;
+		}
+
+		for (Frame frame : frames) {
+			if (frame.tryClaim()) {
+				return frame;
+			}
+		}
+
+		framesDropped++;
+		return null;
+	}
+
+	/**
+	 * Makes a captured frame the newest frame. The caller keeps its reference.
+	 * 
+	 * @param frame The frame from {@link #claim()}
+	 * @param time  The capture time in microseconds
+	 */
+	public void publish(Frame frame, long time) {
+		frame.stamp(time, ++sequence);
+
+		// Reference for the hub
+		frame.retain();
+
+		Frame old = latest.getAndSet(frame);
+		if (old != null) {
+			old.release();
+		}
+	}
+
+	/**
+	 * Returns the newest frame if it is newer than a sequence number. The caller
+	 * owns a reference to it.
+	 * 
+	 * @param after The sequence number of the last frame the caller read
+	 * @return The frame, or null if there is no newer frame
+	 */
+	public Frame acquire(long after) {
+		while (true) {
+			Frame frame = latest.get();
+
+			if (frame == null || frame.getSequence() <= after) {
+				return null;
+			}
+
+			// The frame may have been replaced and reused since it was read
+			if (frame.tryRetain()) {
+				if (latest.get() == frame && frame.getSequence() > after) {
+					return frame;
+				}
+
+				frame.release();
+			}
+		}
+	}
+
+	/**
+	 * Creates a reader for a consumer
+	 * 
+	 * @return The reader
+	 */
+	public FrameReader reader() {
+		return new FrameReader(this);
+	}
+
+	/**
+	 * Returns the number of captures that were dropped because every buffer was
+	 * held
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesDropped() {
+		return framesDropped;
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+/**
+ * This class reads the newest frames of a {@link FrameHub} for one consumer
+ * and counts the frames the consumer was too slow to see
+ * 
+ * @author Caleb Heydon
+ */
+
+public class FrameReader {
+	// Hub being read
+	private final FrameHub hub;
+
+	// Sequence number of the last frame read
+	private long sequence = 0;
+
+	// Frames published between reads
+	private volatile long framesSkipped = 0;
+
+	/**
+	 * Creates a reader
+	 * 
+	 * @param hub The hub
+	 */
+	FrameReader(FrameHub hub) {
+		this.hub = hub;
+	}
+
+	/**
+	 * Returns the newest frame if one was captured since the last call. The frame
+	 * must be released by the caller.
+	 * 
+	 * @return The frame, or null if there is no new frame
+	 */
+	public Frame next() {
+		Frame frame = hub.acquire(sequence);
+
+		if (frame != null) {
+			if (sequence != 0) {
+				framesSkipped += frame.getSequence() - sequence - 1;
+			}
+
+			sequence = frame.getSequence();
+		}
+
+		return frame;
+	}
+
+	/**
+	 * Returns the number of frames that were replaced before they were read
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesSkipped() {
+		return framesSkipped;
+	}
+}
@@ -0,0 +1,439 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.dashboard.NumberEntry;
+import frc.robot.scheduler.PeriodicTask;
+import frc.robot.scheduler.Scheduler;
+import frc.robot.util.Log;
+
+/**
+ * This class captures all of the cameras on its own low priority thread so that
+ * waiting for a frame never holds a scheduler worker. Consumers of the camera
+ * frames run as non-critical scheduler tasks at their own rates.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class VisionPipeline {
+	// Define default frame rate
+	public static final double DEFAULT_FRAME_RATE = 15;
+
+	// Define default fraction of a core each camera may use
+	public static final double DEFAULT_CPU_BUDGET = 0.15;
+
+	// Define how often the stage timing is published and the cpu budget checked
+	public static final long PUBLISH_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+	// Cameras owned by the pipeline
+	private final List<Camera> cameras = new ArrayList<>();
+
+	// Frame consumers
+	private final List<ConsumerTask> consumers = new ArrayList<>();
+
+	// Time between frames in nanoseconds
+	private final long framePeriod;
+	private final int frameRate;
+
+	// Fraction of a core each camera may use before frames are skipped
+	private final double cpuBudget;
+
+	// Capture thread
+	private Thread captureThread;
+	private volatile boolean running = false;
+
+	// Pipeline state, only used by the capture thread
+	private boolean opened = false;
+	private double timeout;
+	private long lastFrame;
+	private long lastPublish;
+	private long frame = 0;
+
+	// Stage timing on the dashboard, only used by the capture thread once it is
+	// started
+	private Dashboard dashboard;
+	private final List<CameraEntries> cameraEntries = new ArrayList<>();
+
+	/**
+	 * Creates a pipeline running at the default frame rate
+	 */
+	public VisionPipeline() {
+		this(DEFAULT_FRAME_RATE, DEFAULT_CPU_BUDGET);
+	}
+
+	/**
+	 * Creates a pipeline
+	 * 
+	 * @param frameRate The number of frames per second to process for each camera
+	 * @param cpuBudget The fraction of a core each camera may use
+	 */
+	public VisionPipeline(double frameRate, double cpuBudget) {
+		if (frameRate <= 0) {
+			throw new IllegalArgumentException("Frame rate must be positive");
+		}
+
+		if (cpuBudget <= 0) {
+			throw new IllegalArgumentException("Cpu budget must be positive");
+		}
+
+		this.frameRate = (int) Math.ceil(frameRate);
+		this.cpuBudget = cpuBudget;
+		framePeriod = (long) (TimeUnit.SECONDS.toNanos(1) / frameRate);
+	}
+
+	/**
+	 * Adds a camera to the pipeline. Cameras must be added before the pipeline is
+	 * started.
+	 * 
+	 * @param camera The camera
+	 */
+	public synchronized void addCamera(Camera camera) {
+		if (running) {
+			throw new IllegalStateException("Cannot add a camera while the pipeline is running");
+		}
+
+		cameras.add(camera);
+	}
+
+	/**
+	 * Adds a consumer of the frames of a camera. The consumer gets the newest
+	 * frame at its own rate and skips the frames it is too slow for. Consumers
+	 * must be added before the pipeline is started.
+	 * 
+	 * @param name     The name of the consumer task
+	 * @param camera   The camera
+	 * @param rate     The most frames per second the consumer reads
+	 * @param consumer The consumer
+	 */
+	public synchronized void addConsumer(String name, Camera camera, double rate, FrameConsumer consumer) {
+		if (running) {
+			throw new IllegalStateException("Cannot add a consumer while the pipeline is running");
+		}
+
+		if (!cameras.contains(camera)) {
+			throw new IllegalArgumentException("Camera is not part of the pipeline");
+		}
+
+		if (rate <= 0) {
+			throw new IllegalArgumentException("Rate must be positive");
+		}
+
+		consumers.add(new ConsumerTask(name, camera.getFrameHub().reader(), rate, consumer));
+	}
+
+	/**
+	 * Returns true if the pipeline is running
+	 * 
+	 * @return True if running
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * This method starts the capture thread and adds the consumers to a scheduler
+	 * as non-critical tasks
+	 * 
+	 * @param scheduler The scheduler
+	 */
+	public synchronized void start(Scheduler scheduler) {
+		// Do not run cameras if it is a simulation
+		if (running || !RobotBase.isReal()) {
+			return;
+		}
+
+		// The frame timeout is split between the cameras
+		if (cameras.isEmpty()) {
+			Log.warning("Vision pipeline has no cameras, it was not started");
+			return;
+		}
+
+		running = true;
+
+		// The keys are made once here, the capture thread only sets the values
+		if (dashboard == null) {
+			dashboard = new Dashboard();
+
+			for (Camera camera : cameras) {
+				cameraEntries.add(new CameraEntries(dashboard, camera));
+			}
+
+			for (ConsumerTask consumer : consumers) {
+				consumer.skippedEntry = dashboard.addNumber("Vision/" + consumer.name + "/Skipped");
+			}
+		}
+
+		// Declare thread
+		captureThread = new Thread(this::capture);
+
+		// Set thread properties
+		captureThread.setName("Vision Capture");
+		captureThread.setDaemon(true);
+		captureThread.setPriority(Thread.MIN_PRIORITY);
+
+		// Start capture thread
+		captureThread.start();
+
+		for (ConsumerTask consumer : consumers) {
+			consumer.task = scheduler.add("Vision/" + consumer.name, consumer.period, false, consumer::run);
+		}
+	}
+
+	/**
+	 * This method stops the pipeline. The cameras are closed by the capture thread
+	 * and the consumers by the last run of their tasks.
+	 */
+	public synchronized void stop() {
+		running = false;
+
+		if (captureThread != null) {
+			LockSupport.unpark(captureThread);
+			captureThread = null;
+		}
+	}
+
+	/**
+	 * The capture loop, it processes one frame from each camera every frame period
+	 */
+	private void capture() {
+		try {
+			open(System.nanoTime());
+
+			while (running) {
+				long now = System.nanoTime();
+
+				try {
+					runFrame(now);
+				} catch (RuntimeException e) {
+					Log.error("Vision frame failed: " + e);
+				}
+
+				// Wait for the next frame
+				long wait = now + framePeriod - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(this, wait);
+				}
+			}
+		} catch (RuntimeException e) {
+			Log.error("Vision capture failed: " + e);
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Processes one frame from each camera
+	 * 
+	 * @param now The current time in nanoseconds
+	 */
+	private void runFrame(long now) {
+		// Frames that were not grabbed while we fell behind are skipped
+		if (now - lastFrame >= framePeriod * 2) {
+			long missed = (now - lastFrame) / framePeriod - 1;
+			for (Camera camera : cameras) {
+				camera.dropFrames(missed);
+			}
+		}
+
+		lastFrame = now;
+
+		for (Camera camera : cameras) {
+			// Cameras over their budget only run every few frames
+			if (frame % (camera.getFrameSkip() + 1) == 0) {
+				camera.processFrame(timeout);
+			}
+		}
+
+		frame++;
+
+		// Check the cpu budget and publish stage timing
+		if (now - lastPublish >= PUBLISH_PERIOD) {
+			adaptToBudget(now - lastPublish);
+			publishTiming(now);
+			lastPublish = now;
+		}
+	}
+
+	/**
+	 * Sets up the camera captures
+	 * 
+	 * @param now The current time in nanoseconds
+	 */
+	private void open(long now) {
+		// Cameras opened before a failure are still closed
+		opened = true;
+
+		for (Camera camera : cameras) {
+			camera.open(frameRate);
+		}
+
+		// Never wait longer for a frame than one period split between the cameras
+		timeout = (double) framePeriod / TimeUnit.SECONDS.toNanos(1) / cameras.size();
+
+		lastFrame = now;
+		lastPublish = now;
+	}
+
+	/**
+	 * Closes the cameras
+	 */
+	private void close() {
+		if (opened) {
+			for (Camera camera : cameras) {
+				camera.close();
+			}
+
+			opened = false;
+		}
+	}
+
+	/**
+	 * Skips more frames on cameras that went over the cpu budget and fewer on
+	 * cameras that are well under it
+	 * 
+	 * @param windowTime The time since the last check in nanoseconds
+	 */
+	private void adaptToBudget(long windowTime) {
+		for (Camera camera : cameras) {
+			camera.updateCpuUsage(windowTime);
+			double usage = camera.getCpuUsage();
+
+			if (usage > cpuBudget) {
+				camera.setFrameSkip(camera.getFrameSkip() + 1);
+			} else if (usage < cpuBudget / 2) {
+				camera.setFrameSkip(camera.getFrameSkip() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Puts the stage timing of each camera on the dashboard
+	 * 
+	 * @param now The current time in nanoseconds
+	 */
+	private void publishTiming(long now) {
+		for (CameraEntries entries : cameraEntries) {
+			entries.set();
+		}
+
+		for (ConsumerTask consumer : consumers) {
+			consumer.skippedEntry.set(consumer.reader.getFramesSkipped());
+		}
+
+		dashboard.update(now);
+	}
+
+	/**
+	 * This class holds the dashboard values of one camera
+	 */
+	private static final class CameraEntries {
+		// Camera shown
+		private final Camera camera;
+
+		// Dashboard values
+		private final NumberEntry grabTime;
+		private final NumberEntry convertTime;
+		private final NumberEntry putTime;
+		private final NumberEntry frames;
+		private final NumberEntry dropped;
+		private final NumberEntry cpuUsage;
+		private final NumberEntry frameSkip;
+
+		/**
+		 * Adds the values of a camera to a dashboard
+		 * 
+		 * @param dashboard The dashboard
+		 * @param camera    The camera
+		 */
+		private CameraEntries(Dashboard dashboard, Camera camera) {
+			this.camera = camera;
+
+			String prefix = "Vision/" + camera.getName() + "/";
+
+			grabTime = dashboard.addNumber(prefix + "Grab ms");
+			convertTime = dashboard.addNumber(prefix + "Convert ms");
+			putTime = dashboard.addNumber(prefix + "Put ms");
+			frames = dashboard.addNumber(prefix + "Frames");
+			dropped = dashboard.addNumber(prefix + "Dropped");
+			cpuUsage = dashboard.addNumber(prefix + "Cpu %");
+			frameSkip = dashboard.addNumber(prefix + "Frame skip");
+		}
+
+		/**
+		 * Sets the values from the camera
+		 */
+		private void set() {
+			grabTime.set(camera.getGrabTime() / 1e6);
+			convertTime.set(camera.getConvertTime() / 1e6);
+			putTime.set(camera.getPutTime() / 1e6);
+			frames.set(camera.getFramesProcessed());
+			dropped.set(camera.getFramesDropped());
+			cpuUsage.set(camera.getCpuUsage() * 100);
+			frameSkip.set(camera.getFrameSkip());
+		}
+	}
+
+	/**
+	 * This class runs one frame consumer as a scheduler task
+	 */
+	private final class ConsumerTask {
+		// Consumer settings
+		private final String name;
+		private final FrameReader reader;
+		private final long period;
+		private final FrameConsumer consumer;
+
+		// Consumer task
+		private PeriodicTask task;
+
+		// Frames skipped on the dashboard, only set by the capture thread
+		private NumberEntry skippedEntry;
+
+		/**
+		 * Creates a consumer task
+		 * 
+		 * @param name     The name of the task
+		 * @param reader   The reader for the camera frames
+		 * @param rate     The most frames per second to read
+		 * @param consumer The consumer
+		 */
+		private ConsumerTask(String name, FrameReader reader, double rate, FrameConsumer consumer) {
+			this.name = name;
+			this.reader = reader;
+			this.consumer = consumer;
+			period = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		}
+
+		/**
+		 * Gives the newest frame to the consumer if there is one
+		 */
+		private void run() {
+			if (!running) {
+				consumer.release();
+				task.cancel();
+				return;
+			}
+
+			Frame frame = reader.next();
+			if (frame == null) {
+				return;
+			}
+
+			try {
+				consumer.accept(frame);
+			} finally {
+				frame.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+
+/**
+ * This filter crops a frame to a region of interest. The camera fills a ring of
+ * buffers, so the input moves every frame. A view of the region is kept for
+ * each buffer it has seen, which makes a steady stream of frames a single copy
+ * with no native allocation.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class CropFilter implements FrameFilter {
+	// Define the number of input buffers a view is kept for, more than a frame hub
+	// ring
+	public static final int VIEW_CACHE_SIZE = 8;
+
+	// Region of interest
+	private final Rect roi;
+
+	// Cached view of the region in each input buffer
+	private final Mat[] views = new Mat[VIEW_CACHE_SIZE];
+	private final long[] viewAddresses = new long[VIEW_CACHE_SIZE];
+
+	// Slot the next new view replaces once the cache is full
+	private int nextView = 0;
+
+	/**
+	 * Creates a crop filter
+	 * 
+	 * @param x      The left edge of the region
+	 * @param y      The top edge of the region
+	 * @param width  The width of the region
+	 * @param height The height of the region
+	 */
+	public CropFilter(int x, int y, int width, int height) {
+		roi = new Rect(x, y, width, height);
+	}
+
+	@Override
+	public Mat allocate(int width, int height, int type) {
+		if (roi.x < 0 || roi.y < 0 || roi.x + roi.width > width || roi.y + roi.height > height) {
+			throw new IllegalArgumentException("Crop region is outside of the frame");
+		}
+
+		// Force new views since the input buffers may have been reallocated
+		release();
+
+		return new Mat(roi.height, roi.width, type);
+	}
+
+	@Override
+	public void apply(Mat input, Mat output) {
+		getView(input).copyTo(output);
+	}
+
+	/**
+	 * Returns the view of the region in an input buffer, it is only created the
+	 * first time the buffer is seen
+	 * 
+	 * @param input The input frame
+	 * @return The view
+	 */
+	private Mat getView(Mat input) {
+		long address = input.dataAddr();
+
+		for (int i = 0; i < VIEW_CACHE_SIZE; i++) {
+			if (views[i] != null && viewAddresses[i] == address) {
+				return views[i];
+			}
+		}
+
+		// The oldest view goes, its buffer has most likely been freed
+		if (views[nextView] != null) {
+			views[nextView].release();
+		}
+
+		Mat view = input.submat(roi);
+		views[nextView] = view;
+		viewAddresses[nextView] = address;
+		nextView = (nextView + 1) % VIEW_CACHE_SIZE;
+
+		return view;
+	}
+
+	/**
+	 * Frees the cached views. A view holds on to its input buffer, so this must be
+	 * called when the buffers are freed.
+	 */
+	@Override
+	public void release() {
+		for (int i = 0; i < VIEW_CACHE_SIZE; i++) {
+			if (views[i] != null) {
+				views[i].release();
+				views[i] = null;
+			}
+		}
+
+		nextView = 0;
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.Mat;
+
+/**
+ * This class runs a frame through a list of filters. Every filter writes into
+ * its own buffer that is allocated once for the input resolution, so a steady
+ * stream of frames does not allocate.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class FilterChain {
+	// Filter stages
+	private final FrameFilter[] filters;
+
+	// Output buffer of each stage
+	private final Mat[] buffers;
+
+	// Input format the buffers are sized for
+	private int width = -1;
+	private int height = -1;
+	private int type = -1;
+
+	/**
+	 * Creates a filter chain
+	 * 
+	 * @param filters The filters in the order they are applied
+	 */
+	public FilterChain(FrameFilter... filters) {
+		this.filters = filters.clone();
+		buffers = new Mat[filters.length];
+	}
+
+	/**
+	 * Sizes the buffers for frames of the given format
+	 * 
+	 * @param width  The frame width
+	 * @param height The frame height
+	 * @param type   The frame type
+	 */
+	public void allocate(int width, int height, int type) {
+		release();
+
+		this.width = width;
+		this.height = height;
+		this.type = type;
+
+		// Each stage is sized from the output of the stage before it
+		for (int i = 0; i < filters.length; i++) {
+			buffers[i] = filters[i].allocate(width, height, type);
+
+			// Stage has nothing to do for this format
+			if (buffers[i] == null) {
+				continue;
+			}
+
+			width = buffers[i].cols();
+			height = buffers[i].rows();
+			type = buffers[i].type();
+		}
+	}
+
+	/**
+	 * Filters a frame. The buffers are only resized if the input format changes.
+	 * 
+	 * @param source The input frame
+	 * @return The filtered frame, which is owned by the chain and overwritten by
+	 *         the next call
+	 */
+	public Mat process(Mat source) {
+		if (source.cols() != width || source.rows() != height || source.type() != type) {
+			allocate(source.cols(), source.rows(), source.type());
+		}
+
+		Mat frame = source;
+
+		for (int i = 0; i < filters.length; i++) {
+			if (buffers[i] != null) {
+				filters[i].apply(frame, buffers[i]);
+				frame = buffers[i];
+			}
+		}
+
+		return frame;
+	}
+
+	/**
+	 * Frees the buffers and anything the filters hold
+	 */
+	public void release() {
+		for (int i = 0; i < buffers.length; i++) {
+			filters[i].release();
+
+			if (buffers[i] != null) {
+				buffers[i].release();
+				buffers[i] = null;
+			}
+		}
+
+		width = -1;
+		height = -1;
+		type = -1;
+	}
+}
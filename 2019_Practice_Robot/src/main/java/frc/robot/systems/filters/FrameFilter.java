@@ -0,0 +1,45 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.Mat;
+
+/**
+ * This interface is implemented by every stage of a {@link FilterChain}
+ * 
+ * @author Caleb Heydon
+ */
+
+public interface FrameFilter {
+	/**
+	 * Creates the output buffer of this stage. This is only called when the chain
+	 * is sized, never once per frame.
+	 * 
+	 * @param width  The input width
+	 * @param height The input height
+	 * @param type   The input type
+	 * @return The output buffer, or null if the stage would not change the frame
+	 *         and should be skipped
+	 */
+	Mat allocate(int width, int height, int type);
+
+	/**
+	 * Filters a frame. The output buffer is the one returned by
+	 * {@link #allocate(int, int, int)} and must be written in place.
+	 * 
+	 * @param input  The input frame
+	 * @param output The output buffer
+	 */
+	void apply(Mat input, Mat output);
+
+	/**
+	 * Frees anything the stage holds besides its output buffer. This is called
+	 * when the chain is freed or resized.
+	 */
+	default void release() {
+	}
+}
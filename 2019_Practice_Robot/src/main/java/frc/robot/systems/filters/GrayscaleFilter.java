@@ -0,0 +1,34 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * This filter converts a BGR frame to grayscale
+ * 
+ * @author Caleb Heydon
+ */
+
+public class GrayscaleFilter implements FrameFilter {
+	@Override
+	public Mat allocate(int width, int height, int type) {
+		if (type != CvType.CV_8UC3) {
+			throw new IllegalArgumentException("Grayscale filter needs a BGR frame");
+		}
+
+		return new Mat(height, width, CvType.CV_8UC1);
+	}
+
+	@Override
+	public void apply(Mat input, Mat output) {
+		// cvtColor writes every pixel so the output is never cleared
+		Imgproc.cvtColor(input, output, Imgproc.COLOR_BGR2GRAY);
+	}
+}
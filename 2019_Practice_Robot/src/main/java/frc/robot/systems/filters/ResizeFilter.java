@@ -0,0 +1,48 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * This filter scales a frame to a fixed resolution
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ResizeFilter implements FrameFilter {
+	// Output resolution
+	private final Size size;
+
+	/**
+	 * Creates a resize filter
+	 * 
+	 * @param width  The output width
+	 * @param height The output height
+	 */
+	public ResizeFilter(int width, int height) {
+		size = new Size(width, height);
+	}
+
+	@Override
+	public Mat allocate(int width, int height, int type) {
+		// Skip the copy if the frame is already the right size
+		if (width == (int) size.width && height == (int) size.height) {
+			return null;
+		}
+
+		return new Mat(size, type);
+	}
+
+	@Override
+	public void apply(Mat input, Mat output) {
+		// Area interpolation gives the best result when shrinking
+		Imgproc.resize(input, output, size, 0, 0, Imgproc.INTER_AREA);
+	}
+}
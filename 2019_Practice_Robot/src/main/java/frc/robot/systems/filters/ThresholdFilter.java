@@ -0,0 +1,43 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import org.opencv.core.Mat;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * This filter applies a binary threshold to a frame
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ThresholdFilter implements FrameFilter {
+	// Threshold settings
+	private final double threshold;
+	private final double maxValue;
+
+	/**
+	 * Creates a threshold filter
+	 * 
+	 * @param threshold The threshold
+	 * @param maxValue  The value of pixels above the threshold
+	 */
+	public ThresholdFilter(double threshold, double maxValue) {
+		this.threshold = threshold;
+		this.maxValue = maxValue;
+	}
+
+	@Override
+	public Mat allocate(int width, int height, int type) {
+		return new Mat(height, width, type);
+	}
+
+	@Override
+	public void apply(Mat input, Mat output) {
+		Imgproc.threshold(input, output, threshold, maxValue, Imgproc.THRESH_BINARY);
+	}
+}
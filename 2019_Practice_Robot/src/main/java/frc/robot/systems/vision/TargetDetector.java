@@ -0,0 +1,321 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.vision;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+import frc.robot.bus.Subscription;
+import frc.robot.bus.Topic;
+import frc.robot.systems.Frame;
+import frc.robot.systems.FrameConsumer;
+
+/**
+ * This class finds a vision target in BGR frames. The frame is thresholded in
+ * HSV and the largest contour is taken as the target. Once a target is found
+ * only the region around it is searched on the next frame, the whole frame is
+ * only searched again if the target is lost.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class TargetDetector implements FrameConsumer {
+	// Define default HSV range for a green light ring on retroreflective tape
+	public static final Scalar DEFAULT_LOWER = new Scalar(55, 100, 100);
+	public static final Scalar DEFAULT_UPPER = new Scalar(95, 255, 255);
+
+	// Define default smallest contour area in pixels
+	public static final double DEFAULT_MIN_AREA = 20;
+
+	// Define default horizontal field of view of a Lifecam HD-3000 in degrees
+	public static final double DEFAULT_FIELD_OF_VIEW = 61;
+
+	// Define default bounding width of one tilted 2019 vision strip in inches
+	public static final double DEFAULT_TARGET_WIDTH = 3.31;
+
+	// Define how far the tracked region reaches past the target, as a fraction of
+	// the target size and in pixels
+	public static final double ROI_MARGIN = 1;
+	public static final int MIN_ROI_MARGIN = 8;
+
+	// Detection settings
+	private final Scalar lower;
+	private final Scalar upper;
+	private final double minArea;
+	private final double fieldOfView;
+	private final double targetWidth;
+
+	// Buffers for the whole frame, the tracked region uses views of them
+	private final Mat hsv = new Mat();
+	private final Mat mask = new Mat();
+	private final Mat hierarchy = new Mat();
+	private final List<MatOfPoint> contours = new ArrayList<>();
+
+	// Frame size the buffers are made for
+	private int width = -1;
+	private int height = -1;
+
+	// Focal length in pixels
+	private double focalLength;
+
+	// Tracked region, only used while locked
+	private boolean locked = false;
+	private final Rect roi = new Rect();
+
+	// Best contour of the last search, in frame pixels
+	private final Rect box = new Rect();
+	private double boxArea;
+
+	// Results
+	private final VisionTarget result = new VisionTarget();
+	private final Topic<VisionTarget> topic = new Topic<>(VisionTarget::new);
+
+	// Frame counters
+	private volatile long framesTracked = 0;
+	private volatile long framesSearched = 0;
+
+	/**
+	 * Creates a detector with the default settings
+	 */
+	public TargetDetector() {
+		this(DEFAULT_LOWER, DEFAULT_UPPER, DEFAULT_MIN_AREA, DEFAULT_FIELD_OF_VIEW, DEFAULT_TARGET_WIDTH);
+	}
+
+	/**
+	 * Creates a detector
+	 * 
+	 * @param lower       The lowest HSV values of the target
+	 * @param upper       The highest HSV values of the target
+	 * @param minArea     The smallest contour area in pixels
+	 * @param fieldOfView The horizontal field of view of the camera in degrees
+	 * @param targetWidth The bounding width of the target, the distance is in the
+	 *                    same units
+	 */
+	public TargetDetector(Scalar lower, Scalar upper, double minArea, double fieldOfView, double targetWidth) {
+		if (fieldOfView <= 0 || fieldOfView >= 180) {
+			throw new IllegalArgumentException("Field of view must be between 0 and 180 degrees");
+		}
+
+		if (targetWidth <= 0) {
+			throw new IllegalArgumentException("Target width must be positive");
+		}
+
+		this.lower = lower;
+		this.upper = upper;
+		this.minArea = minArea;
+		this.fieldOfView = fieldOfView;
+		this.targetWidth = targetWidth;
+	}
+
+	@Override
+	public void accept(Frame frame) {
+		process(frame.getMat(), frame.getTime());
+	}
+
+	/**
+	 * Finds the target in a frame and publishes the result
+	 * 
+	 * @param frame     The BGR frame
+	 * @param frameTime The capture time of the frame in microseconds
+	 * @return True if a target was found
+	 */
+	public boolean process(Mat frame, long frameTime) {
+		long startTime = System.nanoTime();
+
+		if (frame.cols() != width || frame.rows() != height) {
+			allocate(frame.cols(), frame.rows());
+		}
+
+		// Try the tracked region first, then the whole frame
+		boolean tracked = locked && search(frame, roi.x, roi.y, roi.width, roi.height);
+		boolean found = tracked || search(frame, 0, 0, width, height);
+
+		if (tracked) {
+			framesTracked++;
+		} else {
+			framesSearched++;
+		}
+
+		locked = found;
+
+		if (found) {
+			track();
+
+			double centerX = box.x + box.width / 2.0;
+			double centerY = box.y + box.height / 2.0;
+
+			// Pinhole model, pixels are square
+			double yaw = Math.toDegrees(Math.atan((centerX - width / 2.0) / focalLength));
+			double pitch = Math.toDegrees(Math.atan((height / 2.0 - centerY) / focalLength));
+			double distance = targetWidth * focalLength / box.width;
+
+			result.set(frameTime, System.nanoTime() - startTime, true, tracked, centerX, centerY, boxArea, yaw, pitch,
+					distance);
+		} else {
+			result.set(frameTime, System.nanoTime() - startTime, false, false, 0, 0, 0, 0, 0, 0);
+		}
+
+		topic.publish(result);
+		return found;
+	}
+
+	/**
+	 * Sizes the buffers for a frame size
+	 * 
+	 * @param width  The frame width
+	 * @param height The frame height
+	 */
+	private void allocate(int width, int height) {
+		this.width = width;
+		this.height = height;
+
+		hsv.create(height, width, CvType.CV_8UC3);
+		mask.create(height, width, CvType.CV_8UC1);
+
+		focalLength = width / 2.0 / Math.tan(Math.toRadians(fieldOfView) / 2);
+		locked = false;
+	}
+
+	/**
+	 * Finds the largest contour in a region of the frame
+	 * 
+	 * @param frame  The BGR frame
+	 * @param x      The left edge of the region
+	 * @param y      The top edge of the region
+	 * @param width  The width of the region
+	 * @param height The height of the region
+	 * @return True if a contour was big enough
+	 */
+	private boolean search(Mat frame, int x, int y, int width, int height) {
+		boolean whole = width == this.width && height == this.height;
+
+		// Views share the buffers so the region does not allocate pixels
+		Rect region = new Rect(x, y, width, height);
+		Mat source = whole ? frame : frame.submat(region);
+		Mat hsvView = whole ? hsv : hsv.submat(region);
+		Mat maskView = whole ? mask : mask.submat(region);
+
+		try {
+			Imgproc.cvtColor(source, hsvView, Imgproc.COLOR_BGR2HSV);
+			Core.inRange(hsvView, lower, upper, maskView);
+			Imgproc.findContours(maskView, contours, hierarchy, Imgproc.RETR_EXTERNAL, Imgproc.CHAIN_APPROX_SIMPLE);
+
+			MatOfPoint best = null;
+			double bestArea = minArea;
+
+			for (MatOfPoint contour : contours) {
+				double area = Imgproc.contourArea(contour);
+
+				if (area >= bestArea) {
+					best = contour;
+					bestArea = area;
+				}
+			}
+
+			if (best == null) {
+				return false;
+			}
+
+			Rect bounds = Imgproc.boundingRect(best);
+			box.x = bounds.x + x;
+			box.y = bounds.y + y;
+			box.width = bounds.width;
+			box.height = bounds.height;
+			boxArea = bestArea;
+
+			return true;
+		} finally {
+			for (MatOfPoint contour : contours) {
+				contour.release();
+			}
+
+			contours.clear();
+
+			if (!whole) {
+				source.release();
+				hsvView.release();
+				maskView.release();
+			}
+		}
+	}
+
+	/**
+	 * Moves the tracked region around the last target
+	 */
+	private void track() {
+		int marginX = Math.max(MIN_ROI_MARGIN, (int) (box.width * ROI_MARGIN));
+		int marginY = Math.max(MIN_ROI_MARGIN, (int) (box.height * ROI_MARGIN));
+
+		int left = Math.max(0, box.x - marginX);
+		int top = Math.max(0, box.y - marginY);
+		int right = Math.min(width, box.x + box.width + marginX);
+		int bottom = Math.min(height, box.y + box.height + marginY);
+
+		roi.x = left;
+		roi.y = top;
+		roi.width = right - left;
+		roi.height = bottom - top;
+	}
+
+	/**
+	 * Returns true if the last frame had a target, the next frame will only search
+	 * around it
+	 * 
+	 * @return True if locked
+	 */
+	public boolean isLocked() {
+		return locked;
+	}
+
+	/**
+	 * Returns the number of frames where the target was found in the tracked
+	 * region
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesTracked() {
+		return framesTracked;
+	}
+
+	/**
+	 * Returns the number of frames where the whole frame was searched
+	 * 
+	 * @return The frame count
+	 */
+	public long getFramesSearched() {
+		return framesSearched;
+	}
+
+	/**
+	 * Creates a reader for the results. Reads never block the camera.
+	 * 
+	 * @return The subscription
+	 */
+	public Subscription<VisionTarget> subscribe() {
+		return topic.subscribe();
+	}
+
+	/**
+	 * Frees the buffers
+	 */
+	@Override
+	public void release() {
+		hsv.release();
+		mask.release();
+		hierarchy.release();
+
+		width = -1;
+		height = -1;
+		locked = false;
+	}
+}
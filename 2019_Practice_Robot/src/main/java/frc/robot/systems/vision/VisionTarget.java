@@ -0,0 +1,166 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.vision;
+
+import frc.robot.bus.Snapshot;
+
+/**
+ * This class is the result of target detection on one frame, published by the
+ * camera that found it. Only the {@link TargetDetector} changes it.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class VisionTarget implements Snapshot<VisionTarget> {
+	// Capture time of the frame in microseconds
+	private long frameTime = 0;
+
+	// Time spent detecting in nanoseconds
+	private long latency = 0;
+
+	// Target status
+	private boolean found = false;
+	private boolean tracked = false;
+
+	// Target center in pixels
+	private double centerX = 0;
+	private double centerY = 0;
+
+	// Target size in pixels
+	private double area = 0;
+
+	// Pose estimate
+	private double yaw = 0;
+	private double pitch = 0;
+	private double distance = 0;
+
+	/**
+	 * Sets every field
+	 * 
+	 * @param frameTime The capture time of the frame in microseconds
+	 * @param latency   The time spent detecting in nanoseconds
+	 * @param found     True if a target was found
+	 * @param tracked   True if the target was found in the tracked region
+	 * @param centerX   The target center x in pixels
+	 * @param centerY   The target center y in pixels
+	 * @param area      The target contour area in pixels
+	 * @param yaw       The angle to the target in degrees, positive is right
+	 * @param pitch     The angle to the target in degrees, positive is up
+	 * @param distance  The distance to the target in the units of the target
+	 *                  width
+	 */
+	void set(long frameTime, long latency, boolean found, boolean tracked, double centerX, double centerY,
+			double area, double yaw, double pitch, double distance) {
+		this.frameTime = frameTime;
+		this.latency = latency;
+		this.found = found;
+		this.tracked = tracked;
+		this.centerX = centerX;
+		this.centerY = centerY;
+		this.area = area;
+		this.yaw = yaw;
+		this.pitch = pitch;
+		this.distance = distance;
+	}
+
+	@Override
+	public void copyFrom(VisionTarget other) {
+		set(other.frameTime, other.latency, other.found, other.tracked, other.centerX, other.centerY, other.area,
+				other.yaw, other.pitch, other.distance);
+	}
+
+	/**
+	 * Returns the capture time of the frame
+	 * 
+	 * @return The time in microseconds, in the same time base as the robot clock
+	 */
+	public long getFrameTime() {
+		return frameTime;
+	}
+
+	/**
+	 * Returns the time spent detecting
+	 * 
+	 * @return The time in nanoseconds
+	 */
+	public long getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Returns true if a target was found
+	 * 
+	 * @return True if found
+	 */
+	public boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * Returns true if the target was found in the tracked region instead of the
+	 * whole frame
+	 * 
+	 * @return True if tracked
+	 */
+	public boolean isTracked() {
+		return tracked;
+	}
+
+	/**
+	 * Returns the target center x
+	 * 
+	 * @return The x in pixels
+	 */
+	public double getCenterX() {
+		return centerX;
+	}
+
+	/**
+	 * Returns the target center y
+	 * 
+	 * @return The y in pixels
+	 */
+	public double getCenterY() {
+		return centerY;
+	}
+
+	/**
+	 * Returns the target contour area
+	 * 
+	 * @return The area in pixels
+	 */
+	public double getArea() {
+		return area;
+	}
+
+	/**
+	 * Returns the angle to the target
+	 * 
+	 * @return The angle in degrees, positive is right
+	 */
+	public double getYaw() {
+		return yaw;
+	}
+
+	/**
+	 * Returns the angle to the target
+	 * 
+	 * @return The angle in degrees, positive is up
+	 */
+	public double getPitch() {
+		return pitch;
+	}
+
+	/**
+	 * Returns the distance to the target
+	 * 
+	 * @return The distance in the units of the target width
+	 */
+	public double getDistance() {
+		return distance;
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import frc.robot.util.Log;
+
+/**
+ * This class numbers boots and deletes old recordings so the telemetry folder
+ * can not fill the flash of the roboRIO over a season. Recordings are named
+ * prefix-boot.suffix, so the newest ones are the ones with the largest boot
+ * number. The wall clock is not used because the roboRIO only sets it once the
+ * driver station connects.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class RecordingRetention {
+    // Define name of the boot counter in the telemetry folder
+    public static final String BOOT_COUNTER = "boot.count";
+
+    /**
+     * This class only has static methods
+     */
+    private RecordingRetention() {
+    }
+
+    /**
+     * Returns the number of this boot and stores it in the telemetry folder. The
+     * number is always larger than the counter and than every number already in
+     * a recording name, so a lost counter or recordings named by an older scheme
+     * never sort after new ones. Failures are logged, this never throws.
+     * 
+     * @param directory The telemetry folder
+     * @return The boot number
+     */
+    public static long nextBoot(Path directory) {
+        Path counter = directory.resolve(BOOT_COUNTER);
+        long last = 0;
+
+        try {
+            if (Files.isRegularFile(counter)) {
+                last = Long.parseLong(new String(Files.readAllBytes(counter), StandardCharsets.US_ASCII).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.warning("Could not read the boot counter");
+        }
+
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*-*.*")) {
+                for (Path file : stream) {
+                    String name = file.getFileName().toString();
+                    int start = name.lastIndexOf('-') + 1;
+                    int end = name.indexOf('.', start);
+
+                    last = Math.max(last, parseBoot(name, start, end));
+                }
+            } catch (IOException e) {
+                Log.warning("Could not list the old recordings");
+            }
+        }
+
+        long boot = last + 1;
+
+        // Replace the counter in one step so a power loss can not leave half a number
+        Path temporary = directory.resolve(BOOT_COUNTER + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+            Files.write(temporary, Long.toString(boot).getBytes(StandardCharsets.US_ASCII),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+            Files.move(temporary, counter, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.warning("Could not save the boot counter");
+        }
+
+        return boot;
+    }
+
+    /**
+     * Deletes all but the newest recordings with a prefix and suffix. Files that
+     * do not match the naming scheme are never touched. Failures are logged, this
+     * never throws.
+     * 
+     * @param directory The telemetry folder
+     * @param prefix    The start of the file names, before the dash
+     * @param suffix    The end of the file names, including the dot
+     * @param keep      The number of recordings to keep
+     * @return The number of recordings deleted
+     */
+    public static int prune(Path directory, String prefix, String suffix, int keep) {
+        if (keep < 0) {
+            throw new IllegalArgumentException("Number of recordings to keep can not be negative");
+        }
+
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        List<Path> files = new ArrayList<>();
+        List<Long> boots = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "-*" + suffix)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                long boot = parseBoot(name, prefix.length() + 1, name.length() - suffix.length());
+
+                if (boot >= 0) {
+                    // Keep the list sorted from newest to oldest
+                    int index = 0;
+                    while (index < boots.size() && boots.get(index) > boot) {
+                        index++;
+                    }
+
+                    files.add(index, file);
+                    boots.add(index, boot);
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Could not list the old " + prefix + " recordings");
+            return 0;
+        }
+
+        int deleted = 0;
+        for (int i = keep; i < files.size(); i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+                deleted++;
+            } catch (IOException e) {
+                Log.warning("Could not delete " + files.get(i).getFileName());
+            }
+        }
+
+        if (deleted > 0) {
+            Log.info("Deleted " + deleted + " old " + prefix + " recordings");
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Returns the boot number in a recording name
+     * 
+     * @param name  The file name
+     * @param start The index of the first digit
+     * @param end   The index after the last digit
+     * @return The boot number, -1 if the name does not match
+     */
+    private static long parseBoot(String name, int start, int end) {
+        if (start <= 0 || end <= start) {
+            return -1;
+        }
+
+        try {
+            long boot = Long.parseLong(name.substring(start, end));
+            return (boot >= 0) ? boot : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.nio.ByteOrder;
+
+/**
+ * This class defines the telemetry file format. A file is a header followed by
+ * fixed size records, one per robot tick.
+ * 
+ * Header: magic (8 bytes), version (int), record size (int)
+ * 
+ * Record: time in us (long), left and right encoder (int), left and right
+ * commanded power (float), joystick x, y, z and magnitude (float), auto state
+ * ordinal (short), flags (short)
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class TelemetryFormat {
+    // Define header
+    public static final long MAGIC = 0x33353535544c4d31l; // "3555TLM1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    // Define byte order of every field
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Define record field offsets
+    public static final int TIME = 0;
+    public static final int LEFT_POSITION = 8;
+    public static final int RIGHT_POSITION = 12;
+    public static final int LEFT_POWER = 16;
+    public static final int RIGHT_POWER = 20;
+    public static final int JOYSTICK_X = 24;
+    public static final int JOYSTICK_Y = 28;
+    public static final int JOYSTICK_Z = 32;
+    public static final int JOYSTICK_MAGNITUDE = 36;
+    public static final int STATE = 40;
+    public static final int FLAGS = 42;
+
+    // Define record size
+    public static final int RECORD_SIZE = 44;
+
+    // Define flag bits
+    public static final int FLAG_JOYSTICK_ENABLED = 1;
+
+    private TelemetryFormat() {
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import frc.robot.AutoState;
+
+/**
+ * This program converts a telemetry file to CSV. It does not need any robot
+ * libraries, so it can be run on a laptop after a match.
+ * 
+ * Usage: TelemetryReader input.bin [output.csv]
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class TelemetryReader {
+    // Define CSV header
+    public static final String CSV_HEADER = "time_us,left_position,right_position,left_power,right_power,"
+            + "joystick_x,joystick_y,joystick_z,joystick_magnitude,state,joystick_enabled";
+
+    private TelemetryReader() {
+    }
+
+    /**
+     * Runs the exporter
+     * 
+     * @param args The input file and optional output file
+     * @throws IOException If a file can not be read or written
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TelemetryReader input.bin [output.csv]");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = (args.length > 1) ? Paths.get(args[1]) : Paths.get(args[0].replaceAll("\\.bin$", "") + ".csv");
+
+        long records = export(input, output);
+        System.out.println("Exported " + records + " records to " + output);
+    }
+
+    /**
+     * Converts a telemetry file to CSV
+     * 
+     * @param input  The telemetry file
+     * @param output The CSV file
+     * @return The number of records exported
+     * @throws IOException If a file can not be read or written, or the input is
+     *                     not a telemetry file
+     */
+    public static long export(Path input, Path output) throws IOException {
+        AutoState[] states = AutoState.values();
+        long records = 0;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+                BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            // Check header
+            ByteBuffer header = ByteBuffer.allocate(TelemetryFormat.HEADER_SIZE).order(TelemetryFormat.ORDER);
+            readFully(channel, header);
+
+            if (header.getLong() != TelemetryFormat.MAGIC) {
+                throw new IOException(input + " is not a telemetry file");
+            }
+
+            int version = header.getInt();
+            int recordSize = header.getInt();
+
+            if (version != TelemetryFormat.VERSION || recordSize != TelemetryFormat.RECORD_SIZE) {
+                throw new IOException("Unsupported telemetry version " + version);
+            }
+
+            writer.write(CSV_HEADER);
+            writer.newLine();
+
+            ByteBuffer record = ByteBuffer.allocate(recordSize).order(TelemetryFormat.ORDER);
+
+            // A partial record at the end means the robot lost power while writing
+            while (readFully(channel, record)) {
+                int state = record.getShort(TelemetryFormat.STATE);
+                int flags = record.getShort(TelemetryFormat.FLAGS);
+
+                writer.write(record.getLong(TelemetryFormat.TIME) + ","
+                        + record.getInt(TelemetryFormat.LEFT_POSITION) + ","
+                        + record.getInt(TelemetryFormat.RIGHT_POSITION) + ","
+                        + record.getFloat(TelemetryFormat.LEFT_POWER) + ","
+                        + record.getFloat(TelemetryFormat.RIGHT_POWER) + ","
+                        + record.getFloat(TelemetryFormat.JOYSTICK_X) + ","
+                        + record.getFloat(TelemetryFormat.JOYSTICK_Y) + ","
+                        + record.getFloat(TelemetryFormat.JOYSTICK_Z) + ","
+                        + record.getFloat(TelemetryFormat.JOYSTICK_MAGNITUDE) + ","
+                        + ((state >= 0 && state < states.length) ? states[state].name() : Integer.toString(state))
+                        + "," + ((flags & TelemetryFormat.FLAG_JOYSTICK_ENABLED) != 0));
+                writer.newLine();
+
+                records++;
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Fills a buffer from a channel
+     * 
+     * @param channel The channel
+     * @param buffer  The buffer, cleared before reading and flipped after
+     * @return False if the end of the file was reached before the buffer was full
+     * @throws IOException If the channel can not be read
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+
+        buffer.flip();
+        return true;
+    }
+}
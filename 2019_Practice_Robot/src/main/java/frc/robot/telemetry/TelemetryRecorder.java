@@ -0,0 +1,239 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import frc.robot.AutoState;
+import frc.robot.util.Log;
+
+/**
+ * This class records one telemetry record per tick to a binary file. Records
+ * are written into a pre-allocated ring buffer by the robot loop and a
+ * background thread copies them to the file, so recording never blocks or
+ * allocates. Records are dropped and counted if the writer falls behind.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class TelemetryRecorder {
+    // Define number of records the ring buffer holds, must be a power of two
+    public static final int BUFFER_RECORDS = 1024;
+
+    // Define how often the writer copies records to the file
+    public static final long WRITER_PERIOD = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Output file
+    private final Path file;
+    private FileChannel channel;
+
+    // Ring buffer, records are written with absolute puts only
+    private final ByteBuffer ring = ByteBuffer.allocateDirect(BUFFER_RECORDS * TelemetryFormat.RECORD_SIZE)
+            .order(TelemetryFormat.ORDER);
+
+    // View of the ring used by the writer
+    private final ByteBuffer writeView = ring.duplicate();
+
+    // Next record to fill and next record to write
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Records lost because the buffer was full
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Writer thread
+    private Thread writerThread;
+    private volatile boolean running = false;
+
+    /**
+     * Creates a recorder
+     * 
+     * @param file The file to record to
+     */
+    public TelemetryRecorder(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the file and starts the writer thread
+     * 
+     * @throws IOException If the file can not be created
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Write header
+        ByteBuffer header = ByteBuffer.allocate(TelemetryFormat.HEADER_SIZE).order(TelemetryFormat.ORDER);
+        header.putLong(TelemetryFormat.MAGIC);
+        header.putInt(TelemetryFormat.VERSION);
+        header.putInt(TelemetryFormat.RECORD_SIZE);
+        header.flip();
+
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        running = true;
+
+        // Declare thread
+        writerThread = new Thread(this::write);
+
+        // Set thread properties
+        writerThread.setName("Telemetry Writer");
+        writerThread.setDaemon(true);
+        writerThread.setPriority(Thread.MIN_PRIORITY);
+
+        // Start writer thread
+        writerThread.start();
+    }
+
+    /**
+     * Writes the remaining records and closes the file
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writerThread);
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writerThread = null;
+    }
+
+    /**
+     * Records one tick. This must always be called from the same thread.
+     * 
+     * @param time            The robot clock time in microseconds
+     * @param leftPosition    The left encoder position
+     * @param rightPosition   The right encoder position
+     * @param leftPower       The commanded left power
+     * @param rightPower      The commanded right power
+     * @param joystickX       Joystick x
+     * @param joystickY       Joystick y
+     * @param joystickZ       Joystick z
+     * @param magnitude       Joystick magnitude
+     * @param state           The auto state
+     * @param joystickEnabled True if the drivers have control
+     * @return True if the record was buffered
+     */
+    public boolean record(long time, int leftPosition, int rightPosition, double leftPower, double rightPower,
+            double joystickX, double joystickY, double joystickZ, double magnitude, AutoState state,
+            boolean joystickEnabled) {
+        if (!running) {
+            return false;
+        }
+
+        long position = head.get();
+
+        if (position - tail.get() >= BUFFER_RECORDS) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        int offset = (int) (position & (BUFFER_RECORDS - 1)) * TelemetryFormat.RECORD_SIZE;
+
+        ring.putLong(offset + TelemetryFormat.TIME, time);
+        ring.putInt(offset + TelemetryFormat.LEFT_POSITION, leftPosition);
+        ring.putInt(offset + TelemetryFormat.RIGHT_POSITION, rightPosition);
+        ring.putFloat(offset + TelemetryFormat.LEFT_POWER, (float) leftPower);
+        ring.putFloat(offset + TelemetryFormat.RIGHT_POWER, (float) rightPower);
+        ring.putFloat(offset + TelemetryFormat.JOYSTICK_X, (float) joystickX);
+        ring.putFloat(offset + TelemetryFormat.JOYSTICK_Y, (float) joystickY);
+        ring.putFloat(offset + TelemetryFormat.JOYSTICK_Z, (float) joystickZ);
+        ring.putFloat(offset + TelemetryFormat.JOYSTICK_MAGNITUDE, (float) magnitude);
+        ring.putShort(offset + TelemetryFormat.STATE, (short) state.ordinal());
+        ring.putShort(offset + TelemetryFormat.FLAGS,
+                (short) (joystickEnabled ? TelemetryFormat.FLAG_JOYSTICK_ENABLED : 0));
+
+        // Publish the record to the writer
+        head.lazySet(position + 1);
+
+        return true;
+    }
+
+    /**
+     * Returns the number of records lost because the buffer was full
+     * 
+     * @return The record count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * The writer loop
+     */
+    private void write() {
+        try {
+            while (running) {
+                LockSupport.parkNanos(WRITER_PERIOD);
+                flush();
+            }
+
+            // Write whatever is left
+            flush();
+        } catch (IOException e) {
+            Log.error("Telemetry write failed, recording stopped");
+            running = false;
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing else to do
+            }
+        }
+    }
+
+    /**
+     * Copies every buffered record to the file
+     * 
+     * @throws IOException If the file can not be written
+     */
+    private void flush() throws IOException {
+        long position = tail.get();
+        long end = head.get();
+
+        while (position < end) {
+            // Write up to the end of the ring, then wrap around
+            int first = (int) (position & (BUFFER_RECORDS - 1));
+            int count = (int) Math.min(end - position, BUFFER_RECORDS - first);
+
+            writeView.limit((first + count) * TelemetryFormat.RECORD_SIZE);
+            writeView.position(first * TelemetryFormat.RECORD_SIZE);
+
+            while (writeView.hasRemaining()) {
+                channel.write(writeView);
+            }
+
+            position += count;
+            tail.lazySet(position);
+        }
+    }
+}
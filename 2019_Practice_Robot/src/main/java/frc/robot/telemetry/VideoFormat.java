@@ -0,0 +1,65 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.nio.ByteOrder;
+
+/**
+ * This class defines the video file format. A file is a header followed by one
+ * chunk per frame. Frame times are in the same time base as the robot clock, so
+ * they line up with the telemetry records.
+ * 
+ * Header: magic (8 bytes), version (int), width (int), height (int), encoding
+ * (int)
+ * 
+ * Chunk: capture time in us (long), capture number (long), data length (int),
+ * data (8 bit grayscale rows for raw, a JPEG image for MJPEG)
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class VideoFormat {
+    // Define header
+    public static final long MAGIC = 0x3335353556494431l; // "3555VID1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+
+    // Define byte order of every field
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Define chunk header field offsets
+    public static final int TIME = 0;
+    public static final int SEQUENCE = 8;
+    public static final int LENGTH = 16;
+
+    // Define chunk header size
+    public static final int CHUNK_HEADER_SIZE = 20;
+
+    // Define encodings
+    public static final int ENCODING_RAW = 0;
+    public static final int ENCODING_MJPEG = 1;
+
+    private VideoFormat() {
+    }
+
+    /**
+     * Returns the encoding with a name
+     * 
+     * @param name raw or mjpeg
+     * @return The encoding
+     */
+    public static int forName(String name) {
+        switch (name) {
+        case "raw":
+            return ENCODING_RAW;
+        case "mjpeg":
+            return ENCODING_MJPEG;
+        default:
+            throw new IllegalArgumentException("Unknown video encoding " + name);
+        }
+    }
+}
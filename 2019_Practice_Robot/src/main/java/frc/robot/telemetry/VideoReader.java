@@ -0,0 +1,182 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This program writes the frame index of a video file to CSV so the frames can
+ * be matched to telemetry records by time. It can also extract every frame as a
+ * PGM or JPEG image. It does not need any robot libraries, so it can be run on a
+ * laptop after a match.
+ * 
+ * Usage: VideoReader input.vid [frame directory]
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class VideoReader {
+    // Define CSV header
+    public static final String CSV_HEADER = "time_us,sequence,offset,length";
+
+    private VideoReader() {
+    }
+
+    /**
+     * Runs the exporter
+     * 
+     * @param args The input file and optional frame directory
+     * @throws IOException If a file can not be read or written
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: VideoReader input.vid [frame directory]");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[0].replaceAll("\\.vid$", "") + ".csv");
+        Path frames = (args.length > 1) ? Paths.get(args[1]) : null;
+
+        long count = export(input, output, frames);
+        System.out.println("Exported " + count + " frames to " + output);
+    }
+
+    /**
+     * Writes the frame index of a video file to CSV
+     * 
+     * @param input  The video file
+     * @param output The CSV file
+     * @param frames The directory to extract frames to, or null to only write
+     *               the index
+     * @return The number of frames exported
+     * @throws IOException If a file can not be read or written, or the input is
+     *                     not a video file
+     */
+    public static long export(Path input, Path output, Path frames) throws IOException {
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+                BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            // Check header
+            ByteBuffer header = ByteBuffer.allocate(VideoFormat.HEADER_SIZE).order(VideoFormat.ORDER);
+            readFully(channel, header);
+
+            if (header.getLong() != VideoFormat.MAGIC) {
+                throw new IOException(input + " is not a video file");
+            }
+
+            int version = header.getInt();
+            int width = header.getInt();
+            int height = header.getInt();
+            int encoding = header.getInt();
+
+            if (version != VideoFormat.VERSION) {
+                throw new IOException("Unsupported video version " + version);
+            }
+
+            if (frames != null) {
+                Files.createDirectories(frames);
+            }
+
+            writer.write(CSV_HEADER);
+            writer.newLine();
+
+            ByteBuffer chunkHeader = ByteBuffer.allocate(VideoFormat.CHUNK_HEADER_SIZE).order(VideoFormat.ORDER);
+            ByteBuffer data = ByteBuffer.allocate(0);
+
+            // A partial chunk at the end means the robot lost power while writing
+            while (true) {
+                chunkHeader.clear();
+                if (!readFully(channel, chunkHeader)) {
+                    break;
+                }
+
+                long offset = channel.position() - VideoFormat.CHUNK_HEADER_SIZE;
+                long time = chunkHeader.getLong(VideoFormat.TIME);
+                long sequence = chunkHeader.getLong(VideoFormat.SEQUENCE);
+                int length = chunkHeader.getInt(VideoFormat.LENGTH);
+
+                if (data.capacity() < length) {
+                    data = ByteBuffer.allocate(length);
+                }
+
+                data.clear();
+                data.limit(length);
+                if (!readFully(channel, data)) {
+                    break;
+                }
+
+                writer.write(time + "," + sequence + "," + offset + "," + length);
+                writer.newLine();
+
+                if (frames != null) {
+                    writeFrame(frames, time, data, width, height, encoding);
+                }
+
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes one frame as an image named by its time
+     * 
+     * @param frames   The frame directory
+     * @param time     The frame time in microseconds
+     * @param data     The frame data
+     * @param width    The frame width
+     * @param height   The frame height
+     * @param encoding The encoding from {@link VideoFormat}
+     * @throws IOException If the image can not be written
+     */
+    private static void writeFrame(Path frames, long time, ByteBuffer data, int width, int height, int encoding)
+            throws IOException {
+        boolean raw = encoding == VideoFormat.ENCODING_RAW;
+        Path image = frames.resolve(time + (raw ? ".pgm" : ".jpg"));
+
+        try (OutputStream out = Files.newOutputStream(image)) {
+            // Raw frames are gray rows, which only need a PGM header
+            if (raw) {
+                out.write(("P5\n" + width + " " + height + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+            }
+
+            out.write(data.array(), 0, data.limit());
+        }
+    }
+
+    /**
+     * Fills a buffer from a channel up to its limit
+     * 
+     * @param channel The channel
+     * @param buffer  The buffer, read from its position to its limit and flipped
+     *                after
+     * @return False if the end of the file was reached before the buffer was full
+     * @throws IOException If the channel can not be read
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+
+        buffer.flip();
+        return true;
+    }
+}
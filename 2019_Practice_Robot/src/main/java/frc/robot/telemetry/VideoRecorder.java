@@ -0,0 +1,445 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.core.MatOfInt;
+import org.opencv.imgcodecs.Imgcodecs;
+import frc.robot.systems.Frame;
+import frc.robot.systems.FrameConsumer;
+import frc.robot.systems.filters.FilterChain;
+import frc.robot.systems.filters.GrayscaleFilter;
+import frc.robot.systems.filters.ResizeFilter;
+import frc.robot.util.Log;
+
+/**
+ * This class records camera frames to a video file for looking at after a
+ * match. Frames are shrunk, made gray and copied into a pre-allocated ring by
+ * the consumer task. A background thread encodes them and writes them to the
+ * file. Frames are dropped and counted if the writer falls behind, and frames
+ * are skipped if the writer uses more than its cpu budget.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class VideoRecorder implements FrameConsumer {
+    // Define number of frames the ring holds, must be a power of two
+    public static final int BUFFER_FRAMES = 8;
+
+    // Define how often the writer copies frames to the file
+    public static final long WRITER_PERIOD = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Define how often the cpu budget is checked
+    public static final long BUDGET_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    // Define the most frames that can be skipped when over the cpu budget
+    public static final int MAX_FRAME_SKIP = 7;
+
+    // Define JPEG quality from 0 to 100
+    public static final int JPEG_QUALITY = 70;
+
+    // Used to measure the cpu time of the writer thread
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported();
+
+    // Recording settings
+    private final Path file;
+    private final int width;
+    private final int height;
+    private final int encoding;
+    private final double cpuBudget;
+
+    // Output file
+    private FileChannel channel;
+
+    // Filters that shrink frames and make them gray, only used by the consumer
+    private final FilterChain filters;
+
+    // Ring of frames
+    private final byte[][] pixels;
+    private final long[] times = new long[BUFFER_FRAMES];
+    private final long[] sequences = new long[BUFFER_FRAMES];
+
+    // Next frame to fill and next frame to write
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Frames lost because the ring was full
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Writer buffers
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(VideoFormat.CHUNK_HEADER_SIZE)
+            .order(VideoFormat.ORDER);
+    private final ByteBuffer[] chunk = new ByteBuffer[2];
+    private Mat encodeInput;
+    private MatOfByte encoded;
+    private MatOfInt encodeParams;
+    private byte[] encodedBytes = new byte[0];
+
+    // Frames offered to the recorder and the number skipped between recorded
+    // frames
+    private long framesSeen = 0;
+    private volatile int frameSkip = 0;
+
+    // Writer cost
+    private volatile long framesWritten = 0;
+    private volatile long bytesWritten = 0;
+    private volatile long writeTime = 0;
+    private volatile double cpuUsage = 0;
+    private long cpuTime = 0;
+    private long windowStart;
+
+    // Writer thread
+    private Thread writerThread;
+    private volatile boolean running = false;
+
+    /**
+     * Creates a recorder
+     * 
+     * @param file      The file to record to
+     * @param width     The width frames are shrunk to
+     * @param height    The height frames are shrunk to
+     * @param encoding  The encoding from {@link VideoFormat}
+     * @param cpuBudget The fraction of a core the writer may use
+     */
+    public VideoRecorder(Path file, int width, int height, int encoding, double cpuBudget) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+
+        if (encoding != VideoFormat.ENCODING_RAW && encoding != VideoFormat.ENCODING_MJPEG) {
+            throw new IllegalArgumentException("Unknown video encoding");
+        }
+
+        if (cpuBudget <= 0) {
+            throw new IllegalArgumentException("Cpu budget must be positive");
+        }
+
+        this.file = file;
+        this.width = width;
+        this.height = height;
+        this.encoding = encoding;
+        this.cpuBudget = cpuBudget;
+
+        filters = new FilterChain(new ResizeFilter(width, height), new GrayscaleFilter());
+        pixels = new byte[BUFFER_FRAMES][width * height];
+    }
+
+    /**
+     * Opens the file and starts the writer thread
+     * 
+     * @throws IOException If the file can not be created
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Write header
+        ByteBuffer header = ByteBuffer.allocate(VideoFormat.HEADER_SIZE).order(VideoFormat.ORDER);
+        header.putLong(VideoFormat.MAGIC);
+        header.putInt(VideoFormat.VERSION);
+        header.putInt(width);
+        header.putInt(height);
+        header.putInt(encoding);
+        header.flip();
+
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        if (encoding == VideoFormat.ENCODING_MJPEG) {
+            encodeInput = new Mat(height, width, CvType.CV_8UC1);
+            encoded = new MatOfByte();
+            encodeParams = new MatOfInt(Imgcodecs.IMWRITE_JPEG_QUALITY, JPEG_QUALITY);
+        }
+
+        running = true;
+
+        // Declare thread
+        writerThread = new Thread(this::write);
+
+        // Set thread properties
+        writerThread.setName("Video Writer");
+        writerThread.setDaemon(true);
+        writerThread.setPriority(Thread.MIN_PRIORITY);
+
+        // Start writer thread
+        writerThread.start();
+    }
+
+    /**
+     * Writes the remaining frames and closes the file
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writerThread);
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writerThread = null;
+    }
+
+    /**
+     * Shrinks a frame and hands it to the writer. This must always be called from
+     * the same thread.
+     * 
+     * @param frame The frame
+     */
+    @Override
+    public void accept(Frame frame) {
+        if (!running) {
+            return;
+        }
+
+        // Skip frames while the writer is over its budget
+        if (framesSeen++ % (frameSkip + 1) != 0) {
+            return;
+        }
+
+        long position = head.get();
+
+        if (position - tail.get() >= BUFFER_FRAMES) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        int slot = (int) (position & (BUFFER_FRAMES - 1));
+
+        Mat gray = filters.process(frame.getMat());
+        gray.get(0, 0, pixels[slot]);
+
+        times[slot] = frame.getTime();
+        sequences[slot] = frame.getSequence();
+
+        // Publish the frame to the writer
+        head.lazySet(position + 1);
+    }
+
+    /**
+     * Stops recording and frees the filter buffers. This is called when the
+     * camera is closed.
+     */
+    @Override
+    public void release() {
+        stop();
+        filters.release();
+    }
+
+    /**
+     * Returns the number of frames lost because the ring was full
+     * 
+     * @return The frame count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of frames written to the file
+     * 
+     * @return The frame count
+     */
+    public long getFramesWritten() {
+        return framesWritten;
+    }
+
+    /**
+     * Returns the number of bytes written to the file after the header
+     * 
+     * @return The byte count
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the average time the writer spent on each frame of its last batch
+     * 
+     * @return The time in nanoseconds
+     */
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    /**
+     * Returns the fraction of a core the writer used over the last budget window
+     * 
+     * @return The cpu usage
+     */
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    /**
+     * Returns the number of frames skipped between recorded frames
+     * 
+     * @return The frame skip
+     */
+    public int getFrameSkip() {
+        return frameSkip;
+    }
+
+    /**
+     * The writer loop
+     */
+    private void write() {
+        windowStart = System.nanoTime();
+
+        try {
+            while (running) {
+                LockSupport.parkNanos(WRITER_PERIOD);
+                flush();
+                checkBudget();
+            }
+
+            // Write whatever is left
+            flush();
+        } catch (IOException e) {
+            Log.error("Video write failed, recording stopped");
+            running = false;
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing else to do
+            }
+
+            if (encodeInput != null) {
+                encodeInput.release();
+                encoded.release();
+                encodeParams.release();
+            }
+        }
+    }
+
+    /**
+     * Writes every buffered frame to the file
+     * 
+     * @throws IOException If the file can not be written
+     */
+    private void flush() throws IOException {
+        long position = tail.get();
+        long end = head.get();
+
+        if (position == end) {
+            return;
+        }
+
+        long cpuStart = getThreadCpuTime();
+        long startTime = System.nanoTime();
+
+        for (long i = position; i < end; i++) {
+            writeChunk((int) (i & (BUFFER_FRAMES - 1)));
+
+            // Give the slot back to the consumer
+            tail.lazySet(i + 1);
+        }
+
+        writeTime = (System.nanoTime() - startTime) / (end - position);
+        cpuTime += getThreadCpuTime() - cpuStart;
+    }
+
+    /**
+     * Encodes a frame and writes its chunk
+     * 
+     * @param slot The ring slot of the frame
+     * @throws IOException If the file can not be written
+     */
+    private void writeChunk(int slot) throws IOException {
+        byte[] data = pixels[slot];
+        int length = data.length;
+
+        if (encoding == VideoFormat.ENCODING_MJPEG) {
+            encodeInput.put(0, 0, data);
+            Imgcodecs.imencode(".jpg", encodeInput, encoded, encodeParams);
+
+            length = (int) encoded.total();
+            if (encodedBytes.length < length) {
+                encodedBytes = new byte[length];
+            }
+
+            encoded.get(0, 0, encodedBytes);
+            data = encodedBytes;
+        }
+
+        chunkHeader.clear();
+        chunkHeader.putLong(VideoFormat.TIME, times[slot]);
+        chunkHeader.putLong(VideoFormat.SEQUENCE, sequences[slot]);
+        chunkHeader.putInt(VideoFormat.LENGTH, length);
+
+        chunk[0] = chunkHeader;
+        chunk[1] = ByteBuffer.wrap(data, 0, length);
+
+        while (chunk[1].hasRemaining()) {
+            channel.write(chunk);
+        }
+
+        framesWritten++;
+        bytesWritten += VideoFormat.CHUNK_HEADER_SIZE + length;
+    }
+
+    /**
+     * Skips more frames if the writer went over its cpu budget and fewer if it is
+     * well under it
+     */
+    private void checkBudget() {
+        long now = System.nanoTime();
+
+        if (now - windowStart < BUDGET_WINDOW) {
+            return;
+        }
+
+        cpuUsage = (double) cpuTime / (now - windowStart);
+        cpuTime = 0;
+        windowStart = now;
+
+        if (cpuUsage > cpuBudget) {
+            frameSkip = Math.min(MAX_FRAME_SKIP, frameSkip + 1);
+        } else if (cpuUsage < cpuBudget / 2) {
+            frameSkip = Math.max(0, frameSkip - 1);
+        }
+    }
+
+    /**
+     * Returns the cpu time of the current thread, or the wall time if the jvm can
+     * not measure it
+     * 
+     * @return The time in nanoseconds
+     */
+    private static long getThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.trajectory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class is a motion profile sampled into arrays at a fixed period, so
+ * following it is only an index lookup. Positions are relative to the start of
+ * the profile.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class MotionProfile {
+    // Profile settings
+    private final ProfileSpec spec;
+
+    // Points
+    private final double[] positions;
+    private final double[] velocities;
+
+    /**
+     * Creates a profile from points
+     * 
+     * @param spec       The spec the points were generated from
+     * @param positions  The positions in encoder ticks
+     * @param velocities The velocities in ticks per second
+     */
+    private MotionProfile(ProfileSpec spec, double[] positions, double[] velocities) {
+        this.spec = spec;
+        this.positions = positions;
+        this.velocities = velocities;
+    }
+
+    /**
+     * Generates a profile. The velocity of a trapezoidal profile is sampled and,
+     * for an S-curve, smoothed with a moving average as long as the jerk time.
+     * The points are scaled so the profile ends exactly at the distance.
+     * 
+     * @param spec The profile spec
+     * @return The profile
+     */
+    public static MotionProfile generate(ProfileSpec spec) {
+        double distance = Math.abs(spec.getDistance());
+        double direction = Math.signum(spec.getDistance());
+        double period = spec.getPeriod() / 1000.0;
+
+        // Short moves never reach the cruise velocity
+        double cruiseVelocity = Math.min(spec.getMaxVelocity(), Math.sqrt(distance * spec.getMaxAcceleration()));
+        double accelerationTime = cruiseVelocity / spec.getMaxAcceleration();
+        double cruiseTime = (cruiseVelocity > 0) ? distance / cruiseVelocity - accelerationTime : 0;
+        double totalTime = 2 * accelerationTime + cruiseTime;
+
+        int filterLength = Math.max(1, (int) Math.round(spec.getJerkTime() / period));
+        int trapezoidPoints = (int) Math.ceil(totalTime / period) + 1;
+        int count = trapezoidPoints + filterLength - 1;
+
+        // Sample the trapezoid
+        double[] trapezoid = new double[trapezoidPoints];
+        for (int i = 0; i < trapezoidPoints; i++) {
+            double time = i * period;
+
+            if (time < accelerationTime) {
+                trapezoid[i] = spec.getMaxAcceleration() * time;
+            } else if (time < accelerationTime + cruiseTime) {
+                trapezoid[i] = cruiseVelocity;
+            } else {
+                trapezoid[i] = Math.max(0, spec.getMaxAcceleration() * (totalTime - time));
+            }
+        }
+
+        // Smooth the velocity and integrate it
+        double[] positions = new double[count];
+        double[] velocities = new double[count];
+        double sum = 0;
+        double position = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (i < trapezoidPoints) {
+                sum += trapezoid[i];
+            }
+
+            if (i >= filterLength) {
+                sum -= trapezoid[i - filterLength];
+            }
+
+            double velocity = sum / filterLength;
+            position += (i > 0) ? (velocity + velocities[i - 1]) / 2 * period : 0;
+
+            velocities[i] = velocity;
+            positions[i] = position;
+        }
+
+        // Correct for sampling so the profile ends on the distance
+        double scale = (position > 0) ? distance / position : 0;
+        for (int i = 0; i < count; i++) {
+            positions[i] *= scale * direction;
+            velocities[i] *= scale * direction;
+        }
+
+        return new MotionProfile(spec, positions, velocities);
+    }
+
+    /**
+     * Reads a profile written by {@link #write(DataOutput)}
+     * 
+     * @param input The input
+     * @return The profile
+     * @throws IOException If the input can not be read
+     */
+    public static MotionProfile read(DataInput input) throws IOException {
+        ProfileSpec spec = ProfileSpec.read(input);
+        int count = input.readInt();
+
+        if (count < 0) {
+            throw new IOException("Bad profile length " + count);
+        }
+
+        double[] positions = new double[count];
+        double[] velocities = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            positions[i] = input.readDouble();
+            velocities[i] = input.readDouble();
+        }
+
+        return new MotionProfile(spec, positions, velocities);
+    }
+
+    /**
+     * Writes the profile
+     * 
+     * @param output The output
+     * @throws IOException If the output can not be written
+     */
+    public void write(DataOutput output) throws IOException {
+        spec.write(output);
+        output.writeInt(positions.length);
+
+        for (int i = 0; i < positions.length; i++) {
+            output.writeDouble(positions[i]);
+            output.writeDouble(velocities[i]);
+        }
+    }
+
+    /**
+     * Returns the spec the profile was generated from
+     * 
+     * @return The spec
+     */
+    public ProfileSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Returns the number of points
+     * 
+     * @return The point count
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the position of a point
+     * 
+     * @param index The point index
+     * @return The position in encoder ticks from the start
+     */
+    public double getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Returns the velocity of a point
+     * 
+     * @param index The point index
+     * @return The velocity in ticks per second
+     */
+    public double getVelocity(int index) {
+        return velocities[index];
+    }
+
+    /**
+     * Returns the time between points
+     * 
+     * @return The time in milliseconds
+     */
+    public int getPeriod() {
+        return spec.getPeriod();
+    }
+}
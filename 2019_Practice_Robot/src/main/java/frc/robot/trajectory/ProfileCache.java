@@ -0,0 +1,150 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.trajectory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import frc.robot.util.Log;
+
+/**
+ * This class keeps generated motion profiles in memory and in a folder, so a
+ * profile is only generated the first time its spec is used. Files that are
+ * missing, damaged or from another spec are generated again.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ProfileCache {
+    // Define file header
+    public static final int MAGIC = 0x33355046; // "35PF"
+    public static final int VERSION = 1;
+
+    // Folder the profiles are kept in, null to only keep them in memory
+    private final Path directory;
+
+    // Profiles loaded or generated since startup
+    private final Map<ProfileSpec, MotionProfile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache
+     * 
+     * @param directory The folder the profiles are kept in, null to only keep them
+     *                  in memory
+     */
+    public ProfileCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the profile for a spec, loading or generating it if needed
+     * 
+     * @param spec The spec
+     * @return The profile
+     */
+    public MotionProfile get(ProfileSpec spec) {
+        return profiles.computeIfAbsent(spec, this::loadOrGenerate);
+    }
+
+    /**
+     * Returns the profile for a spec if it was already loaded or generated. This
+     * never touches the file system.
+     * 
+     * @param spec The spec
+     * @return The profile, or null if it is not ready
+     */
+    public MotionProfile getLoaded(ProfileSpec spec) {
+        return profiles.get(spec);
+    }
+
+    /**
+     * Returns the name of the file a spec is kept in
+     * 
+     * @param spec The spec
+     * @return The file name
+     */
+    public static String getFileName(ProfileSpec spec) {
+        return String.format("profile-%08x.bin", spec.hashCode());
+    }
+
+    /**
+     * Loads a profile from its file or generates and saves it
+     * 
+     * @param spec The spec
+     * @return The profile
+     */
+    private MotionProfile loadOrGenerate(ProfileSpec spec) {
+        if (directory == null) {
+            return MotionProfile.generate(spec);
+        }
+
+        Path file = directory.resolve(getFileName(spec));
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() == MAGIC && input.readInt() == VERSION) {
+                MotionProfile profile = MotionProfile.read(input);
+
+                // Different specs can share a file name
+                if (profile.getSpec().equals(spec)) {
+                    return profile;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Not generated yet
+        } catch (IOException e) {
+            Log.warning("Could not read " + file + ", generating it again");
+        }
+
+        MotionProfile profile = MotionProfile.generate(spec);
+        save(file, profile);
+
+        return profile;
+    }
+
+    /**
+     * Writes a profile to a file. The file is replaced in one step so a reader
+     * never sees half of it.
+     * 
+     * @param file    The file
+     * @param profile The profile
+     */
+    private static void save(Path file, MotionProfile profile) {
+        Path temp = null;
+
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), "profile", ".tmp");
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                profile.write(output);
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.warning("Could not cache profile " + file);
+
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException e2) {
+                // Nothing else to do
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.trajectory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import frc.robot.hardware.ProfileOutput;
+import frc.robot.util.Log;
+
+/**
+ * This class streams a precomputed profile into the buffers of the left and
+ * right motor controllers. Each update only copies the next batch of points out
+ * of the profile arrays, the controllers run the points on their own.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ProfileFollower {
+    // Define most points pushed in one update
+    public static final int BATCH_SIZE = 32;
+
+    // Define points the controllers need before the profile is started
+    public static final int MIN_BUFFERED = 5;
+
+    // Define motion profile control values
+    public static final int DISABLE = 0;
+    public static final int ENABLE = 1;
+    public static final int HOLD = 2;
+
+    // Declare outputs
+    private final ProfileOutput left;
+    private final ProfileOutput right;
+
+    // Running profile and where it started in encoder ticks
+    private MotionProfile profile;
+    private double leftStart = 0;
+    private double rightStart = 0;
+
+    // Index of the next point to push
+    private int next = 0;
+
+    // Profile status
+    private boolean enabled = false;
+    private boolean underrun = false;
+
+    // Buffer thread, it is only started with the first profile and parks while
+    // no profile is running
+    private int bufferPeriod = 0;
+    private Thread bufferThread;
+    private volatile boolean buffering = false;
+
+    /**
+     * Creates a follower
+     * 
+     * @param left  The left motor controller
+     * @param right The right motor controller
+     */
+    public ProfileFollower(ProfileOutput left, ProfileOutput right) {
+        this.left = left;
+        this.right = right;
+
+        left.configProfile();
+        right.configProfile();
+    }
+
+    /**
+     * Uses a thread that moves points into the controllers twice per point period
+     * while a profile runs. The thread is started with the first profile. Without
+     * it the points are moved on each update.
+     * 
+     * @param period The point period in milliseconds
+     */
+    public void useBufferThread(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        bufferPeriod = period;
+    }
+
+    /**
+     * Starts the buffer thread if it is not running
+     */
+    private synchronized void startBufferThread() {
+        if (bufferThread != null) {
+            return;
+        }
+
+        long sleepTime = TimeUnit.MILLISECONDS.toNanos(bufferPeriod) / 2;
+
+        // Declare thread
+        bufferThread = new Thread(() -> {
+            while (true) {
+                if (!buffering) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                try {
+                    left.processProfileBuffer();
+                    right.processProfileBuffer();
+                } catch (RuntimeException e) {
+                    // Updates move the points until the next profile
+                    buffering = false;
+                    Log.error("Profile buffer failed: " + e);
+                }
+
+                LockSupport.parkNanos(sleepTime);
+            }
+        });
+
+        // Set thread properties
+        bufferThread.setName("Profile Buffer");
+        bufferThread.setDaemon(true);
+
+        // Start buffer thread
+        bufferThread.start();
+    }
+
+    /**
+     * Clears the controller buffers and starts streaming a profile
+     * 
+     * @param profile    The profile
+     * @param leftStart  The left position the profile starts from in encoder ticks
+     * @param rightStart The right position the profile starts from in encoder
+     *                   ticks
+     */
+    public void start(MotionProfile profile, double leftStart, double rightStart) {
+        this.profile = profile;
+        this.leftStart = leftStart;
+        this.rightStart = rightStart;
+
+        next = 0;
+        enabled = false;
+        underrun = false;
+
+        left.clearProfile();
+        right.clearProfile();
+
+        if (bufferPeriod > 0) {
+            startBufferThread();
+            buffering = true;
+            LockSupport.unpark(bufferThread);
+        }
+    }
+
+    /**
+     * Stops streaming the profile and parks the buffer thread. This does nothing if
+     * no profile is running.
+     */
+    public void stop() {
+        if (profile == null) {
+            return;
+        }
+
+        profile = null;
+        buffering = false;
+    }
+
+    /**
+     * Pushes the next batch of points and returns the value the controllers
+     * should be set to in MotionProfile mode
+     * 
+     * @return {@link #DISABLE} until enough points are buffered, then
+     *         {@link #ENABLE}, then {@link #HOLD} once the profile is finished
+     */
+    public int update() {
+        if (profile == null) {
+            return DISABLE;
+        }
+
+        // Copy the next batch into the top buffers
+        int space = Math.min(left.getProfileSpace(), right.getProfileSpace());
+        int end = Math.min(profile.size(), next + Math.min(BATCH_SIZE, space));
+        int period = profile.getPeriod();
+
+        for (; next < end; next++) {
+            // Talons take velocity per 100 ms
+            double velocity = profile.getVelocity(next) / 10;
+            boolean last = next == profile.size() - 1;
+
+            left.pushProfilePoint(leftStart + profile.getPosition(next), velocity, period, last);
+            right.pushProfilePoint(rightStart + profile.getPosition(next), velocity, period, last);
+        }
+
+        if (!buffering) {
+            left.processProfileBuffer();
+            right.processProfileBuffer();
+        }
+
+        underrun |= left.hasProfileUnderrun() || right.hasProfileUnderrun();
+
+        if (isFinished()) {
+            buffering = false;
+            return HOLD;
+        }
+
+        // Wait for a few points so the controllers do not underrun at the start
+        if (!enabled) {
+            int buffered = Math.min(left.getProfileBuffered(), right.getProfileBuffered());
+            enabled = buffered >= MIN_BUFFERED || next == profile.size();
+        }
+
+        return enabled ? ENABLE : DISABLE;
+    }
+
+    /**
+     * Returns true if both controllers reached the last point
+     * 
+     * @return True if finished
+     */
+    public boolean isFinished() {
+        return enabled && left.isProfileFinished() && right.isProfileFinished();
+    }
+
+    /**
+     * Returns true if a controller ran out of points during the profile
+     * 
+     * @return True if the profile underran
+     */
+    public boolean hasUnderrun() {
+        return underrun;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.trajectory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * This class describes a one dimensional motion profile. Two specs that are
+ * equal always generate the same profile, so a spec is used as the key of the
+ * profile cache.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class ProfileSpec {
+    // Profile settings
+    private final double distance;
+    private final double maxVelocity;
+    private final double maxAcceleration;
+    private final double jerkTime;
+    private final int period;
+
+    /**
+     * Creates a profile spec. A jerk time of 0 gives a trapezoidal profile, a
+     * longer jerk time gives an S-curve that takes that long to reach full
+     * acceleration.
+     * 
+     * @param distance        The distance in encoder ticks, negative is backwards
+     * @param maxVelocity     The cruise velocity in ticks per second
+     * @param maxAcceleration The acceleration in ticks per second per second
+     * @param jerkTime        The time to reach full acceleration in seconds
+     * @param period          The time between points in milliseconds
+     */
+    public ProfileSpec(double distance, double maxVelocity, double maxAcceleration, double jerkTime, int period) {
+        if (maxVelocity <= 0 || maxAcceleration <= 0 || jerkTime < 0 || period <= 0) {
+            throw new IllegalArgumentException("Profile limits must be positive");
+        }
+
+        this.distance = distance;
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.jerkTime = jerkTime;
+        this.period = period;
+    }
+
+    /**
+     * Reads a spec written by {@link #write(DataOutput)}
+     * 
+     * @param input The input
+     * @return The spec
+     * @throws IOException If the input can not be read
+     */
+    public static ProfileSpec read(DataInput input) throws IOException {
+        return new ProfileSpec(input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble(),
+                input.readInt());
+    }
+
+    /**
+     * Writes the spec
+     * 
+     * @param output The output
+     * @throws IOException If the output can not be written
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeDouble(distance);
+        output.writeDouble(maxVelocity);
+        output.writeDouble(maxAcceleration);
+        output.writeDouble(jerkTime);
+        output.writeInt(period);
+    }
+
+    /**
+     * Returns the distance
+     * 
+     * @return The distance in encoder ticks
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns the cruise velocity
+     * 
+     * @return The velocity in ticks per second
+     */
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    /**
+     * Returns the acceleration
+     * 
+     * @return The acceleration in ticks per second per second
+     */
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    /**
+     * Returns the time to reach full acceleration
+     * 
+     * @return The time in seconds, 0 for a trapezoidal profile
+     */
+    public double getJerkTime() {
+        return jerkTime;
+    }
+
+    /**
+     * Returns the time between points
+     * 
+     * @return The time in milliseconds
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ProfileSpec)) {
+            return false;
+        }
+
+        ProfileSpec spec = (ProfileSpec) other;
+        return Double.compare(distance, spec.distance) == 0 && Double.compare(maxVelocity, spec.maxVelocity) == 0
+                && Double.compare(maxAcceleration, spec.maxAcceleration) == 0
+                && Double.compare(jerkTime, spec.jerkTime) == 0 && period == spec.period;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(distance, maxVelocity, maxAcceleration, jerkTime, period);
+    }
+}
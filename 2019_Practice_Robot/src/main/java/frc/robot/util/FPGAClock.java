@@ -0,0 +1,30 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * This class reads the FPGA timestamp, which counts microseconds since the
+ * roboRIO booted and never jumps
+ * 
+ * @author Caleb Heydon
+ */
+
+public class FPGAClock extends RobotClock {
+    /**
+     * Creates a clock and takes the first sample
+     */
+    public FPGAClock() {
+        update();
+    }
+
+    @Override
+    protected long sample() {
+        return RobotController.getFPGATime();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a fixed size log-linear histogram in the style of
+ * HdrHistogram. Each power of two is split into 32 buckets, so any value is
+ * counted within about 3 percent. One thread records and any thread can read
+ * without locks, and recording never allocates.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class LatencyHistogram {
+    // Define number of linear buckets in each power of two
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Define largest power of two that is tracked (about 18 minutes in ns)
+    private static final int MAX_EXPONENT = 40;
+
+    // Define number of buckets
+    public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    // Bucket counts, written by the recording thread only
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Counts a value. This must only be called from one thread.
+     * 
+     * @param value The value, negative values are counted as zero
+     */
+    public void record(long value) {
+        int index = getBucket(value);
+
+        // Single writer so a release store is enough
+        counts.lazySet(index, counts.get(index) + 1);
+    }
+
+    /**
+     * Copies the bucket counts
+     * 
+     * @param dest The array to copy into, must be {@link #BUCKET_COUNT} long
+     */
+    public void copyCounts(long[] dest) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            dest[i] = counts.get(i);
+        }
+    }
+
+    /**
+     * Returns the bucket a value is counted in
+     * 
+     * @param value The value
+     * @return The bucket index
+     */
+    static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (value < 0) ? 0 : (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+
+        // Top bits of the value, from SUB_BUCKET_COUNT to 2 * SUB_BUCKET_COUNT - 1
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + mantissa - SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Returns the largest value counted in a bucket
+     * 
+     * @param bucket The bucket index
+     * @return The value
+     */
+    static long getBucketMax(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int group = bucket / SUB_BUCKET_COUNT;
+        long mantissa = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = group - 1;
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Returns the value below which a fraction of the counted values fall
+     * 
+     * @param counts     The bucket counts
+     * @param total      The sum of the bucket counts
+     * @param percentile The percentile from 0 to 100
+     * @return The value, or zero if nothing was counted
+     */
+    public static long getValueAtPercentile(long[] counts, long total, double percentile) {
+        if (total <= 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+
+            if (seen >= target) {
+                return getBucketMax(i);
+            }
+        }
+
+        return getBucketMax(BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class writes log messages to the console on a background thread.
+ * Messages go into a pre-allocated ring buffer so logging never blocks and
+ * never allocates as long as the message is a constant string. If the buffer
+ * is full the message is dropped and counted. The same message logged over and
+ * over is printed once with a repeat count. Only the writer thread tracks
+ * repeats, so loggers on different threads never share any state but the
+ * buffer.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class Log {
+    // Define ring buffer size, must be a power of two
+    public static final int BUFFER_SIZE = 1024;
+
+    // Define how often the writer checks for messages
+    public static final long WRITER_PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // Define how often repeat counts are printed for a message that keeps repeating
+    public static final long REPEAT_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    // Define console prefix
+    private static final String PREFIX = "[code] ";
+
+    // Ring buffer
+    private static final String[] messages = new String[BUFFER_SIZE];
+    private static final LogLevel[] levels = new LogLevel[BUFFER_SIZE];
+    private static final AtomicLongArray sequences = new AtomicLongArray(BUFFER_SIZE);
+
+    // Next slot to claim and next slot to write
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong tail = new AtomicLong();
+
+    // Messages lost because the buffer was full
+    private static final AtomicLong dropped = new AtomicLong();
+
+    // Lowest level that is logged
+    private static volatile LogLevel level = LogLevel.Info;
+
+    // Console output
+    private static final PrintStream out = System.out;
+
+    // Writer state, only used by the writer thread
+    private static String lastMessage = null;
+    private static LogLevel lastLevel = null;
+    private static long repeats = 0;
+    private static long lastRepeatPrint = 0;
+    private static long lastDropped = 0;
+    private static long lastDroppedPrint = 0;
+
+    static {
+        // Declare thread
+        Thread writerThread = new Thread(Log::write);
+
+        // Set thread properties
+        writerThread.setName("Log Writer");
+        writerThread.setDaemon(true);
+        writerThread.setPriority(Thread.MIN_PRIORITY);
+
+        // Start writer thread
+        writerThread.start();
+    }
+
+    private Log() {
+    }
+
+    /**
+     * Sets the lowest level that is logged
+     * 
+     * @param level The level
+     */
+    public static void setLevel(LogLevel level) {
+        Log.level = level;
+    }
+
+    /**
+     * Logs a debug message
+     * 
+     * @param message The message
+     */
+    public static void debug(String message) {
+        log(LogLevel.Debug, message);
+    }
+
+    /**
+     * Logs an info message
+     * 
+     * @param message The message
+     */
+    public static void info(String message) {
+        log(LogLevel.Info, message);
+    }
+
+    /**
+     * Logs a warning message
+     * 
+     * @param message The message
+     */
+    public static void warning(String message) {
+        log(LogLevel.Warning, message);
+    }
+
+    /**
+     * Logs an error message
+     * 
+     * @param message The message
+     */
+    public static void error(String message) {
+        log(LogLevel.Error, message);
+    }
+
+    /**
+     * Queues a message for the writer thread. This can be called from any thread
+     * and never blocks.
+     * 
+     * @param messageLevel The level of the message
+     * @param message      The message
+     * @return True if the message was queued
+     */
+    public static boolean log(LogLevel messageLevel, String message) {
+        if (messageLevel.ordinal() < level.ordinal()) {
+            return false;
+        }
+
+        // Claim a slot
+        long position;
+        do {
+            position = head.get();
+
+            if (position - tail.get() >= BUFFER_SIZE) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!head.compareAndSet(position, position + 1));
+
+        int index = (int) (position & (BUFFER_SIZE - 1));
+        messages[index] = message;
+        levels[index] = messageLevel;
+
+        // Publish the slot to the writer
+        sequences.lazySet(index, position + 1);
+
+        return true;
+    }
+
+    /**
+     * Returns the number of messages lost because the buffer was full
+     * 
+     * @return The message count
+     */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * The writer loop
+     */
+    private static void write() {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & (BUFFER_SIZE - 1));
+
+            if (sequences.get(index) != position + 1) {
+                flushRepeats(false);
+                flushDropped();
+                LockSupport.parkNanos(WRITER_PERIOD);
+                continue;
+            }
+
+            String message = messages[index];
+            LogLevel messageLevel = levels[index];
+            messages[index] = null;
+            tail.lazySet(position + 1);
+
+            // Repeats are only counted here, in the order the slots were claimed
+            if (messageLevel == lastLevel && message.equals(lastMessage)) {
+                repeats++;
+                flushRepeats(false);
+                continue;
+            }
+
+            flushRepeats(true);
+            print(messageLevel, message);
+
+            lastMessage = message;
+            lastLevel = messageLevel;
+            lastRepeatPrint = System.nanoTime();
+        }
+    }
+
+    /**
+     * Prints the repeat count of the last message
+     * 
+     * @param force True to print even if the repeat period has not passed
+     */
+    private static void flushRepeats(boolean force) {
+        if (repeats == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (!force && now - lastRepeatPrint < REPEAT_PERIOD) {
+            return;
+        }
+
+        print(lastLevel, lastMessage + " (repeated " + repeats + " times)");
+        repeats = 0;
+        lastRepeatPrint = now;
+    }
+
+    /**
+     * Prints the number of messages that were lost
+     */
+    private static void flushDropped() {
+        long count = dropped.get();
+        long now = System.nanoTime();
+
+        if (count != lastDropped && now - lastDroppedPrint >= REPEAT_PERIOD) {
+            print(LogLevel.Warning, (count - lastDropped) + " log messages dropped");
+            lastDropped = count;
+            lastDroppedPrint = now;
+        }
+    }
+
+    /**
+     * Prints a message to the console
+     * 
+     * @param messageLevel The level of the message
+     * @param message      The message
+     */
+    private static void print(LogLevel messageLevel, String message) {
+        if (messageLevel == LogLevel.Info) {
+            out.println(PREFIX + message);
+        } else {
+            out.println(PREFIX + messageLevel.name().toUpperCase() + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+/**
+ * This enum lists the log levels from least to most important
+ * 
+ * @author Caleb Heydon
+ */
+
+public enum LogLevel {
+    Debug, Info, Warning, Error
+}
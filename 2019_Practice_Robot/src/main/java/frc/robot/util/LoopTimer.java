@@ -0,0 +1,185 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.dashboard.NumberEntry;
+
+/**
+ * This class times a piece of loop code and keeps a latency histogram of it.
+ * Timing costs two calls to System.nanoTime and a few array writes. Summaries
+ * are made from the counts since the last summary.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class LoopTimer {
+    // Timer settings
+    private final String name;
+    private final long overrunTime;
+
+    // Recorded latencies
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong overruns = new AtomicLong();
+
+    // Dashboard keys, made once so publishing does not build strings
+    private final String p50Key;
+    private final String p99Key;
+    private final String maxKey;
+    private final String overrunKey;
+
+    // Dashboard entries, added on the first publish
+    private NumberEntry p50Entry;
+    private NumberEntry p99Entry;
+    private NumberEntry maxEntry;
+    private NumberEntry overrunEntry;
+
+    // Summary state, only used by the publishing thread
+    private final long[] lastCounts = new long[LatencyHistogram.BUCKET_COUNT];
+    private final long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+    private long p50 = 0;
+    private long p99 = 0;
+    private long max = 0;
+
+    /**
+     * Creates a loop timer
+     * 
+     * @param name        The name shown on the dashboard
+     * @param overrunTime The time in nanoseconds that counts as an overrun
+     */
+    public LoopTimer(String name, long overrunTime) {
+        this.name = name;
+        this.overrunTime = overrunTime;
+
+        p50Key = "Loop/" + name + "/p50 us";
+        p99Key = "Loop/" + name + "/p99 us";
+        maxKey = "Loop/" + name + "/max us";
+        overrunKey = "Loop/" + name + "/overruns";
+    }
+
+    /**
+     * Returns the name of the timer
+     * 
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts timing
+     * 
+     * @return The start time to pass to {@link #stop(long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Stops timing and records the latency. This must always be called from the
+     * same thread.
+     * 
+     * @param startTime The value returned by {@link #start()}
+     */
+    public void stop(long startTime) {
+        record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Records a latency
+     * 
+     * @param time The latency in nanoseconds
+     */
+    public void record(long time) {
+        histogram.record(time);
+
+        if (time > overrunTime) {
+            overruns.lazySet(overruns.get() + 1);
+        }
+    }
+
+    /**
+     * Returns the number of overruns since the robot started
+     * 
+     * @return The overrun count
+     */
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Computes the summary of everything recorded since the last summary
+     */
+    public void summarize() {
+        histogram.copyCounts(counts);
+
+        long total = 0;
+        max = 0;
+
+        // Turn the totals into counts for this interval
+        for (int i = 0; i < counts.length; i++) {
+            long count = counts[i];
+            counts[i] -= lastCounts[i];
+            lastCounts[i] = count;
+
+            if (counts[i] > 0) {
+                total += counts[i];
+                max = LatencyHistogram.getBucketMax(i);
+            }
+        }
+
+        p50 = LatencyHistogram.getValueAtPercentile(counts, total, 50);
+        p99 = LatencyHistogram.getValueAtPercentile(counts, total, 99);
+    }
+
+    /**
+     * Puts the last summary on the dashboard
+     * 
+     * @param dashboard The dashboard, always the same one
+     */
+    public void publish(Dashboard dashboard) {
+        if (p50Entry == null) {
+            p50Entry = dashboard.addNumber(p50Key);
+            p99Entry = dashboard.addNumber(p99Key);
+            maxEntry = dashboard.addNumber(maxKey);
+            overrunEntry = dashboard.addNumber(overrunKey);
+        }
+
+        p50Entry.set(p50 / 1e3);
+        p99Entry.set(p99 / 1e3);
+        maxEntry.set(max / 1e3);
+        overrunEntry.set(getOverruns());
+    }
+
+    /**
+     * Returns the median latency of the last summary
+     * 
+     * @return The latency in nanoseconds
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 99th percentile latency of the last summary
+     * 
+     * @return The latency in nanoseconds
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Returns the largest latency of the last summary
+     * 
+     * @return The latency in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+}
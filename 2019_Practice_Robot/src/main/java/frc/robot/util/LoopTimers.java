@@ -0,0 +1,91 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import frc.robot.dashboard.Dashboard;
+
+/**
+ * This class keeps every loop timer so they can be summarized together
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class LoopTimers {
+    // Define the robot loop period
+    public static final long LOOP_PERIOD = TimeUnit.MILLISECONDS.toNanos(20);
+
+    // Define how often summaries are published
+    public static final long PUBLISH_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    // Registered timers
+    private static final List<LoopTimer> timers = new CopyOnWriteArrayList<>();
+
+    // Time of the last summary
+    private static long lastPublish = System.nanoTime();
+
+    private LoopTimers() {
+    }
+
+    /**
+     * Creates a timer that counts anything over the loop period as an overrun
+     * 
+     * @param name The name shown on the dashboard
+     * @return The timer
+     */
+    public static LoopTimer create(String name) {
+        return create(name, LOOP_PERIOD);
+    }
+
+    /**
+     * Creates a timer. Timers should be created during init, not in the loop.
+     * 
+     * @param name        The name shown on the dashboard
+     * @param overrunTime The time in nanoseconds that counts as an overrun
+     * @return The timer
+     */
+    public static LoopTimer create(String name, long overrunTime) {
+        LoopTimer timer = new LoopTimer(name, overrunTime);
+        timers.add(timer);
+
+        return timer;
+    }
+
+    /**
+     * Returns every registered timer
+     * 
+     * @return The timers
+     */
+    public static List<LoopTimer> getTimers() {
+        return timers;
+    }
+
+    /**
+     * Summarizes and publishes every timer if the publish period has passed.
+     * This should be called once per loop.
+     * 
+     * @param dashboard The dashboard, always the same one
+     */
+    public static void publishPeriodically(Dashboard dashboard) {
+        long now = System.nanoTime();
+
+        if (now - lastPublish < PUBLISH_PERIOD) {
+            return;
+        }
+
+        lastPublish = now;
+
+        for (int i = 0; i < timers.size(); i++) {
+            LoopTimer timer = timers.get(i);
+
+            timer.summarize();
+            timer.publish(dashboard);
+        }
+    }
+}
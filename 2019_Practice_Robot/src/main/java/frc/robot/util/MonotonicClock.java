@@ -0,0 +1,31 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+/**
+ * This class reads the JVM monotonic timer, for running robot code where there
+ * is no FPGA
+ * 
+ * @author Caleb Heydon
+ */
+
+public class MonotonicClock extends RobotClock {
+    // Timer value at time zero
+    private final long origin = System.nanoTime();
+
+    /**
+     * Creates a clock that starts at zero
+     */
+    public MonotonicClock() {
+        update();
+    }
+
+    @Override
+    protected long sample() {
+        return (System.nanoTime() - origin) / 1000;
+    }
+}
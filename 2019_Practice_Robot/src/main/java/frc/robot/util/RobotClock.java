@@ -0,0 +1,75 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+/**
+ * This class is the time used by the robot code. The time is sampled once at
+ * the start of each loop with {@link #update()} so every subsystem sees the
+ * same time for the whole loop. Times are monotonic and in microseconds.
+ * 
+ * @author Caleb Heydon
+ */
+
+public abstract class RobotClock {
+    // Time of the last sample
+    private long time;
+
+    /**
+     * Reads the time source
+     * 
+     * @return The time in microseconds
+     */
+    protected abstract long sample();
+
+    /**
+     * Samples the time source. This should be called once per loop.
+     * 
+     * @return The new time in microseconds
+     */
+    public long update() {
+        time = sample();
+        return time;
+    }
+
+    /**
+     * Returns the time of the last sample
+     * 
+     * @return The time in microseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the time of the last sample
+     * 
+     * @return The time in seconds
+     */
+    public double getSeconds() {
+        return time / 1e6;
+    }
+
+    /**
+     * Converts seconds to clock time
+     * 
+     * @param seconds The time in seconds
+     * @return The time in microseconds
+     */
+    public static long fromSeconds(double seconds) {
+        return (long) (seconds * 1e6);
+    }
+
+    /**
+     * Converts milliseconds to clock time
+     * 
+     * @param millis The time in milliseconds
+     * @return The time in microseconds
+     */
+    public static long fromMillis(long millis) {
+        return millis * 1000;
+    }
+}
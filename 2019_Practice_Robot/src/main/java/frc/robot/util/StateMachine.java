@@ -0,0 +1,559 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import frc.robot.dashboard.Dashboard;
+import frc.robot.dashboard.NumberEntry;
+
+/**
+ * This class runs a state machine over an enum of states. A machine is defined
+ * once with a {@link Builder} and turned into tables indexed by the state
+ * ordinal, so each update only looks at the transitions of the current state
+ * and does not allocate.
+ * 
+ * Each update first checks the transitions that apply to every state, then the
+ * predicate transitions of the current state in the order they were defined,
+ * then its timed transition. At most one transition is taken per update. The
+ * tick action of the resulting state is run last.
+ * 
+ * @param <S> The state type
+ * @author Caleb Heydon
+ */
+
+public final class StateMachine<S extends Enum<S>> {
+    // Machine settings
+    private final String name;
+    private final S[] states;
+    private final RobotClock clock;
+
+    // State tables, indexed by state ordinal
+    private final boolean[] defined;
+    private final Runnable[] entryActions;
+    private final Runnable[] tickActions;
+    private final Runnable[] exitActions;
+    private final BooleanSupplier[][] conditions;
+    private final int[][] targets;
+    private final Runnable[][] transitionActions;
+    private final LongSupplier[] timeouts;
+    private final int[] timeoutTargets;
+
+    // Transitions from every state
+    private final BooleanSupplier[] anyConditions;
+    private final int[] anyTargets;
+    private final Runnable[] anyTransitionActions;
+
+    // Dwell time in microseconds, indexed by state ordinal
+    // The last dwell times are also read by the dashboard thread
+    private final AtomicLongArray lastDwellTimes;
+    private final long[] totalDwellTimes;
+    private final long[] entries;
+
+    // Dashboard values, null until they are added to a dashboard
+    private NumberEntry[] dwellEntries = null;
+
+    // Current state
+    private int state = -1;
+    private long stateStartTime = 0;
+    private long stateStopTime = Long.MAX_VALUE;
+
+    /**
+     * Creates a state machine from a definition
+     * 
+     * @param builder The definition
+     * @param clock   The clock updated once per loop
+     */
+    private StateMachine(Builder<S> builder, RobotClock clock) {
+        name = builder.name;
+        states = builder.states;
+        this.clock = clock;
+
+        int count = states.length;
+
+        defined = builder.defined.clone();
+        entryActions = builder.entryActions.clone();
+        tickActions = builder.tickActions.clone();
+        exitActions = builder.exitActions.clone();
+        timeouts = builder.timeouts.clone();
+        timeoutTargets = builder.timeoutTargets.clone();
+
+        conditions = new BooleanSupplier[count][];
+        targets = new int[count][];
+        transitionActions = new Runnable[count][];
+
+        for (int i = 0; i < count; i++) {
+            List<Transition> transitions = builder.transitions.get(i);
+
+            conditions[i] = new BooleanSupplier[transitions.size()];
+            targets[i] = new int[transitions.size()];
+            transitionActions[i] = new Runnable[transitions.size()];
+
+            for (int j = 0; j < transitions.size(); j++) {
+                conditions[i][j] = transitions.get(j).condition;
+                targets[i][j] = transitions.get(j).target;
+                transitionActions[i][j] = transitions.get(j).action;
+            }
+        }
+
+        anyConditions = new BooleanSupplier[builder.anyTransitions.size()];
+        anyTargets = new int[builder.anyTransitions.size()];
+        anyTransitionActions = new Runnable[builder.anyTransitions.size()];
+
+        for (int j = 0; j < anyConditions.length; j++) {
+            anyConditions[j] = builder.anyTransitions.get(j).condition;
+            anyTargets[j] = builder.anyTransitions.get(j).target;
+            anyTransitionActions[j] = builder.anyTransitions.get(j).action;
+        }
+
+        lastDwellTimes = new AtomicLongArray(count);
+        totalDwellTimes = new long[count];
+        entries = new long[count];
+    }
+
+    /**
+     * Creates a definition for a state machine
+     * 
+     * @param <S>  The state type
+     * @param name The name shown on the dashboard
+     * @param type The state enum
+     * @return The definition
+     */
+    public static <S extends Enum<S>> Builder<S> builder(String name, Class<S> type) {
+        return new Builder<>(name, type);
+    }
+
+    /**
+     * Returns the name of the machine
+     * 
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Moves to a state without running the exit action of the current state
+     * 
+     * @param start The state
+     */
+    public void start(S start) {
+        int next = start.ordinal();
+
+        if (!defined[next]) {
+            throw new IllegalArgumentException(start + " is not part of " + name);
+        }
+
+        long now = clock.getTime();
+
+        if (state >= 0) {
+            endDwell(now);
+        }
+
+        enter(next, now);
+    }
+
+    /**
+     * Checks the transitions and runs the tick action of the current state
+     */
+    public void update() {
+        if (state < 0) {
+            throw new IllegalStateException(name + " has not been started");
+        }
+
+        long now = clock.getTime();
+
+        if (!checkTransitions(anyConditions, anyTargets, anyTransitionActions, now)
+                && !checkTransitions(conditions[state], targets[state], transitionActions[state], now)
+                && now >= stateStopTime) {
+            transition(timeoutTargets[state], null, now);
+        }
+
+        Runnable tick = tickActions[state];
+        if (tick != null) {
+            tick.run();
+        }
+    }
+
+    /**
+     * Takes the first transition whose condition is true
+     * 
+     * @param conditions The conditions
+     * @param targets    The target of each condition
+     * @param actions    The action of each condition
+     * @param now        The current time
+     * @return True if a transition was taken
+     */
+    private boolean checkTransitions(BooleanSupplier[] conditions, int[] targets, Runnable[] actions, long now) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i].getAsBoolean()) {
+                transition(targets[i], actions[i], now);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Leaves the current state and enters another. Going to the current state
+     * leaves and enters it again.
+     * 
+     * @param next   The state ordinal
+     * @param action The transition action, may be null
+     * @param now    The current time
+     */
+    private void transition(int next, Runnable action, long now) {
+        Runnable exit = exitActions[state];
+        if (exit != null) {
+            exit.run();
+        }
+
+        endDwell(now);
+
+        if (action != null) {
+            action.run();
+        }
+
+        enter(next, now);
+    }
+
+    /**
+     * Enters a state
+     * 
+     * @param next The state ordinal
+     * @param now  The current time
+     */
+    private void enter(int next, long now) {
+        state = next;
+        stateStartTime = now;
+        entries[next]++;
+
+        Runnable entry = entryActions[next];
+        if (entry != null) {
+            entry.run();
+        }
+
+        // The timeout is read on entry so it uses the settings of that moment
+        LongSupplier timeout = timeouts[next];
+        stateStopTime = (timeout != null) ? now + timeout.getAsLong() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Records the time spent in the current state
+     * 
+     * @param now The current time
+     */
+    private void endDwell(long now) {
+        long dwell = now - stateStartTime;
+
+        lastDwellTimes.lazySet(state, dwell);
+        totalDwellTimes[state] += dwell;
+    }
+
+    /**
+     * Returns the current state
+     * 
+     * @return The state, or null if the machine has not been started
+     */
+    public S getState() {
+        return (state >= 0) ? states[state] : null;
+    }
+
+    /**
+     * Returns the time the current state was entered
+     * 
+     * @return The time in microseconds
+     */
+    public long getStateStartTime() {
+        return stateStartTime;
+    }
+
+    /**
+     * Returns the time spent the last time a state was left
+     * 
+     * @param state The state
+     * @return The time in microseconds
+     */
+    public long getLastDwellTime(S state) {
+        return lastDwellTimes.get(state.ordinal());
+    }
+
+    /**
+     * Returns the total time spent in a state, not counting the current visit
+     * 
+     * @param state The state
+     * @return The time in microseconds
+     */
+    public long getTotalDwellTime(S state) {
+        return totalDwellTimes[state.ordinal()];
+    }
+
+    /**
+     * Returns the number of times a state was entered
+     * 
+     * @param state The state
+     * @return The entry count
+     */
+    public long getEntries(S state) {
+        return entries[state.ordinal()];
+    }
+
+    /**
+     * Adds the last dwell time of every state to a dashboard, the keys are made
+     * once here
+     * 
+     * @param dashboard The dashboard
+     */
+    public void addDwellTimes(Dashboard dashboard) {
+        NumberEntry[] entries = new NumberEntry[states.length];
+
+        for (int i = 0; i < states.length; i++) {
+            if (defined[i]) {
+                entries[i] = dashboard.addNumber("State/" + name + "/" + states[i].name() + " ms");
+            }
+        }
+
+        dwellEntries = entries;
+    }
+
+    /**
+     * Sets the dashboard values to the last dwell times. This is called by the
+     * thread that owns the dashboard, unchanged values are not sent.
+     */
+    public void publish() {
+        NumberEntry[] entries = dwellEntries;
+        if (entries == null) {
+            return;
+        }
+
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                entries[i].set(lastDwellTimes.get(i) / 1e3);
+            }
+        }
+    }
+
+    /**
+     * This class is a transition while a machine is being defined
+     */
+    private static final class Transition {
+        private final BooleanSupplier condition;
+        private final int target;
+        private final Runnable action;
+
+        private Transition(BooleanSupplier condition, int target, Runnable action) {
+            this.condition = condition;
+            this.target = target;
+            this.action = action;
+        }
+    }
+
+    /**
+     * This class defines a state machine. Call {@link #state(Enum)} to pick the
+     * state the following calls apply to.
+     * 
+     * @param <S> The state type
+     */
+    public static final class Builder<S extends Enum<S>> {
+        // Definition
+        private final String name;
+        private final S[] states;
+        private final boolean[] defined;
+        private final Runnable[] entryActions;
+        private final Runnable[] tickActions;
+        private final Runnable[] exitActions;
+        private final List<List<Transition>> transitions = new ArrayList<>();
+        private final LongSupplier[] timeouts;
+        private final int[] timeoutTargets;
+        private final List<Transition> anyTransitions = new ArrayList<>();
+
+        // State being defined
+        private int current = -1;
+
+        /**
+         * Creates a definition
+         * 
+         * @param name The name shown on the dashboard
+         * @param type The state enum
+         */
+        private Builder(String name, Class<S> type) {
+            this.name = name;
+            states = type.getEnumConstants();
+
+            defined = new boolean[states.length];
+            entryActions = new Runnable[states.length];
+            tickActions = new Runnable[states.length];
+            exitActions = new Runnable[states.length];
+            timeouts = new LongSupplier[states.length];
+            timeoutTargets = new int[states.length];
+
+            for (int i = 0; i < states.length; i++) {
+                transitions.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Adds a state to the machine and picks it for the following calls
+         * 
+         * @param state The state
+         * @return This definition
+         */
+        public Builder<S> state(S state) {
+            current = state.ordinal();
+            defined[current] = true;
+            return this;
+        }
+
+        /**
+         * Sets the action run when the state is entered
+         * 
+         * @param action The action
+         * @return This definition
+         */
+        public Builder<S> onEntry(Runnable action) {
+            entryActions[checkCurrent()] = action;
+            return this;
+        }
+
+        /**
+         * Sets the action run on every update in the state
+         * 
+         * @param action The action
+         * @return This definition
+         */
+        public Builder<S> onTick(Runnable action) {
+            tickActions[checkCurrent()] = action;
+            return this;
+        }
+
+        /**
+         * Sets the action run when the state is left
+         * 
+         * @param action The action
+         * @return This definition
+         */
+        public Builder<S> onExit(Runnable action) {
+            exitActions[checkCurrent()] = action;
+            return this;
+        }
+
+        /**
+         * Adds a transition taken when a condition is true
+         * 
+         * @param condition The condition
+         * @param target    The next state
+         * @return This definition
+         */
+        public Builder<S> when(BooleanSupplier condition, S target) {
+            return when(condition, target, null);
+        }
+
+        /**
+         * Adds a transition taken when a condition is true
+         * 
+         * @param condition The condition
+         * @param target    The next state
+         * @param action    The action run between the exit and entry actions
+         * @return This definition
+         */
+        public Builder<S> when(BooleanSupplier condition, S target, Runnable action) {
+            transitions.get(checkCurrent()).add(new Transition(condition, target.ordinal(), action));
+            return this;
+        }
+
+        /**
+         * Adds a transition taken once the state has lasted for a time
+         * 
+         * @param duration The time in microseconds, read when the state is entered
+         * @param target   The next state
+         * @return This definition
+         */
+        public Builder<S> after(LongSupplier duration, S target) {
+            int state = checkCurrent();
+
+            if (timeouts[state] != null) {
+                throw new IllegalStateException(states[state] + " already has a timed transition");
+            }
+
+            timeouts[state] = duration;
+            timeoutTargets[state] = target.ordinal();
+            return this;
+        }
+
+        /**
+         * Adds a transition taken from any state when a condition is true
+         * 
+         * @param condition The condition
+         * @param target    The next state
+         * @param action    The action run between the exit and entry actions
+         * @return This definition
+         */
+        public Builder<S> fromAny(BooleanSupplier condition, S target, Runnable action) {
+            anyTransitions.add(new Transition(condition, target.ordinal(), action));
+            return this;
+        }
+
+        /**
+         * Checks the definition and builds the transition tables
+         * 
+         * @param clock The clock updated once per loop
+         * @return The state machine
+         */
+        public StateMachine<S> build(RobotClock clock) {
+            for (int i = 0; i < states.length; i++) {
+                if (!defined[i]) {
+                    continue;
+                }
+
+                for (Transition transition : transitions.get(i)) {
+                    checkTarget(states[i], transition.target);
+                }
+
+                if (timeouts[i] != null) {
+                    checkTarget(states[i], timeoutTargets[i]);
+                }
+            }
+
+            for (Transition transition : anyTransitions) {
+                checkTarget(null, transition.target);
+            }
+
+            return new StateMachine<>(this, clock);
+        }
+
+        /**
+         * Returns the state being defined
+         * 
+         * @return The state ordinal
+         */
+        private int checkCurrent() {
+            if (current < 0) {
+                throw new IllegalStateException("No state picked");
+            }
+
+            return current;
+        }
+
+        /**
+         * Checks that a transition goes to a state of this machine
+         * 
+         * @param from   The state the transition starts from, null for any state
+         * @param target The state ordinal
+         */
+        private void checkTarget(S from, int target) {
+            if (!defined[target]) {
+                throw new IllegalStateException(
+                        ((from != null) ? from : "Any state") + " goes to " + states[target] + " which is not part of "
+                                + name);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.util;
+
+/**
+ * This class is a clock that only moves when it is told to. Simulations use it
+ * to run robot code faster than real time with the same result every run.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class VirtualClock extends RobotClock {
+    // Virtual time in microseconds
+    private long virtualTime = 0;
+
+    /**
+     * Moves the clock forward and samples it
+     * 
+     * @param time The time step in microseconds
+     */
+    public void advance(long time) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time can not go backwards");
+        }
+
+        virtualTime += time;
+        update();
+    }
+
+    /**
+     * Moves the clock forward and samples it
+     * 
+     * @param seconds The time step in seconds
+     */
+    public void advanceSeconds(double seconds) {
+        advance(fromSeconds(seconds));
+    }
+
+    @Override
+    protected long sample() {
+        return virtualTime;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.sim;
+
+import frc.robot.hardware.SimulatedMotor;
+
+/**
+ * This class models a climber actuator driven by a motor. The actuator moves
+ * between retracted (0) and extended (1) at a speed proportional to the motor
+ * output and stops at either end.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class ActuatorModel {
+    // Define the output the stroke time is measured at
+    public static final double STROKE_OUTPUT = 0.25;
+
+    // Motor driving the actuator
+    private final SimulatedMotor motor;
+
+    // Time for a full stroke at the stroke output in seconds
+    private final double strokeTime;
+
+    // Position from 0 (retracted) to 1 (extended)
+    private double position = 0;
+
+    /**
+     * Creates an actuator model
+     * 
+     * @param motor      The motor driving the actuator
+     * @param strokeTime The time for a full stroke at the stroke output in seconds
+     */
+    public ActuatorModel(SimulatedMotor motor, double strokeTime) {
+        this.motor = motor;
+        this.strokeTime = strokeTime;
+    }
+
+    /**
+     * Moves the actuator for a period of time at the current motor output
+     * 
+     * @param seconds The time step
+     */
+    public void update(double seconds) {
+        position += motor.getOutput() / STROKE_OUTPUT * seconds / strokeTime;
+        position = Math.max(0, Math.min(1, position));
+    }
+
+    /**
+     * Returns the actuator position
+     * 
+     * @return The position from 0 (retracted) to 1 (extended)
+     */
+    public double getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.sim;
+
+import java.util.function.Supplier;
+import frc.robot.AutoState;
+import frc.robot.ClimbController;
+import frc.robot.config.RobotConfig;
+
+/**
+ * This class runs the climb down in auto and the climb up in teleop on one
+ * simulated robot in virtual time. The trial fails as soon as the climb would
+ * have gone wrong on a real platform.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class ClimbTrial {
+    // Define the time step of each tick in seconds
+    public static final double TICK_PERIOD = 0.02;
+
+    // Define how long each climb may take in seconds
+    public static final double CLIMB_DOWN_TIME = 15;
+    public static final double CLIMB_UP_TIME = 30;
+
+    // Define the distances the default timed legs cover on a nominal robot, these
+    // are what the platform needs
+    public static final double DOWN_Y_DISTANCE = 768;
+    public static final double DOWN_Z_DISTANCE = 1024;
+    public static final double UP_DISTANCE = 1024;
+
+    // Define how far a leg may be off of its distance as a fraction
+    public static final double LEG_TOLERANCE = 0.25;
+
+    // Define how close to the end an actuator must be
+    public static final double ACTUATOR_TOLERANCE = 0.01;
+
+    /**
+     * This enum lists the ways a trial can fail
+     */
+    public enum Failure {
+        None, PistonNotExtended, PistonNotRetracted, LegShort, LegLong, Timeout
+    }
+
+    // Trial result
+    private Failure failure = Failure.None;
+    private AutoState failedState = null;
+    private double climbDownTime = 0;
+    private double climbUpTime = 0;
+    private long ticks = 0;
+
+    // Leg being driven
+    private double legStart = 0;
+
+    private ClimbTrial() {
+    }
+
+    /**
+     * Runs a trial
+     * 
+     * @param parameters The physical properties of the robot
+     * @param config     The climb settings
+     * @return The result
+     */
+    public static ClimbTrial run(TrialParameters parameters, Supplier<RobotConfig> config) {
+        ClimbTrial trial = new ClimbTrial();
+        trial.runClimbs(new SimulatedRobot(parameters, config));
+
+        return trial;
+    }
+
+    /**
+     * Runs the climb down followed by the climb up
+     * 
+     * @param robot The robot
+     */
+    private void runClimbs(SimulatedRobot robot) {
+        ClimbController climb = robot.getClimbController();
+
+        // Auto climb down
+        climb.autonomousInit(true);
+        climbDownTime = runClimb(robot, false, AutoState.ClimbDwnDone, CLIMB_DOWN_TIME);
+
+        if (failure != Failure.None) {
+            return;
+        }
+
+        // Teleop climb up
+        climb.teleopInit();
+        climbUpTime = runClimb(robot, true, AutoState.ClimbUpWaitCmd, CLIMB_UP_TIME);
+    }
+
+    /**
+     * Ticks the robot until a climb is done or fails
+     * 
+     * @param robot   The robot
+     * @param teleop  True to run the teleop periodic method
+     * @param done    The state the climb ends in
+     * @param maxTime The most time the climb may take in seconds
+     * @return The time the climb took in seconds
+     */
+    private double runClimb(SimulatedRobot robot, boolean teleop, AutoState done, double maxTime) {
+        ClimbController climb = robot.getClimbController();
+        long maxTicks = (long) (maxTime / TICK_PERIOD);
+        long climbTicks = 0;
+
+        AutoState state = climb.getState();
+
+        while (climbTicks < maxTicks) {
+            if (teleop) {
+                // The drivers press the climb buttons before the first tick
+                if (climbTicks == 0) {
+                    climb.startClimb();
+                }
+
+                climb.teleopPeriodic(0, 0, 0, 0);
+            } else {
+                climb.autonomousPeriodic(0, 0, 0, 0);
+            }
+
+            AutoState next = climb.getState();
+
+            if (next != state) {
+                check(robot, state, next);
+
+                if (failure != Failure.None) {
+                    failedState = state;
+                    return climbTicks * TICK_PERIOD;
+                }
+
+                state = next;
+            }
+
+            robot.update(TICK_PERIOD);
+            climbTicks++;
+            ticks++;
+
+            if (state == done && climbTicks > 1) {
+                return climbTicks * TICK_PERIOD;
+            }
+        }
+
+        failure = Failure.Timeout;
+        failedState = state;
+        return climbTicks * TICK_PERIOD;
+    }
+
+    /**
+     * Checks that the robot is ready for a state change
+     * 
+     * @param robot The robot
+     * @param from  The state being left
+     * @param to    The state being entered
+     */
+    private void check(SimulatedRobot robot, AutoState from, AutoState to) {
+        double legTarget = getLegDistance(from);
+
+        // Check the distance of the leg that just ended
+        if (legTarget > 0) {
+            double distance = Math.abs(robot.getGroundDistance() - legStart);
+
+            if (distance < legTarget * (1 - LEG_TOLERANCE)) {
+                failure = Failure.LegShort;
+                return;
+            }
+
+            if (distance > legTarget * (1 + LEG_TOLERANCE)) {
+                failure = Failure.LegLong;
+                return;
+            }
+        }
+
+        // The pistons must have finished moving before the robot drives
+        switch (to) {
+        case DwnDriveFwdY:
+        case UpDriveFwdA:
+            if (robot.getPiston().getPosition() < 1 - ACTUATOR_TOLERANCE) {
+                failure = Failure.PistonNotExtended;
+                return;
+            }
+            break;
+        case DwnDriveFwdZ:
+        case UpDriveFwdC:
+            if (robot.getPiston().getPosition() > ACTUATOR_TOLERANCE) {
+                failure = Failure.PistonNotRetracted;
+                return;
+            }
+            break;
+        default:
+            break;
+        }
+
+        legStart = robot.getGroundDistance();
+    }
+
+    /**
+     * Returns the distance a drive leg must cover
+     * 
+     * @param state The state
+     * @return The distance in encoder ticks, 0 if the state is not a drive leg
+     */
+    private static double getLegDistance(AutoState state) {
+        switch (state) {
+        case DwnDriveFwdY:
+            return DOWN_Y_DISTANCE;
+        case DwnDriveFwdZ:
+            return DOWN_Z_DISTANCE;
+        case UpDriveFwdZ:
+        case UpDriveFwdA:
+        case UpDriveFwdB:
+        case UpDriveFwdC:
+            return UP_DISTANCE;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Returns how the trial failed
+     * 
+     * @return The failure, None if the climbs completed
+     */
+    public Failure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the state the trial failed in
+     * 
+     * @return The state, null if the climbs completed
+     */
+    public AutoState getFailedState() {
+        return failedState;
+    }
+
+    /**
+     * Returns the time the climb down took
+     * 
+     * @return The time in seconds
+     */
+    public double getClimbDownTime() {
+        return climbDownTime;
+    }
+
+    /**
+     * Returns the time the climb up took
+     * 
+     * @return The time in seconds
+     */
+    public double getClimbUpTime() {
+        return climbUpTime;
+    }
+
+    /**
+     * Returns the number of ticks run
+     * 
+     * @return The tick count
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
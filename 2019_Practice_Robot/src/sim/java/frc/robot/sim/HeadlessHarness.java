@@ -0,0 +1,114 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import frc.robot.AutoState;
+import frc.robot.config.RobotConfig;
+import frc.robot.util.Log;
+import frc.robot.util.LogLevel;
+
+/**
+ * This program runs the climb sequences on randomized simulated robots in
+ * virtual time and reports how often and how quickly they complete. The same
+ * seed always gives the same results, so two configs can be compared by running
+ * them with the same seed.
+ * 
+ * Usage: HeadlessHarness [trials] [seed] [config file]
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class HeadlessHarness {
+    // Define defaults
+    public static final int DEFAULT_TRIALS = 1000;
+    public static final long DEFAULT_SEED = 3555;
+
+    private HeadlessHarness() {
+    }
+
+    /**
+     * Runs the harness
+     * 
+     * @param args The number of trials, the random seed and the config file
+     * @throws IOException If the config file can not be read
+     */
+    public static void main(String... args) throws IOException {
+        int trials = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_TRIALS;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        RobotConfig config = (args.length > 2) ? RobotConfig.parse(Files.readAllLines(Paths.get(args[2])))
+                : RobotConfig.DEFAULT;
+
+        // Only show problems, the climb logs every state
+        Log.setLevel(LogLevel.Warning);
+
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Map<ClimbTrial.Failure, Integer> failures = new EnumMap<>(ClimbTrial.Failure.class);
+        Map<AutoState, Integer> failedStates = new EnumMap<>(AutoState.class);
+        double[] climbDownTimes = new double[trials];
+        double[] climbUpTimes = new double[trials];
+        int completed = 0;
+        long ticks = 0;
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < trials; i++) {
+            // Each trial gets its own stream so results do not depend on trial order
+            ClimbTrial trial = ClimbTrial.run(TrialParameters.random(random.split()), () -> config);
+            ticks += trial.getTicks();
+
+            if (trial.getFailure() == ClimbTrial.Failure.None) {
+                climbDownTimes[completed] = trial.getClimbDownTime();
+                climbUpTimes[completed] = trial.getClimbUpTime();
+                completed++;
+            } else {
+                failures.merge(trial.getFailure(), 1, Integer::sum);
+                failedStates.merge(trial.getFailedState(), 1, Integer::sum);
+            }
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("[sim] %d trials, seed %d, %d ticks in %.3f s (%.0f trials/min)%n", trials, seed, ticks,
+                seconds, trials / seconds * 60);
+        System.out.printf("[sim] completed %d (%.1f%%)%n", completed, 100.0 * completed / trials);
+
+        for (Map.Entry<ClimbTrial.Failure, Integer> entry : failures.entrySet()) {
+            System.out.printf("[sim] failed %s: %d (%.1f%%)%n", entry.getKey(), entry.getValue(),
+                    100.0 * entry.getValue() / trials);
+        }
+
+        for (Map.Entry<AutoState, Integer> entry : failedStates.entrySet()) {
+            System.out.printf("[sim] failed in %s: %d%n", entry.getKey(), entry.getValue());
+        }
+
+        if (completed > 0) {
+            printTimes("climb down", Arrays.copyOf(climbDownTimes, completed));
+            printTimes("climb up", Arrays.copyOf(climbUpTimes, completed));
+        }
+    }
+
+    /**
+     * Prints the spread of completion times
+     * 
+     * @param name  The name of the climb
+     * @param times The times in seconds
+     */
+    private static void printTimes(String name, double[] times) {
+        Arrays.sort(times);
+
+        System.out.printf("[sim] %s s: min %.2f p50 %.2f p95 %.2f max %.2f%n", name, times[0],
+                times[(int) (times.length * 0.5)], times[(int) (times.length * 0.95)], times[times.length - 1]);
+    }
+}
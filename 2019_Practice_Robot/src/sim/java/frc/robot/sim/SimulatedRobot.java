@@ -0,0 +1,211 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.sim;
+
+import java.util.function.Supplier;
+import frc.robot.ClimbController;
+import frc.robot.config.RobotConfig;
+import frc.robot.hardware.SimulatedMotor;
+import frc.robot.systems.DriveBase;
+import frc.robot.trajectory.ProfileCache;
+import frc.robot.util.VirtualClock;
+
+/**
+ * This class builds the drivetrain and climber on simulated motors and models
+ * how far the robot really moves and where the climber actuators are
+ * 
+ * @author Caleb Heydon
+ */
+
+public class SimulatedRobot {
+    // Motion profiles shared by every trial, only kept in memory
+    private static final ProfileCache PROFILES = new ProfileCache(null);
+
+    // Simulated talons
+    private final SimulatedMotor flm = new SimulatedMotor();
+    private final SimulatedMotor frm = new SimulatedMotor();
+    private final SimulatedMotor blm = new SimulatedMotor();
+    private final SimulatedMotor brm = new SimulatedMotor();
+
+    // Simulated intakes
+    private final SimulatedMotor intake1 = new SimulatedMotor();
+    private final SimulatedMotor intake2 = new SimulatedMotor();
+
+    // Simulated time
+    private final VirtualClock clock = new VirtualClock();
+
+    // Physical models
+    private final TrialParameters parameters;
+    private final ActuatorModel piston;
+    private final ActuatorModel lever;
+
+    // Distance the robot really moved in encoder ticks
+    private double groundDistance = 0;
+    private int lastLeftPosition = 0;
+    private int lastRightPosition = 0;
+
+    // Robot code running on the simulated motors
+    private final DriveBase drivetrain;
+    private final ClimbController climb;
+
+    /**
+     * Creates a nominal simulated robot with the default settings
+     */
+    public SimulatedRobot() {
+        this(TrialParameters.NOMINAL, () -> RobotConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a simulated robot
+     * 
+     * @param parameters The physical properties of the robot
+     * @param config     The climb settings
+     */
+    public SimulatedRobot(TrialParameters parameters, Supplier<RobotConfig> config) {
+        this.parameters = parameters;
+
+        for (SimulatedMotor motor : new SimulatedMotor[] { flm, frm, blm, brm }) {
+            motor.setVoltageScale(parameters.getVoltageScale());
+            motor.setTimeConstant(parameters.getDriveTimeConstant());
+        }
+
+        piston = new ActuatorModel(intake1, parameters.getPistonStrokeTime());
+        lever = new ActuatorModel(intake2, parameters.getLeverStrokeTime());
+
+        drivetrain = new DriveBase(flm, frm, blm, brm, blm, brm, clock);
+        drivetrain.setCompensated(config.get().getDriveCompensate());
+        climb = new ClimbController(drivetrain, intake1, intake2, config, PROFILES, clock);
+    }
+
+    /**
+     * Returns the physical properties of the robot
+     * 
+     * @return The parameters
+     */
+    public TrialParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the climber piston model
+     * 
+     * @return The piston
+     */
+    public ActuatorModel getPiston() {
+        return piston;
+    }
+
+    /**
+     * Returns the climber lever model
+     * 
+     * @return The lever
+     */
+    public ActuatorModel getLever() {
+        return lever;
+    }
+
+    /**
+     * Returns the distance the robot really moved, after wheel slip
+     * 
+     * @return The distance in encoder ticks, negative is backwards
+     */
+    public double getGroundDistance() {
+        return groundDistance;
+    }
+
+    /**
+     * Returns the drivetrain
+     * 
+     * @return The drivetrain
+     */
+    public DriveBase getDriveBase() {
+        return drivetrain;
+    }
+
+    /**
+     * Returns the climb controller
+     * 
+     * @return The climb controller
+     */
+    public ClimbController getClimbController() {
+        return climb;
+    }
+
+    /**
+     * Returns the simulated clock
+     * 
+     * @return The clock
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the left drive motor
+     * 
+     * @return The motor
+     */
+    public SimulatedMotor getLeftMotor() {
+        return blm;
+    }
+
+    /**
+     * Returns the right drive motor
+     * 
+     * @return The motor
+     */
+    public SimulatedMotor getRightMotor() {
+        return brm;
+    }
+
+    /**
+     * Returns the climber piston motor
+     * 
+     * @return The motor
+     */
+    public SimulatedMotor getPistonMotor() {
+        return intake1;
+    }
+
+    /**
+     * Returns the climber lever motor
+     * 
+     * @return The motor
+     */
+    public SimulatedMotor getLeverMotor() {
+        return intake2;
+    }
+
+    /**
+     * Moves the clock and every motor forward in time
+     * 
+     * @param seconds The time step
+     */
+    public void update(double seconds) {
+        clock.advanceSeconds(seconds);
+
+        flm.update(seconds);
+        frm.update(seconds);
+        blm.update(seconds);
+        brm.update(seconds);
+        intake1.update(seconds);
+        intake2.update(seconds);
+
+        piston.update(seconds);
+        lever.update(seconds);
+
+        // The robot moves with the average of both sides, less what the wheels slip
+        int leftPosition = blm.getPosition();
+        int rightPosition = brm.getPosition();
+
+        groundDistance += (leftPosition - lastLeftPosition + rightPosition - lastRightPosition) / 2.0
+                * (1 - parameters.getWheelSlip());
+
+        lastLeftPosition = leftPosition;
+        lastRightPosition = rightPosition;
+    }
+}
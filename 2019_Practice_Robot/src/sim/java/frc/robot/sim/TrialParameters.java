@@ -0,0 +1,121 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class holds the physical properties of one simulated robot. Trials draw
+ * them at random so the climb is tested against a spread of robots instead of a
+ * perfect one.
+ * 
+ * @author Caleb Heydon
+ */
+
+public final class TrialParameters {
+    // Define a robot that behaves exactly like the motor model
+    public static final TrialParameters NOMINAL = new TrialParameters(1, 0, 0, 2, 2);
+
+    // Define random ranges
+    public static final double MIN_VOLTAGE_SCALE = 0.85;
+    public static final double MAX_VOLTAGE_SCALE = 1;
+    public static final double MIN_DRIVE_TIME_CONSTANT = 0.03;
+    public static final double MAX_DRIVE_TIME_CONSTANT = 0.1;
+    public static final double MIN_WHEEL_SLIP = 0;
+    public static final double MAX_WHEEL_SLIP = 0.1;
+    public static final double MIN_PISTON_STROKE_TIME = 1.5;
+    public static final double MAX_PISTON_STROKE_TIME = 2.1;
+    public static final double MIN_LEVER_STROKE_TIME = 1.5;
+    public static final double MAX_LEVER_STROKE_TIME = 2.5;
+
+    // Properties
+    private final double voltageScale;
+    private final double driveTimeConstant;
+    private final double wheelSlip;
+    private final double pistonStrokeTime;
+    private final double leverStrokeTime;
+
+    /**
+     * Creates trial parameters
+     * 
+     * @param voltageScale      The fraction of the free speed reached at full
+     *                          output
+     * @param driveTimeConstant The drive motor time constant in seconds
+     * @param wheelSlip         The fraction of encoder travel lost to slip
+     * @param pistonStrokeTime  The time the pistons take to move at the climb
+     *                          power in seconds
+     * @param leverStrokeTime   The time the lever takes to move at the climb power
+     *                          in seconds
+     */
+    public TrialParameters(double voltageScale, double driveTimeConstant, double wheelSlip, double pistonStrokeTime,
+            double leverStrokeTime) {
+        this.voltageScale = voltageScale;
+        this.driveTimeConstant = driveTimeConstant;
+        this.wheelSlip = wheelSlip;
+        this.pistonStrokeTime = pistonStrokeTime;
+        this.leverStrokeTime = leverStrokeTime;
+    }
+
+    /**
+     * Draws random trial parameters
+     * 
+     * @param random The random source
+     * @return The parameters
+     */
+    public static TrialParameters random(SplittableRandom random) {
+        return new TrialParameters(random.nextDouble(MIN_VOLTAGE_SCALE, MAX_VOLTAGE_SCALE),
+                random.nextDouble(MIN_DRIVE_TIME_CONSTANT, MAX_DRIVE_TIME_CONSTANT),
+                random.nextDouble(MIN_WHEEL_SLIP, MAX_WHEEL_SLIP),
+                random.nextDouble(MIN_PISTON_STROKE_TIME, MAX_PISTON_STROKE_TIME),
+                random.nextDouble(MIN_LEVER_STROKE_TIME, MAX_LEVER_STROKE_TIME));
+    }
+
+    /**
+     * Returns the fraction of the free speed reached at full output
+     * 
+     * @return The fraction
+     */
+    public double getVoltageScale() {
+        return voltageScale;
+    }
+
+    /**
+     * Returns the drive motor time constant
+     * 
+     * @return The time in seconds
+     */
+    public double getDriveTimeConstant() {
+        return driveTimeConstant;
+    }
+
+    /**
+     * Returns the fraction of encoder travel lost to slip
+     * 
+     * @return The fraction
+     */
+    public double getWheelSlip() {
+        return wheelSlip;
+    }
+
+    /**
+     * Returns the time the pistons take to move at the climb power
+     * 
+     * @return The time in seconds
+     */
+    public double getPistonStrokeTime() {
+        return pistonStrokeTime;
+    }
+
+    /**
+     * Returns the time the lever takes to move at the climb power
+     * 
+     * @return The time in seconds
+     */
+    public double getLeverStrokeTime() {
+        return leverStrokeTime;
+    }
+}
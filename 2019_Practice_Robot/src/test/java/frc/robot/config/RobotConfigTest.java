@@ -0,0 +1,81 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * This class checks that bad times keep their defaults and that the keys a file
+ * does not have are listed
+ * 
+ * @author Caleb Heydon
+ */
+
+public class RobotConfigTest {
+    // Define the config file that is deployed to the robot
+    public static final String DEPLOYED_CONFIG = "src/main/deploy/auto.conf";
+
+    // Define the allowed error when comparing times
+    public static final double EPSILON = 1e-9;
+
+    @Test
+    public void negativeTimesKeepDefaults() {
+        RobotConfig config = RobotConfig.parse(Arrays.asList("drive.down.y.time=-1", "drive.up.time=-0.5",
+                "climber.piston.actuation.time=-2000", "drive.distance.timeout=-3"));
+
+        assertEquals(RobotConfig.DEFAULT.getDriveDownYTime(), config.getDriveDownYTime(), EPSILON);
+        assertEquals(RobotConfig.DEFAULT.getDriveUpTime(), config.getDriveUpTime(), EPSILON);
+        assertEquals(RobotConfig.DEFAULT.getClimberPistonActuationTime(), config.getClimberPistonActuationTime());
+        assertEquals(RobotConfig.DEFAULT.getDriveDistanceTimeout(), config.getDriveDistanceTimeout(), EPSILON);
+    }
+
+    @Test
+    public void nonFiniteTimesKeepDefaults() {
+        RobotConfig config = RobotConfig
+                .parse(Arrays.asList("drive.down.z.time=NaN", "drive.up.time=Infinity", "drive.distance.timeout=NaN"));
+
+        assertEquals(RobotConfig.DEFAULT.getDriveDownZTime(), config.getDriveDownZTime(), EPSILON);
+        assertEquals(RobotConfig.DEFAULT.getDriveUpTime(), config.getDriveUpTime(), EPSILON);
+        assertEquals(RobotConfig.DEFAULT.getDriveDistanceTimeout(), config.getDriveDistanceTimeout(), EPSILON);
+    }
+
+    @Test
+    public void zeroTimeoutKeepsDefault() {
+        RobotConfig config = RobotConfig.parse(Arrays.asList("drive.distance.timeout=0", "drive.down.y.time=0"));
+
+        assertEquals(RobotConfig.DEFAULT.getDriveDistanceTimeout(), config.getDriveDistanceTimeout(), EPSILON);
+        assertEquals(0, config.getDriveDownYTime(), EPSILON);
+    }
+
+    @Test
+    public void missingKeysAreListed() {
+        List<String> missing = new ArrayList<>();
+        RobotConfig.parse(Arrays.asList("auto=1", "drive.down.power=-0.5"), missing);
+
+        assertEquals(RobotConfig.KEYS.size() - 2, missing.size());
+        assertTrue(missing.contains(RobotConfig.DRIVE_UP_POWER));
+        assertTrue(missing.contains(RobotConfig.VIDEO_RATE));
+    }
+
+    @Test
+    public void deployedConfigHasEveryKey() throws IOException {
+        List<String> missing = new ArrayList<>();
+        RobotConfig.parse(Files.readAllLines(Paths.get(DEPLOYED_CONFIG), StandardCharsets.UTF_8), missing);
+
+        assertEquals(new ArrayList<String>(), missing);
+    }
+}
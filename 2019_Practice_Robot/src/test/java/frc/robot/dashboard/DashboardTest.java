@@ -0,0 +1,120 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.dashboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class checks the dashboard against a local NetworkTables server. A
+ * dashboard on the server publishes a drive for a few seconds of virtual loops
+ * and a client checks that it sees the last values within the thresholds and
+ * that unchanged values were not sent.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class DashboardTest {
+    // Define local server
+    public static final int PORT = 5810;
+    public static final String TABLE = "Test";
+
+    // Define loop settings
+    public static final int LOOPS = 250;
+    public static final long LOOP_PERIOD = TimeUnit.MILLISECONDS.toNanos(20);
+    public static final double FLUSH_RATE = 10;
+    public static final double POWER_THRESHOLD = 0.01;
+
+    // Define how long to wait for the client
+    public static final long CONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(2);
+    public static final long SETTLE_TIME = 200;
+
+    // Network tables
+    private Path persistFile;
+    private NetworkTableInstance server;
+    private NetworkTableInstance client;
+
+    @Before
+    public void connect() throws IOException, InterruptedException {
+        persistFile = Files.createTempFile("dashboard", ".ini");
+
+        server = NetworkTableInstance.create();
+        client = NetworkTableInstance.create();
+
+        server.startServer(persistFile.toString(), "127.0.0.1", PORT);
+        client.startClient("127.0.0.1", PORT);
+
+        long connectStart = System.currentTimeMillis();
+        while (!client.isConnected() && System.currentTimeMillis() - connectStart < CONNECT_TIMEOUT) {
+            Thread.sleep(10);
+        }
+
+        assertTrue("Client could not connect on port " + PORT, client.isConnected());
+    }
+
+    @After
+    public void close() throws IOException {
+        client.close();
+        server.close();
+        Files.deleteIfExists(persistFile);
+    }
+
+    @Test
+    public void clientSeesLastValues() throws InterruptedException {
+        Dashboard dashboard = new Dashboard(server, TABLE, FLUSH_RATE);
+        StringEntry state = dashboard.addString("State");
+        BooleanEntry enabled = dashboard.addBoolean("Joystick enabled");
+        NumberEntry position = dashboard.addNumber("Left position");
+        NumberEntry power = dashboard.addNumber("Left power", POWER_THRESHOLD);
+
+        // Run virtual loops, the power wobbles below the threshold
+        double lastPower = 0;
+        int lastPosition = 0;
+        long now = 0;
+        int flushes = 0;
+
+        for (int i = 0; i < LOOPS; i++) {
+            lastPower = 0.5 + 0.004 * Math.sin(i);
+            lastPosition = i / 50;
+
+            state.set((i < LOOPS / 2) ? "ClimbDwnWaitCmd" : "DwnPistonExtend");
+            enabled.set(i >= LOOPS / 2);
+            position.set(lastPosition);
+            power.set(lastPower);
+
+            if (dashboard.update(now)) {
+                flushes++;
+            }
+
+            now += LOOP_PERIOD;
+        }
+
+        Thread.sleep(SETTLE_TIME);
+
+        // Check what the client sees
+        NetworkTable table = client.getTable(TABLE);
+
+        assertEquals("DwnPistonExtend", table.getEntry("State").getString(""));
+        assertTrue(table.getEntry("Joystick enabled").getBoolean(false));
+        assertEquals(lastPosition, table.getEntry("Left position").getDouble(Double.NaN), 0);
+        assertEquals(lastPower, table.getEntry("Left power").getDouble(Double.NaN), POWER_THRESHOLD);
+
+        // One flush every 100 ms of the 5 s, most values did not change
+        assertEquals(50, flushes);
+        assertTrue(dashboard.getValuesSuppressed() > dashboard.getValuesSent());
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.input;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import frc.robot.systems.DriveBase;
+import org.junit.Test;
+
+/**
+ * This class checks that the squared curve drives exactly like the arcade drive
+ * math it replaced, and that compiled tables stay close to their curves
+ * 
+ * @author Caleb Heydon
+ */
+
+public class InputShaperTest {
+    // Define number of steps of each axis in the grid sweep
+    public static final int GRID_STEPS = 40;
+
+    // Define number of random inputs
+    public static final int RANDOM_INPUTS = 200000;
+
+    // Define largest error of a compiled table
+    public static final double TABLE_TOLERANCE = 1e-6;
+
+    @Test
+    public void squaredMatchesLegacyOnGrid() {
+        InputShaper shaper = new InputShaper(ShapingCurve.SQUARED, DriveBase.JOYSTICK_DEADZONE,
+                DriveBase.REVERSE_POINT, 0);
+
+        for (int i = 0; i <= GRID_STEPS; i++) {
+            for (int j = 0; j <= GRID_STEPS; j++) {
+                for (int k = 0; k <= GRID_STEPS; k++) {
+                    double x = 2.0 * i / GRID_STEPS - 1;
+                    double y = 2.0 * j / GRID_STEPS - 1;
+                    double z = 2.0 * k / GRID_STEPS - 1;
+
+                    check(shaper, x, y, z, Math.hypot(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void squaredMatchesLegacyOnRandomInput() {
+        InputShaper shaper = new InputShaper(ShapingCurve.SQUARED, DriveBase.JOYSTICK_DEADZONE,
+                DriveBase.REVERSE_POINT, 0);
+        Random random = new Random(3555);
+
+        for (int i = 0; i < RANDOM_INPUTS; i++) {
+            double x = random.nextDouble() * 2 - 1;
+            double y = random.nextDouble() * 2 - 1;
+            double z = random.nextDouble() * 2 - 1;
+
+            check(shaper, x, y, z, Math.hypot(x, y));
+        }
+    }
+
+    @Test
+    public void polynomialsAreNotCompiled() {
+        assertEquals(ShapingCurve.SQUARED, ShapingTable.compile(ShapingCurve.SQUARED));
+    }
+
+    @Test
+    public void tableFollowsCurve() {
+        ShapingCurve curve = input -> Math.pow(input, 2.5);
+        ShapingCurve table = ShapingTable.compile(curve);
+
+        for (int i = 0; i <= 10000; i++) {
+            double input = i / 10000.0;
+            assertEquals(curve.apply(input), table.apply(input), TABLE_TOLERANCE);
+        }
+    }
+
+    /**
+     * Checks one input against the old math. Both must give the same bits, a
+     * positive and a negative zero count as the same.
+     * 
+     * @param shaper    The shaper with the squared curve
+     * @param x         Joystick x
+     * @param y         Joystick y
+     * @param z         Joystick z
+     * @param magnitude Joystick magnitude
+     */
+    private static void check(InputShaper shaper, double x, double y, double z, double magnitude) {
+        double[] powers = legacyPowers(x, y, z, magnitude);
+        shaper.update(x, y, z, magnitude, 0);
+
+        String input = "x " + x + " y " + y + " z " + z;
+        assertEquals(input, powers[0], shaper.getLeftPower(), 0);
+        assertEquals(input, powers[1], shaper.getRightPower(), 0);
+    }
+
+    /**
+     * Computes the powers the way the drivetrain did before the shaper
+     * 
+     * @param controlX  Joystick x
+     * @param controlY  Joystick y
+     * @param throttle  Joystick z
+     * @param magnitude Joystick magnitude
+     * @return The left and right power
+     */
+    private static double[] legacyPowers(double controlX, double controlY, double throttle, double magnitude) {
+        controlY = -controlY;
+        throttle = -throttle;
+        throttle += 1;
+        throttle *= 0.5;
+
+        if (throttle < 0) {
+            throttle = 0;
+        } else if (throttle > 1) {
+            throttle = 1;
+        }
+
+        if (magnitude <= DriveBase.JOYSTICK_DEADZONE) {
+            controlX = 0;
+            controlY = 0;
+        }
+
+        if (controlY < -DriveBase.REVERSE_POINT) {
+            controlX = -controlX;
+        }
+
+        boolean signX = (controlX >= 0) ? false : true;
+        boolean signY = (controlY >= 0) ? false : true;
+
+        controlX = Math.abs(controlX);
+        controlY = Math.abs(controlY);
+
+        controlX *= controlX;
+        controlY *= controlY;
+
+        if (signX) {
+            controlX = -controlX;
+        }
+
+        if (signY) {
+            controlY = -controlY;
+        }
+
+        controlX *= throttle;
+        controlY *= throttle;
+
+        double leftPower = controlY + controlX;
+        double rightPower = controlY - controlX;
+
+        if (leftPower < -1) {
+            leftPower = -1;
+        } else if (leftPower > 1) {
+            leftPower = 1;
+        }
+
+        if (rightPower < -1) {
+            rightPower = -1;
+        } else if (rightPower > 1) {
+            rightPower = 1;
+        }
+
+        return new double[] { leftPower, rightPower };
+    }
+}
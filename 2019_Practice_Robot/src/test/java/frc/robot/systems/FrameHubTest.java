@@ -0,0 +1,245 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.Test;
+
+/**
+ * This class tests the frame hub with one capture and slow consumers. No
+ * pixels are grabbed, so OpenCV is not needed.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class FrameHubTest {
+	// Define number of captures in the threaded test
+	public static final int CAPTURES = 5000;
+
+	// Define number of consumers and the time each holds a frame
+	public static final int CONSUMERS = 3;
+	public static final long HOLD_TIME = TimeUnit.MICROSECONDS.toNanos(200);
+
+	@Test
+	public void heldFrameIsNotClaimed() {
+		FrameHub hub = new FrameHub(2);
+		FrameReader reader = hub.reader();
+		hub.open();
+
+		Frame first = capture(hub, 1);
+		Frame read = reader.next();
+		assertNotNull(read);
+		assertEquals(1, read.getSequence());
+
+		// The reader holds the first frame, so the capture must use the other one
+		Frame second = hub.claim();
+		assertNotSame(first, second);
+		hub.publish(second, 2);
+		second.release();
+
+		// The reader holds one frame and the hub the other
+		assertNull(hub.claim());
+		assertEquals(1, hub.getFramesDropped());
+
+		read.release();
+		assertEquals(first, hub.claim());
+	}
+
+	@Test
+	public void readerCountsSkippedFrames() {
+		FrameHub hub = new FrameHub();
+		FrameReader reader = hub.reader();
+		hub.open();
+
+		capture(hub, 1);
+		reader.next().release();
+
+		capture(hub, 2);
+		capture(hub, 3);
+		capture(hub, 4);
+
+		Frame frame = reader.next();
+		assertEquals(4, frame.getSequence());
+		frame.release();
+
+		assertNull(reader.next());
+		assertEquals(2, reader.getFramesSkipped());
+	}
+
+	@Test
+	public void slowConsumersNeverSeeAFrameChange() throws InterruptedException {
+		FrameHub hub = new FrameHub();
+		hub.open();
+
+		// Frames held by a consumer right now
+		Set<Frame> held = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		AtomicReference<String> failure = new AtomicReference<>();
+		AtomicLong published = new AtomicLong();
+		AtomicLong lastSequence = new AtomicLong();
+		List<ConsumerThread> consumers = new ArrayList<>();
+
+		for (int i = 0; i < CONSUMERS; i++) {
+			consumers.add(new ConsumerThread(hub.reader(), held, failure, lastSequence));
+		}
+
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < CAPTURES; i++) {
+				// The capture runs faster than the consumers
+				LockSupport.parkNanos(HOLD_TIME / 4);
+
+				Frame frame = hub.claim();
+				if (frame == null) {
+					continue;
+				}
+
+				if (held.contains(frame)) {
+					failure.compareAndSet(null, "A frame held by a consumer was claimed");
+				}
+
+				hub.publish(frame, i);
+				lastSequence.set(frame.getSequence());
+				frame.release();
+				published.incrementAndGet();
+			}
+		});
+
+		for (ConsumerThread consumer : consumers) {
+			consumer.start();
+		}
+
+		producer.start();
+		producer.join();
+
+		for (ConsumerThread consumer : consumers) {
+			consumer.finish();
+		}
+
+		assertNull(failure.get(), failure.get());
+		assertEquals(CAPTURES, published.get() + hub.getFramesDropped());
+		assertTrue(published.get() > 0);
+
+		for (ConsumerThread consumer : consumers) {
+			// Every frame between the first and last read was either read or skipped
+			assertTrue(consumer.read > 0);
+			assertEquals(consumer.last - consumer.first + 1, consumer.read + consumer.reader.getFramesSkipped());
+		}
+
+		// Every reference is released once the hub lets go of the newest frame
+		hub.close();
+		hub.open();
+
+		for (int i = 0; i < FrameHub.DEFAULT_SIZE; i++) {
+			assertNotNull(hub.claim());
+		}
+	}
+
+	/**
+	 * Claims and publishes a frame and releases the reference of the capture
+	 * 
+	 * @param hub  The hub
+	 * @param time The capture time
+	 * @return The frame
+	 */
+	private static Frame capture(FrameHub hub, long time) {
+		Frame frame = hub.claim();
+		assertNotNull(frame);
+
+		hub.publish(frame, time);
+		frame.release();
+
+		return frame;
+	}
+
+	/**
+	 * This class reads frames until the last one is published and holds each one
+	 * for a while
+	 */
+	private static final class ConsumerThread extends Thread {
+		// Consumer state
+		private final FrameReader reader;
+		private final Set<Frame> held;
+		private final AtomicReference<String> failure;
+		private final AtomicLong lastSequence;
+		private volatile boolean done = false;
+
+		// Sequence numbers seen, only used by the thread until it is joined
+		private long first = 0;
+		private long last = 0;
+		private long read = 0;
+
+		/**
+		 * Creates a consumer
+		 * 
+		 * @param reader       The reader
+		 * @param held         The frames held by every consumer
+		 * @param failure      The first failure
+		 * @param lastSequence The sequence number of the newest frame
+		 */
+		private ConsumerThread(FrameReader reader, Set<Frame> held, AtomicReference<String> failure,
+				AtomicLong lastSequence) {
+			this.reader = reader;
+			this.held = held;
+			this.failure = failure;
+			this.lastSequence = lastSequence;
+		}
+
+		@Override
+		public void run() {
+			while (!done || last < lastSequence.get()) {
+				Frame frame = reader.next();
+				if (frame == null) {
+					Thread.yield();
+					continue;
+				}
+
+				long sequence = frame.getSequence();
+				long time = frame.getTime();
+
+				held.add(frame);
+				LockSupport.parkNanos(HOLD_TIME);
+
+				if (frame.getSequence() != sequence || frame.getTime() != time) {
+					failure.compareAndSet(null, "A held frame was captured into again");
+				}
+
+				held.remove(frame);
+				frame.release();
+
+				if (first == 0) {
+					first = sequence;
+				}
+
+				last = sequence;
+				read++;
+			}
+		}
+
+		/**
+		 * Waits for the consumer to read the last frame
+		 * 
+		 * @throws InterruptedException If interrupted while waiting
+		 */
+		private void finish() throws InterruptedException {
+			done = true;
+			join();
+		}
+	}
+}
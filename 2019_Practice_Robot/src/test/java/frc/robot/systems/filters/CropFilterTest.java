@@ -0,0 +1,127 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.filters;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+
+/**
+ * This class checks that the crop filter reads the right buffer when the input
+ * moves around a ring of buffers every frame
+ * 
+ * @author Caleb Heydon
+ */
+
+public class CropFilterTest {
+	// Define frame size
+	public static final int WIDTH = 64;
+	public static final int HEIGHT = 48;
+
+	// Define crop region
+	public static final int CROP_X = 8;
+	public static final int CROP_Y = 4;
+	public static final int CROP_WIDTH = 32;
+	public static final int CROP_HEIGHT = 24;
+
+	// Define the number of input buffers, more than the filter keeps views for
+	public static final int RING_SIZE = CropFilter.VIEW_CACHE_SIZE + 2;
+
+	// Buffers under test
+	private Mat[] ring;
+	private FilterChain chain;
+
+	@BeforeClass
+	public static void loadOpenCV() {
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+	}
+
+	@Before
+	public void createRing() {
+		ring = new Mat[RING_SIZE];
+
+		for (int i = 0; i < RING_SIZE; i++) {
+			ring[i] = new Mat(HEIGHT, WIDTH, CvType.CV_8UC1);
+		}
+
+		chain = new FilterChain(new CropFilter(CROP_X, CROP_Y, CROP_WIDTH, CROP_HEIGHT));
+	}
+
+	@After
+	public void releaseRing() {
+		chain.release();
+
+		for (Mat buffer : ring) {
+			buffer.release();
+		}
+	}
+
+	@Test
+	public void cropsEachBufferOfTheRing() {
+		// Go around the ring more than once so cached views are used
+		for (int frame = 0; frame < RING_SIZE * 3; frame++) {
+			Mat input = ring[frame % RING_SIZE];
+			fill(input, frame);
+
+			Mat output = chain.process(input);
+
+			assertEquals(CROP_WIDTH, output.cols());
+			assertEquals(CROP_HEIGHT, output.rows());
+			assertEquals(expected(frame, CROP_X, CROP_Y), output.get(0, 0)[0], 0);
+			assertEquals(expected(frame, CROP_X + CROP_WIDTH - 1, CROP_Y + CROP_HEIGHT - 1),
+					output.get(CROP_HEIGHT - 1, CROP_WIDTH - 1)[0], 0);
+		}
+	}
+
+	@Test
+	public void cropsAfterChainIsReleased() {
+		fill(ring[0], 1);
+		chain.process(ring[0]);
+		chain.release();
+
+		fill(ring[0], 2);
+		Mat output = chain.process(ring[0]);
+
+		assertEquals(expected(2, CROP_X, CROP_Y), output.get(0, 0)[0], 0);
+	}
+
+	/**
+	 * Writes a pattern that is different for every frame and pixel
+	 * 
+	 * @param buffer The buffer
+	 * @param frame  The frame number
+	 */
+	private static void fill(Mat buffer, int frame) {
+		byte[] data = new byte[WIDTH * HEIGHT];
+
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				data[y * WIDTH + x] = (byte) expected(frame, x, y);
+			}
+		}
+
+		buffer.put(0, 0, data);
+	}
+
+	/**
+	 * Returns the pattern value of a pixel
+	 * 
+	 * @param frame The frame number
+	 * @param x     The column in the source frame
+	 * @param y     The row in the source frame
+	 * @return The value
+	 */
+	private static int expected(int frame, int x, int y) {
+		return (frame * 31 + x + y * 7) & 0xff;
+	}
+}
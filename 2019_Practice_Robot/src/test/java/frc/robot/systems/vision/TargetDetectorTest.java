@@ -0,0 +1,198 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.systems.vision;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Paths;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+import frc.robot.bus.Subscription;
+
+/**
+ * This class runs the detector on the sample images in the test resources. The
+ * images are 320 by 240 and have a 20 by 50 pixel green strip at a known
+ * place, a smaller green strip next to it and a white and a red block that must
+ * not be taken as targets.
+ * 
+ * @author Caleb Heydon
+ */
+
+public class TargetDetectorTest {
+	// Define sample image size
+	public static final int WIDTH = 320;
+	public static final int HEIGHT = 240;
+
+	// Define the strip in the sample images
+	public static final int STRIP_WIDTH = 20;
+	public static final int STRIP_HEIGHT = 50;
+	public static final double STRIP_CENTER_Y = 120;
+
+	// Define time between the sample images in microseconds
+	public static final long FRAME_PERIOD = 66667;
+
+	// Define allowed error of the angles in degrees and of the distance
+	public static final double ANGLE_TOLERANCE = 0.01;
+	public static final double DISTANCE_TOLERANCE = 0.01;
+
+	// Detector under test
+	private TargetDetector detector;
+	private Subscription<VisionTarget> targets;
+	private long frameTime;
+
+	@BeforeClass
+	public static void loadOpenCV() {
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+	}
+
+	@Before
+	public void createDetector() {
+		detector = new TargetDetector();
+		targets = detector.subscribe();
+		frameTime = 0;
+	}
+
+	@After
+	public void releaseDetector() {
+		detector.release();
+	}
+
+	@Test
+	public void emptyFrameHasNoTarget() {
+		VisionTarget target = process("00_empty.png");
+
+		assertFalse(target.isFound());
+		assertFalse(detector.isLocked());
+	}
+
+	@Test
+	public void findsLargestStrip() {
+		VisionTarget target = process("01_right.png");
+
+		assertTrue(target.isFound());
+		assertFalse(target.isTracked());
+		assertEquals(200, target.getCenterX(), 0);
+		assertEquals(STRIP_CENTER_Y, target.getCenterY(), 0);
+
+		// The contour runs through the pixel centers of the outer pixels
+		assertEquals((STRIP_WIDTH - 1) * (STRIP_HEIGHT - 1), target.getArea(), 0);
+
+		assertEquals(yaw(200), target.getYaw(), ANGLE_TOLERANCE);
+		assertEquals(0, target.getPitch(), ANGLE_TOLERANCE);
+		assertEquals(TargetDetector.DEFAULT_TARGET_WIDTH * focalLength() / STRIP_WIDTH, target.getDistance(),
+				DISTANCE_TOLERANCE);
+	}
+
+	@Test
+	public void tracksMovingStrip() {
+		process("01_right.png");
+
+		VisionTarget target = process("02_right_moved.png");
+		assertTrue(target.isTracked());
+		assertEquals(204, target.getCenterX(), 0);
+
+		target = process("03_right_moved.png");
+		assertTrue(target.isTracked());
+		assertEquals(208, target.getCenterX(), 0);
+		assertEquals(yaw(208), target.getYaw(), ANGLE_TOLERANCE);
+		assertEquals(3 * FRAME_PERIOD, target.getFrameTime());
+
+		assertEquals(2, detector.getFramesTracked());
+		assertEquals(1, detector.getFramesSearched());
+	}
+
+	@Test
+	public void searchesWholeFrameAfterLosingStrip() {
+		process("01_right.png");
+		process("02_right_moved.png");
+
+		VisionTarget target = process("04_lost.png");
+		assertFalse(target.isFound());
+		assertFalse(detector.isLocked());
+
+		// The strip is now on the left, outside the old tracked region
+		target = process("05_left.png");
+		assertTrue(target.isFound());
+		assertFalse(target.isTracked());
+		assertEquals(70, target.getCenterX(), 0);
+		assertTrue(target.getYaw() < 0);
+		assertEquals(yaw(70), target.getYaw(), ANGLE_TOLERANCE);
+
+		assertEquals(1, detector.getFramesTracked());
+		assertEquals(3, detector.getFramesSearched());
+	}
+
+	/**
+	 * Runs the detector on a sample image as the next frame
+	 * 
+	 * @param name The file name of the image
+	 * @return The published result
+	 */
+	private VisionTarget process(String name) {
+		Mat frame = Imgcodecs.imread(resource(name), Imgcodecs.IMREAD_COLOR);
+		assertFalse("Could not read " + name, frame.empty());
+		assertEquals(WIDTH, frame.cols());
+		assertEquals(HEIGHT, frame.rows());
+
+		frameTime += FRAME_PERIOD;
+
+		try {
+			detector.process(frame, frameTime);
+		} finally {
+			frame.release();
+		}
+
+		assertTrue(targets.update());
+		return targets.get();
+	}
+
+	/**
+	 * Returns the path of a sample image
+	 * 
+	 * @param name The file name of the image
+	 * @return The path
+	 */
+	private static String resource(String name) {
+		URL url = TargetDetectorTest.class.getResource(name);
+		assertNotNull("Missing sample image " + name, url);
+
+		try {
+			return Paths.get(url.toURI()).toString();
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns the focal length of the default field of view in pixels
+	 * 
+	 * @return The focal length
+	 */
+	private static double focalLength() {
+		return WIDTH / 2.0 / Math.tan(Math.toRadians(TargetDetector.DEFAULT_FIELD_OF_VIEW) / 2);
+	}
+
+	/**
+	 * Returns the yaw of a column of the sample images
+	 * 
+	 * @param centerX The column
+	 * @return The yaw in degrees
+	 */
+	private static double yaw(double centerX) {
+		return Math.toDegrees(Math.atan((centerX - WIDTH / 2.0) / focalLength()));
+	}
+}
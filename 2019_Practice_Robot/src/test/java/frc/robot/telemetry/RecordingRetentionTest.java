@@ -0,0 +1,94 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class checks that boots are numbered in order without the wall clock and
+ * that only the oldest recordings are deleted
+ * 
+ * @author Caleb Heydon
+ */
+
+public class RecordingRetentionTest {
+    // Define a boot time from a wall clock that was set by the driver station
+    public static final long WALL_CLOCK_BOOT = 1552000000000L;
+
+    // Telemetry folder
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("telemetry");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void bootsCountUp() {
+        assertEquals(1, RecordingRetention.nextBoot(directory));
+        assertEquals(2, RecordingRetention.nextBoot(directory));
+        assertEquals(3, RecordingRetention.nextBoot(directory));
+    }
+
+    @Test
+    public void counterInMissingFolderStartsAtOne() {
+        assertEquals(1, RecordingRetention.nextBoot(directory.resolve("new")));
+        assertTrue(Files.isRegularFile(directory.resolve("new").resolve(RecordingRetention.BOOT_COUNTER)));
+    }
+
+    @Test
+    public void bootIsNewerThanEveryRecording() throws IOException {
+        // Recordings named by the wall clock, and a lost counter
+        Files.createFile(directory.resolve("telemetry-" + WALL_CLOCK_BOOT + ".bin"));
+        Files.createFile(directory.resolve("video-" + WALL_CLOCK_BOOT + ".vid"));
+
+        long boot = RecordingRetention.nextBoot(directory);
+        assertEquals(WALL_CLOCK_BOOT + 1, boot);
+
+        Files.createFile(directory.resolve("telemetry-" + boot + ".bin"));
+        assertEquals(1, RecordingRetention.prune(directory, "telemetry", ".bin", 1));
+        assertTrue(Files.exists(directory.resolve("telemetry-" + boot + ".bin")));
+    }
+
+    @Test
+    public void pruneKeepsNewestBoots() throws IOException {
+        for (int i = 0; i < 12; i++) {
+            long boot = RecordingRetention.nextBoot(directory);
+            Files.createFile(directory.resolve("telemetry-" + boot + ".bin"));
+        }
+
+        Files.createFile(directory.resolve("telemetry-notes.bin"));
+
+        assertEquals(7, RecordingRetention.prune(directory, "telemetry", ".bin", 5));
+
+        for (int boot = 1; boot <= 12; boot++) {
+            assertEquals(boot > 7, Files.exists(directory.resolve("telemetry-" + boot + ".bin")));
+        }
+
+        // Files outside the naming scheme are never touched
+        assertTrue(Files.exists(directory.resolve("telemetry-notes.bin")));
+        assertFalse(Files.exists(directory.resolve(RecordingRetention.BOOT_COUNTER + ".tmp")));
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * FRC Team 3555
+ * 
+ * 2019 Practice Robot Code
+ */
+
+package frc.robot.telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import frc.robot.AutoState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class checks that the recorder keeps every record at a loop rate above
+ * the robot loop, and that records lost to a full buffer are counted instead of
+ * written
+ * 
+ * @author Caleb Heydon
+ */
+
+public class TelemetryRecorderTest {
+    // Define sustained loop rate and how long it runs
+    public static final double LOOP_RATE = 200;
+    public static final int LOOP_RECORDS = 400;
+
+    // Define number of records in a burst, more than the buffer holds
+    public static final int BURST_RECORDS = 4 * TelemetryRecorder.BUFFER_RECORDS;
+
+    // Recording and export
+    private Path file;
+    private Path csv;
+
+    @Before
+    public void createFiles() throws IOException {
+        file = Files.createTempFile("telemetry", ".bin");
+        csv = Files.createTempFile("telemetry", ".csv");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(csv);
+    }
+
+    @Test
+    public void keepsEveryRecordAtLoopRate() throws IOException {
+        TelemetryRecorder recorder = new TelemetryRecorder(file);
+        recorder.start();
+
+        long period = (long) (TimeUnit.SECONDS.toNanos(1) / LOOP_RATE);
+        long next = System.nanoTime();
+
+        for (int i = 0; i < LOOP_RECORDS; i++) {
+            next += period;
+            LockSupport.parkNanos(next - System.nanoTime());
+
+            assertTrue(record(recorder, i));
+        }
+
+        recorder.stop();
+
+        assertEquals(0, recorder.getDropped());
+        assertEquals(TelemetryFormat.HEADER_SIZE + (long) LOOP_RECORDS * TelemetryFormat.RECORD_SIZE, Files.size(file));
+
+        // Records are written in order
+        assertEquals(LOOP_RECORDS, TelemetryReader.export(file, csv));
+
+        List<String> lines = Files.readAllLines(csv);
+        for (int i = 0; i < LOOP_RECORDS; i++) {
+            assertTrue(lines.get(i + 1).startsWith(i * 5000 + ","));
+        }
+    }
+
+    @Test
+    public void countsRecordsLostInBurst() throws IOException {
+        TelemetryRecorder recorder = new TelemetryRecorder(file);
+        recorder.start();
+
+        int buffered = 0;
+        for (int i = 0; i < BURST_RECORDS; i++) {
+            if (record(recorder, i)) {
+                buffered++;
+            }
+        }
+
+        recorder.stop();
+
+        assertEquals(BURST_RECORDS, buffered + recorder.getDropped());
+        assertEquals(buffered, TelemetryReader.export(file, csv));
+    }
+
+    /**
+     * Records one tick of a 200 Hz loop
+     * 
+     * @param recorder The recorder
+     * @param tick     The tick number
+     * @return True if the record was buffered
+     */
+    private static boolean record(TelemetryRecorder recorder, int tick) {
+        return recorder.record(tick * 5000L, tick, -tick, 0.5, -0.5, 0, 1, 0, 1, AutoState.ClimbDwnWaitCmd, true);
+    }
+}